@@ -0,0 +1,62 @@
+package rockets.benchmark;
+
+import rockets.dataaccess.DAO;
+import rockets.model.Entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A DAO that serves entities from memory, so the miner benchmarks measure mining rather
+ * than database access.
+ */
+public class InMemoryDAO implements DAO {
+
+    private final Map<Class<?>, List<Entity>> entities = new HashMap<>();
+
+    public <T extends Entity> void addAll(Class<T> clazz, Collection<? extends T> added) {
+
+        entities.computeIfAbsent(clazz, c -> new ArrayList<>()).addAll(added);
+    }
+
+    @Override
+    public <T extends Entity> T load(Class<T> clazz, Long id) {
+
+        for (Entity entity : entities.getOrDefault(clazz, Collections.emptyList())) {
+            if (id.equals(entity.getId())) {
+                return clazz.cast(entity);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public <T extends Entity> T createOrUpdate(T entity) {
+
+        List<Entity> stored = entities.computeIfAbsent(entity.getClass(), c -> new ArrayList<>());
+        if (!stored.contains(entity)) {
+            stored.add(entity);
+        }
+        return entity;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> Collection<T> loadAll(Class<T> clazz) {
+
+        return (Collection<T>) entities.getOrDefault(clazz, Collections.emptyList());
+    }
+
+    @Override
+    public <T extends Entity> void delete(T entity) {
+
+        List<Entity> stored = entities.get(entity.getClass());
+        if (stored != null) {
+            stored.remove(entity);
+        }
+    }
+}
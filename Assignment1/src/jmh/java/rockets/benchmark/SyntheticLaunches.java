@@ -0,0 +1,152 @@
+package rockets.benchmark;
+
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * Deterministic synthetic launch data for the benchmarks.
+ * <p>
+ * Rockets, providers, orbits and years are drawn from a Zipf distribution whose exponent
+ * is the skew: 0 draws uniformly, larger values concentrate the launches on a few
+ * popular rockets, providers, orbits and years, which produces long runs of ties in the
+ * rankings at one end and heavy hitters at the other.
+ */
+public class SyntheticLaunches {
+
+    private static final String[] ORBITS = {"LEO", "GTO", "Other"};
+    private static final int FIRST_YEAR = 1970;
+    private static final int YEARS = 50;
+
+    private final List<LaunchServiceProvider> providers;
+    private final List<Rocket> rockets;
+    private final List<Launch> launches;
+
+    private SyntheticLaunches(List<LaunchServiceProvider> providers, List<Rocket> rockets, List<Launch> launches) {
+
+        this.providers = providers;
+        this.rockets = rockets;
+        this.launches = launches;
+    }
+
+    /**
+     * @param size the number of launches.
+     * @param skew the Zipf exponent, 0 for uniform draws.
+     * @param seed the seed of the random draws.
+     */
+    public static SyntheticLaunches generate(int size, double skew, long seed) {
+
+        isTrue(size >= 0, "size must not be negative.");
+        isTrue(skew >= 0, "skew must not be negative.");
+
+        Random random = new Random(seed);
+        int providerCount = Math.max(10, (int) Math.sqrt(size) / 4);
+        int rocketCount = providerCount * 4;
+
+        List<LaunchServiceProvider> providers = new ArrayList<>(providerCount);
+        for (int i = 0; i < providerCount; i++) {
+            providers.add(new LaunchServiceProvider("Provider " + i, 1900 + random.nextInt(119), "Country " + letters(i % 97)));
+        }
+        List<Rocket> rockets = new ArrayList<>(rocketCount);
+        for (int i = 0; i < rocketCount; i++) {
+            LaunchServiceProvider manufacturer = providers.get(i % providerCount);
+            rockets.add(new Rocket("Rocket " + i, manufacturer.getCountry(), manufacturer));
+        }
+
+        Zipf rocketDraw = new Zipf(rocketCount, skew);
+        Zipf orbitDraw = new Zipf(ORBITS.length, skew);
+        Zipf yearDraw = new Zipf(YEARS, skew);
+        Launch.LaunchOutcome[] outcomes = Launch.LaunchOutcome.values();
+
+        List<Launch> launches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Rocket rocket = rockets.get(rocketDraw.next(random));
+            Launch launch = new Launch();
+            // the most popular year is the most recent one
+            launch.setLaunchDate(LocalDate.of(FIRST_YEAR + YEARS - 1 - yearDraw.next(random), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            launch.setLaunchVehicle(rocket);
+            launch.setLaunchServiceProvider(rocket.getManufacturer());
+            launch.setLaunchSite("Site " + random.nextInt(20));
+            launch.setOrbit(ORBITS[orbitDraw.next(random)]);
+            launch.setLaunchOutcome(random.nextInt(20) == 0 ? null : outcomes[random.nextInt(outcomes.length)]);
+            launch.setPrice(random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(200_000_000), 2));
+            launches.add(launch);
+        }
+
+        return new SyntheticLaunches(Collections.unmodifiableList(providers), Collections.unmodifiableList(rockets), launches);
+    }
+
+    public List<LaunchServiceProvider> getProviders() {
+
+        return providers;
+    }
+
+    public List<Rocket> getRockets() {
+
+        return rockets;
+    }
+
+    public List<Launch> getLaunches() {
+
+        return launches;
+    }
+
+    /**
+     * @return a DAO serving these launches, providers and rockets from memory.
+     */
+    public InMemoryDAO toDAO() {
+
+        InMemoryDAO dao = new InMemoryDAO();
+        dao.addAll(LaunchServiceProvider.class, providers);
+        dao.addAll(Rocket.class, rockets);
+        dao.addAll(Launch.class, launches);
+        return dao;
+    }
+
+    /**
+     * Country names may not contain digits, so provider countries are numbered in letters.
+     */
+    private static String letters(int n) {
+
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('A' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return letters.toString();
+    }
+
+    private static final class Zipf {
+
+        private final double[] cumulative;
+
+        private Zipf(int n, double skew) {
+
+            cumulative = new double[n];
+            double total = 0;
+            for (int i = 0; i < n; i++) {
+                total += 1 / Math.pow(i + 1, skew);
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= total;
+            }
+        }
+
+        private int next(Random random) {
+
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+        }
+    }
+}
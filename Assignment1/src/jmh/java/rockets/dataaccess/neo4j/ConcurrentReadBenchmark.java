@@ -0,0 +1,77 @@
+package rockets.dataaccess.neo4j;
+
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
+import org.neo4j.ogm.session.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.model.Launch;
+import rockets.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of concurrent {@link Neo4jDAO#load} calls with one shared
+ * session and with a pool of sessions. Run with more threads than cores to see the
+ * shared session cap the throughput at one reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Threads(8)
+public class ConcurrentReadBenchmark {
+
+    @Param({"shared", "pooled"})
+    private String sessions;
+
+    private ServerControls server;
+    private Neo4jDAO dao;
+    private List<Long> launchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        server = TestServerBuilders.newInProcessBuilder().newServer();
+        SessionFactory sessionFactory = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName());
+        dao = "shared".equals(sessions) ? new Neo4jDAO(sessionFactory.openSession()) : new Neo4jDAO(sessionFactory, 8);
+
+        List<Launch> launches = SyntheticLaunches.generate(1000, 1.0, 5171).getLaunches();
+        dao.createOrUpdateAll(launches);
+        launchIds = new ArrayList<>();
+        for (Launch launch : launches) {
+            launchIds.add(launch.getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        server.close();
+    }
+
+    @Benchmark
+    public Launch load() {
+
+        return dao.load(Launch.class, launchIds.get(ThreadLocalRandom.current().nextInt(launchIds.size())));
+    }
+}
@@ -0,0 +1,88 @@
+package rockets.dataaccess.neo4j;
+
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+import rockets.model.User;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the upsert of an already stored rocket, which looks the rocket up by its
+ * natural key, as the number of stored rockets grows, with and without the schema index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class NaturalKeyLookupBenchmark {
+
+    private static final int CHUNK = 50_000;
+
+    @Param({"1000", "1000000"})
+    private int nodes;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ServerControls server;
+    private Neo4jDAO dao;
+    private LaunchServiceProvider manufacturer;
+    private final Random random = new Random(5171);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        server = TestServerBuilders.newInProcessBuilder().newServer();
+        SessionFactory sessionFactory = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName());
+        Session session = sessionFactory.openSession();
+        dao = new Neo4jDAO(session);
+        if (!indexed) {
+            session.query("DROP INDEX ON :Rocket(name, country)", Collections.emptyMap());
+        }
+
+        manufacturer = dao.createOrUpdate(new LaunchServiceProvider("Provider", 2000, "USA"));
+        for (int from = 0; from < nodes; from += CHUNK) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("from", from);
+            parameters.put("to", Math.min(from + CHUNK, nodes) - 1);
+            session.query("UNWIND range($from, $to) AS i CREATE (:Rocket {name: 'Rocket ' + i, country: 'USA'})", parameters);
+        }
+        session.query("CALL db.awaitIndexes(600)", Collections.emptyMap());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        server.close();
+    }
+
+    @Benchmark
+    public Rocket upsertStoredRocket() {
+
+        return dao.createOrUpdate(new Rocket("Rocket " + random.nextInt(nodes), "USA", manufacturer));
+    }
+}
@@ -0,0 +1,239 @@
+package rockets.dataaccess.neo4j;
+
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.dataaccess.BatchWriteReport;
+import rockets.dataaccess.CachingDAO;
+import rockets.dataaccess.DAO;
+import rockets.mining.RocketMiner;
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+import rockets.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Neo4jDAO} round-trips against an embedded database holding a synthetic
+ * launch dataset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class Neo4jDAOBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ServerControls server;
+    private Session session;
+    private Neo4jDAO dao;
+    private CachingDAO cachingDao;
+    private LaunchServiceProvider provider;
+    private Rocket rocket;
+    private Long rocketId;
+    private RocketMiner pushDownMiner;
+    private RocketMiner loadAllMiner;
+    private int sequence;
+
+    private static final int WRITES = 200;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        server = TestServerBuilders.newInProcessBuilder().newServer();
+        SessionFactory sessionFactory = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName());
+        session = sessionFactory.openSession();
+        dao = new Neo4jDAO(session);
+
+        SyntheticLaunches data = SyntheticLaunches.generate(size, 1.0, 5171);
+        for (Launch launch : data.getLaunches()) {
+            dao.createOrUpdate(launch);
+        }
+        provider = data.getProviders().get(0);
+        rocket = dao.createOrUpdate(data.getRockets().get(0));
+        rocketId = rocket.getId();
+        cachingDao = CachingDAO.builder(dao).naturalKeys(Neo4jDAO::naturalKeyOf).build();
+        cachingDao.load(Rocket.class, rocketId);
+
+        pushDownMiner = new RocketMiner(dao);
+        loadAllMiner = new RocketMiner(new LoadAllDAO(dao));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        server.close();
+    }
+
+    @Benchmark
+    public Rocket load() {
+
+        session.clear();
+        return dao.load(Rocket.class, rocketId);
+    }
+
+    @Benchmark
+    public Rocket loadCached() {
+
+        return cachingDao.load(Rocket.class, rocketId);
+    }
+
+    @Benchmark
+    public Rocket upsertByNaturalKey() {
+
+        return dao.createOrUpdate(copyOfRocket());
+    }
+
+    @Benchmark
+    public Rocket upsertByCachedNaturalKey() {
+
+        return cachingDao.createOrUpdate(copyOfRocket());
+    }
+
+    @Benchmark
+    public Rocket update() {
+
+        rocket.setMassToLEO(Integer.toString(sequence++ % 30000));
+        return dao.createOrUpdate(rocket);
+    }
+
+    @Benchmark
+    public Rocket createAndDelete() {
+
+        Rocket created = dao.createOrUpdate(new Rocket("Benchmark " + sequence++, provider.getCountry(), provider));
+        dao.delete(created);
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITES)
+    public List<Rocket> createOrUpdateOneByOne() {
+
+        List<Rocket> rockets = newRockets();
+        for (Rocket r : rockets) {
+            dao.createOrUpdate(r);
+        }
+        return rockets;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITES)
+    public BatchWriteReport createOrUpdateAll() {
+
+        return dao.createOrUpdateAll(newRockets());
+    }
+
+    @Benchmark
+    public Collection<Launch> loadAllLaunches() {
+
+        session.clear();
+        return dao.loadAll(Launch.class);
+    }
+
+    @Benchmark
+    public List<Rocket> mostLaunchedRocketsPushedDown() {
+
+        session.clear();
+        return pushDownMiner.mostLaunchedRockets(10);
+    }
+
+    @Benchmark
+    public List<Rocket> mostLaunchedRocketsLoadingAll() {
+
+        session.clear();
+        return loadAllMiner.mostLaunchedRockets(10);
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> highestRevenuePushedDown() {
+
+        session.clear();
+        return pushDownMiner.highestRevenueLaunchServiceProviders(10, 2018);
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> highestRevenueLoadingAll() {
+
+        session.clear();
+        return loadAllMiner.highestRevenueLaunchServiceProviders(10, 2018);
+    }
+
+    private Rocket copyOfRocket() {
+
+        Rocket copy = new Rocket(rocket.getName(), rocket.getCountry(), rocket.getManufacturer());
+        copy.setMassToLEO(Integer.toString(sequence++ % 30000));
+        return copy;
+    }
+
+    private List<Rocket> newRockets() {
+
+        List<Rocket> rockets = new ArrayList<>(WRITES);
+        for (int i = 0; i < WRITES; i++) {
+            rockets.add(new Rocket("Bulk " + sequence++, provider.getCountry(), provider));
+        }
+        return rockets;
+    }
+
+    /**
+     * Hides the aggregation support of the wrapped DAO, so the miner loads every launch.
+     */
+    private static final class LoadAllDAO implements DAO {
+
+        private final DAO dao;
+
+        private LoadAllDAO(DAO dao) {
+
+            this.dao = dao;
+        }
+
+        @Override
+        public <T extends Entity> T load(Class<T> clazz, Long id) {
+
+            return dao.load(clazz, id);
+        }
+
+        @Override
+        public <T extends Entity> T createOrUpdate(T entity) {
+
+            return dao.createOrUpdate(entity);
+        }
+
+        @Override
+        public <T extends Entity> Collection<T> loadAll(Class<T> clazz) {
+
+            return dao.loadAll(clazz);
+        }
+
+        @Override
+        public <T extends Entity> void delete(T entity) {
+
+            dao.delete(entity);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package rockets.ingest;
+
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
+import org.neo4j.ogm.session.SessionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.dataaccess.BatchWriteReport;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+import rockets.model.User;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a whole {@link CsvImporter} run over synthetic CSV files, once into a DAO that
+ * discards what it is given, which measures parsing and validation, and once into an
+ * embedded Neo4j database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CsvImporterBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"discard", "neo4j"})
+    private String sink;
+
+    private String providers;
+    private String rockets;
+    private String launches;
+    private ServerControls server;
+    private SessionFactory sessionFactory;
+    private DAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        SyntheticLaunches data = SyntheticLaunches.generate(size, 1.0, 5171);
+        StringBuilder csv = new StringBuilder("name,yearFounded,country\n");
+        for (LaunchServiceProvider provider : data.getProviders()) {
+            csv.append(provider.getName()).append(',').append(provider.getYearFounded()).append(',').append(provider.getCountry()).append('\n');
+        }
+        providers = csv.toString();
+
+        csv = new StringBuilder("name,country,manufacturer\n");
+        for (Rocket rocket : data.getRockets()) {
+            csv.append(rocket.getName()).append(',').append(rocket.getCountry()).append(',').append(rocket.getManufacturer().getName()).append('\n');
+        }
+        rockets = csv.toString();
+
+        csv = new StringBuilder("launchDate,launchVehicle,launchSite,orbit,price,launchOutcome\n");
+        for (Launch launch : data.getLaunches()) {
+            csv.append(launch.getLaunchDate()).append(',')
+                    .append(launch.getLaunchVehicle().getName()).append(',')
+                    .append(launch.getLaunchSite()).append(',')
+                    .append(launch.getOrbit()).append(',')
+                    .append(launch.getPrice() == null ? "" : launch.getPrice().toPlainString()).append(',')
+                    .append(launch.getLaunchOutcome() == null ? "" : launch.getLaunchOutcome().name()).append('\n');
+        }
+        launches = csv.toString();
+
+        if ("neo4j".equals(sink)) {
+            server = TestServerBuilders.newInProcessBuilder().newServer();
+            sessionFactory = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName());
+            dao = new Neo4jDAO(sessionFactory, 1);
+        } else {
+            dao = new DAO() {
+                @Override
+                public <T extends Entity> BatchWriteReport createOrUpdateAll(Collection<T> entities) {
+                    return new BatchWriteReport();
+                }
+
+                @Override
+                public <T extends Entity> T load(Class<T> clazz, Long id) {
+                    return null;
+                }
+
+                @Override
+                public <T extends Entity> T createOrUpdate(T entity) {
+                    return entity;
+                }
+
+                @Override
+                public <T extends Entity> Collection<T> loadAll(Class<T> clazz) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public <T extends Entity> void delete(T entity) {
+                }
+            };
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void purge() {
+
+        if (sessionFactory != null) {
+            sessionFactory.openSession().purgeDatabase();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public ImportReport importAll() throws IOException {
+
+        return CsvImporter.builder(dao).progress((written, elapsedNanos) -> {}).build()
+                .importAll(new StringReader(providers), new StringReader(rockets), new StringReader(launches));
+    }
+}
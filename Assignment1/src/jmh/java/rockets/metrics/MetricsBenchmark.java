@@ -0,0 +1,82 @@
+package rockets.metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.InMemoryDAO;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.MeteredDAO;
+import rockets.model.Launch;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead metrics add to a DAO call, with a call that does almost no work
+ * of its own: loading every launch of an in-memory DAO returns the stored list.
+ * {@code none} calls the DAO directly, and {@link #clockReads()} gives the cost of the two
+ * clock reads that measuring any latency takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"none", "noop", "hdr", "hdr-allocations"})
+    private String metrics;
+
+    private DAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        InMemoryDAO inMemory = SyntheticLaunches.generate(1_000, 0, 22).toDAO();
+        switch (metrics) {
+            case "none":
+                dao = inMemory;
+                break;
+            case "noop":
+                dao = new MeteredDAO(inMemory, Metrics.NOOP);
+                break;
+            case "hdr":
+                dao = new MeteredDAO(inMemory, new HdrMetrics());
+                break;
+            default:
+                dao = new MeteredDAO(inMemory, HdrMetrics.builder().measureAllocations().build());
+        }
+    }
+
+    @Benchmark
+    public Collection<Launch> loadAll() {
+
+        return dao.loadAll(Launch.class);
+    }
+
+    @Benchmark
+    public long clockReads() {
+
+        long start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Collection<Launch> loadAllFromFourThreads() {
+
+        return dao.loadAll(Launch.class);
+    }
+}
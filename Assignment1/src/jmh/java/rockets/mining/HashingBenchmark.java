@@ -0,0 +1,76 @@
+package rockets.mining;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the map operations the miner makes on model objects: tallying launches by
+ * rocket and by provider, and collecting distinct launches. Kept out of rockets.model,
+ * whose classes the OGM scans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class HashingBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<Launch> launches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        launches = SyntheticLaunches.generate(size, 1.2, 5171).getLaunches();
+    }
+
+    @Benchmark
+    public Map<Rocket, int[]> countByRocket() {
+
+        Map<Rocket, int[]> counts = new HashMap<>();
+        for (Launch launch : launches) {
+            counts.computeIfAbsent(launch.getLaunchVehicle(), rocket -> new int[1])[0]++;
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Map<LaunchServiceProvider, int[]> countByProvider() {
+
+        Map<LaunchServiceProvider, int[]> counts = new HashMap<>();
+        for (Launch launch : launches) {
+            counts.computeIfAbsent(launch.getLaunchServiceProvider(), provider -> new int[1])[0]++;
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Set<Launch> distinctLaunches() {
+
+        return new HashSet<>(launches);
+    }
+}
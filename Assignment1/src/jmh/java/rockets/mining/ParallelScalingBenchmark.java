@@ -0,0 +1,70 @@
+package rockets.mining;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.dataaccess.DAO;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how a batch of every launch query scales with the number of fork-join
+ * threads aggregating it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+public class ParallelScalingBenchmark {
+
+    @Param({"2000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private ForkJoinPool pool;
+    private RocketMiner miner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        DAO dao = SyntheticLaunches.generate(size, 1.0, 5171).toDAO();
+        pool = new ForkJoinPool(threads);
+        miner = RocketMiner.builder(dao).parallel(pool, Math.max(10_000, size / (threads * 8))).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public MiningBatch batch() {
+
+        MiningBatch batch = miner.batch();
+        batch.mostLaunchedRockets(10);
+        batch.mostReliableLaunchServiceProviders(10);
+        batch.mostRecentLaunches(10);
+        batch.dominantCountry("LEO");
+        batch.mostExpensiveLaunches(10);
+        batch.highestRevenueLaunchServiceProviders(10, 2018);
+        batch.run();
+        return batch;
+    }
+}
@@ -0,0 +1,104 @@
+package rockets.mining;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ranking providers by reliability from a list of outcomes per provider that the
+ * comparator recounts on every comparison, as the miner once did, with tallying the
+ * outcomes once in {@link ProviderOutcomes} and selecting the top k with a heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ReliabilityBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"1000", "10000"})
+    private int providers;
+
+    @Param({"10"})
+    private int k;
+
+    private List<Launch> launches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        Random random = new Random(21);
+        List<LaunchServiceProvider> lsps = new ArrayList<>(providers);
+        for (int i = 0; i < providers; i++) {
+            lsps.add(new LaunchServiceProvider("Provider " + i, 1900 + i % 119, "Country"));
+        }
+        Launch.LaunchOutcome[] outcomes = Launch.LaunchOutcome.values();
+        launches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Launch launch = new Launch();
+            launch.setLaunchServiceProvider(lsps.get(random.nextInt(providers)));
+            launch.setLaunchOutcome(outcomes[random.nextInt(outcomes.length)]);
+            launches.add(launch);
+        }
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> outcomeLists() {
+
+        Map<LaunchServiceProvider, List<Launch.LaunchOutcome>> outcomes = new HashMap<>();
+        for (Launch launch : launches) {
+            outcomes.computeIfAbsent(launch.getLaunchServiceProvider(), lsp -> new ArrayList<>()).add(launch.getLaunchOutcome());
+        }
+        List<LaunchServiceProvider> ranked = new ArrayList<>(outcomes.keySet());
+        ranked.sort(Comparator.comparingInt(lsp -> {
+            List<Launch.LaunchOutcome> list = outcomes.get(lsp);
+            return Collections.frequency(list, Launch.LaunchOutcome.SUCCESSFUL) / list.size();
+        }));
+        return ranked.subList(0, Math.min(k, ranked.size()));
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> successRatio() {
+
+        return tally().mostReliable(k, ReliabilityRanking.SUCCESS_RATIO);
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> wilsonScore() {
+
+        return tally().mostReliable(k, ReliabilityRanking.WILSON_SCORE);
+    }
+
+    private ProviderOutcomes tally() {
+
+        ProviderOutcomes outcomes = new ProviderOutcomes();
+        for (Launch launch : launches) {
+            outcomes.accept(launch);
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,81 @@
+package rockets.mining;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares summing the revenue of priced launches per year and provider with BigDecimal
+ * maps, as {@link ProviderRevenueByYear} did before, with its fixed-point sums, and ranks
+ * the providers of the busiest year. Run with {@code -prof gc} to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class RevenueBenchmark {
+
+    @Param({"1000000"})
+    private int priced;
+
+    @Param({"10"})
+    private int k;
+
+    private List<Launch> launches;
+    private int year;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        // about one launch in ten has no price
+        launches = SyntheticLaunches.generate(priced + priced / 8, 1.2, 5171).getLaunches().stream()
+                .filter(launch -> launch.getPrice() != null)
+                .limit(priced)
+                .collect(Collectors.toList());
+        year = launches.stream().mapToInt(launch -> launch.getLaunchDate().getYear()).max().getAsInt();
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> bigDecimalMaps() {
+
+        Map<Integer, Map<LaunchServiceProvider, BigDecimal>> revenueByYear = new HashMap<>();
+        for (Launch launch : launches) {
+            revenueByYear.computeIfAbsent(launch.getLaunchDate().getYear(), y -> new HashMap<>())
+                    .merge(launch.getLaunchServiceProvider(), launch.getPrice(), BigDecimal::add);
+        }
+        Map<LaunchServiceProvider, BigDecimal> revenue = revenueByYear.get(year);
+        return revenue.keySet().stream().sorted(Comparator.comparing(revenue::get)).limit(k).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> fixedPoint() {
+
+        ProviderRevenueByYear revenue = new ProviderRevenueByYear();
+        for (Launch launch : launches) {
+            revenue.accept(launch);
+        }
+        return revenue.ranked(k, year);
+    }
+}
@@ -0,0 +1,125 @@
+package rockets.mining;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.benchmark.SyntheticLaunches;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every public {@link RocketMiner} query, and a batch answering all of them in
+ * one pass, over synthetic launch datasets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx12g"})
+public class RocketMinerBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"0.0", "1.2"})
+    private double skew;
+
+    @Param({"10"})
+    private int k;
+
+    private RocketMiner miner;
+    private RocketMiner cachingMiner;
+    private int year;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        SyntheticLaunches data = SyntheticLaunches.generate(size, skew, 5171);
+        miner = new RocketMiner(data.toDAO());
+        // the in-memory DAO never changes during a trial, so the version stays constant
+        cachingMiner = RocketMiner.builder(data.toDAO()).cacheResults(() -> 0L, 100).build();
+        year = data.getLaunches().isEmpty() ? 2018 : data.getLaunches().get(0).getLaunchDate().getYear();
+    }
+
+    @Benchmark
+    public List<Rocket> mostLaunchedRockets() {
+
+        return miner.mostLaunchedRockets(k);
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> mostReliableLaunchServiceProviders() {
+
+        return miner.mostReliableLaunchServiceProviders(k);
+    }
+
+    @Benchmark
+    public List<Launch> mostRecentLaunches() {
+
+        return miner.mostRecentLaunches(k);
+    }
+
+    @Benchmark
+    public List<Launch> mostRecentLaunchesCached() {
+
+        return cachingMiner.mostRecentLaunches(k);
+    }
+
+    @Benchmark
+    public String dominantCountry() {
+
+        return miner.dominantCountry("LEO");
+    }
+
+    @Benchmark
+    public List<Launch> mostExpensiveLaunches() {
+
+        return miner.mostExpensiveLaunches(k);
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> highestRevenueLaunchServiceProviders() {
+
+        return miner.highestRevenueLaunchServiceProviders(k, year);
+    }
+
+    @Benchmark
+    public List<LaunchServiceProvider> providersWithLongestHistory() {
+
+        return miner.providersWithLongestHistory(k);
+    }
+
+    @Benchmark
+    public List<String> countriesWithTheMostProviders() {
+
+        return miner.countriesWithTheMostProviders(k);
+    }
+
+    @Benchmark
+    public MiningBatch batch() {
+
+        MiningBatch batch = miner.batch();
+        batch.mostLaunchedRockets(k);
+        batch.mostReliableLaunchServiceProviders(k);
+        batch.mostRecentLaunches(k);
+        batch.dominantCountry("LEO");
+        batch.mostExpensiveLaunches(k);
+        batch.highestRevenueLaunchServiceProviders(k, year);
+        batch.run();
+        return batch;
+    }
+}
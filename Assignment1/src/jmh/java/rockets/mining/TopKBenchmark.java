@@ -0,0 +1,106 @@
+package rockets.mining;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rockets.model.Launch;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures selecting the k most recent launches by a full sort, a bounded heap, buffered
+ * selection, and the adaptive {@link TopLaunches} the miner uses. The launches only have a
+ * launch date, drawn from a pool of dates shared between launches, so that ten million of
+ * them fit in a small heap. They arrive in random order, or in chronological order, where
+ * every launch beats the ones kept so far.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TopKBenchmark {
+
+    private static final Comparator<Launch> MOST_RECENT = (a, b) -> -a.getLaunchDate().compareTo(b.getLaunchDate());
+
+    @Param({"10000000"})
+    private int size;
+
+    @Param({"10", "1000", "100000"})
+    private int k;
+
+    @Param({"random", "chronological"})
+    private String arrival;
+
+    private List<Launch> launches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        Random random = new Random(25);
+        LocalDate first = LocalDate.of(1970, 1, 1);
+        LocalDate[] dates = new LocalDate[50 * 365];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = first.plusDays(i);
+        }
+        launches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Launch launch = new Launch();
+            int day = "random".equals(arrival) ? random.nextInt(dates.length) : (int) ((long) i * dates.length / size);
+            launch.setLaunchDate(dates[day]);
+            launches.add(launch);
+        }
+    }
+
+    @Benchmark
+    public List<Launch> sort() {
+
+        return launches.stream().sorted(MOST_RECENT).limit(k).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Launch> heap() {
+
+        return offerAll(new TopK<>(k, MOST_RECENT, true));
+    }
+
+    @Benchmark
+    public List<Launch> select() {
+
+        return offerAll(new TopK<>(k, MOST_RECENT, false));
+    }
+
+    @Benchmark
+    public List<Launch> adaptive() {
+
+        TopLaunches topLaunches = TopLaunches.mostRecent(k);
+        for (Launch launch : launches) {
+            topLaunches.accept(launch);
+        }
+        return topLaunches.launches();
+    }
+
+    private List<Launch> offerAll(TopK<Launch> topK) {
+
+        for (Launch launch : launches) {
+            topK.offer(launch);
+        }
+        return topK.toList();
+    }
+}
@@ -0,0 +1,75 @@
+package rockets.mining.primitive;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares counting keys into a {@link LinkedHashMap} of int arrays, as the accumulators
+ * did before, with counting them into an {@link ObjectIntCounter}. Run with
+ * {@code -prof gc} to compare the allocations per counted key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountingBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"100", "100000"})
+    private int distinct;
+
+    private String[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        Random random = new Random(19);
+        String[] values = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            values[i] = "Rocket " + i;
+        }
+        keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = values[random.nextInt(distinct)];
+        }
+    }
+
+    @Benchmark
+    public Map<String, int[]> linkedHashMap() {
+
+        Map<String, int[]> counts = new LinkedHashMap<>();
+        for (String key : keys) {
+            counts.computeIfAbsent(key, k -> new int[1])[0]++;
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public ObjectIntCounter<String> objectIntCounter() {
+
+        ObjectIntCounter<String> counts = new ObjectIntCounter<>();
+        for (String key : keys) {
+            counts.increment(key);
+        }
+        return counts;
+    }
+}
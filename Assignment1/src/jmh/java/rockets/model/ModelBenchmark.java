@@ -0,0 +1,117 @@
+package rockets.model;
+
+import com.google.common.collect.Sets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the validating constructors and setters of the model classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    private LaunchServiceProvider spacex;
+    private Rocket falcon9;
+    private Set<Rocket> rockets;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        spacex = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        falcon9 = new Rocket("Falcon 9", "USA", spacex);
+        rockets = Sets.newHashSet(falcon9, new Rocket("Falcon Heavy", "USA", spacex));
+        user = new User();
+    }
+
+    @Benchmark
+    public LaunchServiceProvider newLaunchServiceProvider() {
+
+        return new LaunchServiceProvider("SpaceX", 2002, "USA");
+    }
+
+    @Benchmark
+    public Rocket newRocket() {
+
+        return new Rocket("Falcon 9", "USA", spacex);
+    }
+
+    @Benchmark
+    public User newUser() {
+
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setEmail("janesmith@example.com");
+        user.setPassword("Abc123!x");
+        return user;
+    }
+
+    @Benchmark
+    public LaunchServiceProvider setHeadquarters() {
+
+        spacex.setHeadquarters("Hawthorne");
+        return spacex;
+    }
+
+    @Benchmark
+    public LaunchServiceProvider setRockets() {
+
+        spacex.setRockets(rockets);
+        return spacex;
+    }
+
+    @Benchmark
+    public Rocket setMasses() {
+
+        falcon9.setMassToLEO("22800");
+        falcon9.setMassToGTO("8300");
+        falcon9.setMassToOther("4020");
+        return falcon9;
+    }
+
+    @Benchmark
+    public User setFirstName() {
+
+        user.setFirstName("Jane");
+        return user;
+    }
+
+    @Benchmark
+    public User setLastName() {
+
+        user.setLastName("Smith");
+        return user;
+    }
+
+    @Benchmark
+    public User setEmail() {
+
+        user.setEmail("janesmith@example.com");
+        return user;
+    }
+
+    @Benchmark
+    public User setPassword() {
+
+        user.setPassword("Abc123!x");
+        return user;
+    }
+}
@@ -0,0 +1,112 @@
+package rockets.model;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained by launches built from freshly read strings, as a parser or
+ * the OGM produces them, with and without interning. The retained bytes are
+ * reported as a secondary result next to the time taken to build the launches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ValueInternerBenchmark {
+
+    private static final String[] ORBITS = {"LEO", "GTO", "MEO", "SSO", "HEO"};
+    private static final String[] FUNCTIONS = {"communications", "navigation", "science", "crew", "cargo"};
+
+    @Param({"1000000"})
+    private int size;
+
+    private List<Rocket> rockets;
+    private List<Launch> launches;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        rockets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            LaunchServiceProvider provider = new LaunchServiceProvider("Provider " + i, 1950 + i % 60, "Country");
+            rockets.add(new Rocket("Rocket " + i, "Country", provider));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+
+        launches = null;
+    }
+
+    @Benchmark
+    public List<Launch> interned(Footprint footprint) {
+
+        return build(footprint);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Drockets.model.interning=false"})
+    public List<Launch> notInterned(Footprint footprint) {
+
+        return build(footprint);
+    }
+
+    private List<Launch> build(Footprint footprint) {
+
+        launches = null;
+        long before = usedHeap();
+        Random random = new Random(5171);
+        List<Launch> built = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(1970 + random.nextInt(50), 1, 1));
+            launch.setLaunchVehicle(rockets.get(random.nextInt(rockets.size())));
+            // new instances, as every parsed row or loaded node has its own strings
+            launch.setLaunchSite(new String("Site " + random.nextInt(20)));
+            launch.setOrbit(new String(ORBITS[random.nextInt(ORBITS.length)]));
+            launch.setFunction(new String(FUNCTIONS[random.nextInt(FUNCTIONS.length)]));
+            built.add(launch);
+        }
+        launches = built;
+        footprint.retainedBytes = usedHeap() - before;
+        return built;
+    }
+
+    private static long usedHeap() {
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
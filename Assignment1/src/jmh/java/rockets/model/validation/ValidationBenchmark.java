@@ -0,0 +1,112 @@
+package rockets.model.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the validation checks with the checks the model classes made before, which
+ * compiled their patterns on every call and scanned a password once per character class.
+ * Run with {@code -prof gc} to compare the allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"United States of America"})
+    private String name;
+
+    @Param({"Abc123!x"})
+    private String password;
+
+    @Param({"janesmith@example.com"})
+    private String email;
+
+    @Benchmark
+    public boolean nameBefore() {
+
+        return !specialCharacterBefore(name) && !numberBefore(name);
+    }
+
+    @Benchmark
+    public boolean nameAfter() {
+
+        return !CharacterClasses.containsAny(name, CharacterClasses.SPECIAL | CharacterClasses.DIGIT);
+    }
+
+    @Benchmark
+    public boolean passwordBefore() {
+
+        int result = 0;
+        if (specialCharacterBefore(password)) {
+            result += 1;
+        }
+        if (containsBefore(password, Character::isUpperCase)) {
+            result += 1;
+        }
+        if (containsBefore(password, Character::isLowerCase)) {
+            result += 1;
+        }
+        if (numberBefore(password)) {
+            result += 1;
+        }
+        return result >= 3;
+    }
+
+    @Benchmark
+    public boolean passwordAfter() {
+
+        return Integer.bitCount(CharacterClasses.of(password)) >= 3;
+    }
+
+    @Benchmark
+    public boolean emailBefore() {
+
+        return Pattern.matches("\\w+@\\w+(\\.\\w{2,10})*\\.\\w{2,3}", email);
+    }
+
+    @Benchmark
+    public boolean emailAfter() {
+
+        return Patterns.isEmail(email);
+    }
+
+    private static boolean specialCharacterBefore(String input) {
+
+        return Pattern.compile("[^a-z0-9 ]", Pattern.CASE_INSENSITIVE).matcher(input).find();
+    }
+
+    private static boolean numberBefore(String input) {
+
+        return containsBefore(input, Character::isDigit);
+    }
+
+    private static boolean containsBefore(String input, CharPredicate predicate) {
+
+        for (int i = 0; i < input.length(); i++) {
+            if (predicate.test(input.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private interface CharPredicate {
+
+        boolean test(char c);
+    }
+}
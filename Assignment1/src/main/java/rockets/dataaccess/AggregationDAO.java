@@ -0,0 +1,58 @@
+package rockets.dataaccess;
+
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.util.List;
+
+/**
+ * A DAO that can run the launch aggregations behind the mining queries in the
+ * database, so only the k result rows are transferred instead of every launch.
+ * <p>
+ * Rankings follow the in-memory miner; entities that rank equal are ordered by the
+ * order in which they were stored.
+ */
+public interface AggregationDAO extends DAO {
+
+    /**
+     * @return true if the aggregation queries can be used; callers fall back to loading
+     * the launches otherwise.
+     */
+    boolean supportsAggregation();
+
+    <T extends Entity> long count(Class<T> clazz);
+
+    /**
+     * @return at most k rockets ranked by their number of launches with an outcome, most
+     * launched first.
+     */
+    List<Rocket> rocketsByLaunchCount(int k);
+
+    /**
+     * @return at most k providers ranked by their success ratio, highest first, and then
+     * by their number of launches with an outcome, most first.
+     */
+    List<LaunchServiceProvider> providersBySuccessRatio(int k);
+
+    /**
+     * @return at most k providers ranked by the total price of their launches in the
+     * year, lowest first.
+     */
+    List<LaunchServiceProvider> providersByRevenue(int k, int year);
+
+    /**
+     * @return at most k vehicle countries ranked by their successful launches to the
+     * orbit, most launches first.
+     */
+    List<String> countriesBySuccessfulLaunches(String orbit, int k);
+
+    /**
+     * Loads a page of the launches that have a launch date, most recent first, so that
+     * the most recent launches can be read through {@link Pages} until enough are read.
+     *
+     * @return at most limit launches, skipping the first offset of them.
+     */
+    List<Launch> launchesByDateDescending(int offset, int limit);
+}
@@ -0,0 +1,27 @@
+package rockets.dataaccess;
+
+import rockets.model.Entity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The operations of a {@link DAO} that complete without blocking the calling thread.
+ * Independent operations can be started together and composed with the usual
+ * {@link CompletableFuture} combinators; failures complete the future exceptionally.
+ */
+public interface AsyncDAO {
+
+    <T extends Entity> CompletableFuture<T> load(Class<T> clazz, Long id);
+
+    <T extends Entity> CompletableFuture<T> createOrUpdate(T entity);
+
+    <T extends Entity> CompletableFuture<BatchWriteReport> createOrUpdateAll(Collection<T> entities);
+
+    <T extends Entity> CompletableFuture<Collection<T>> loadAll(Class<T> clazz);
+
+    <T extends Entity> CompletableFuture<List<T>> loadPage(Class<T> clazz, int offset, int limit);
+
+    <T extends Entity> CompletableFuture<Void> delete(T entity);
+}
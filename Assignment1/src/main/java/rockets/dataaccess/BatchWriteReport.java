@@ -0,0 +1,105 @@
+package rockets.dataaccess;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of a bulk write, one entry per batch.
+ */
+public class BatchWriteReport {
+
+    private final List<Batch> batches = new ArrayList<>();
+
+    public void add(Batch batch) {
+
+        batches.add(batch);
+    }
+
+    public List<Batch> getBatches() {
+
+        return Collections.unmodifiableList(batches);
+    }
+
+    public int getEntities() {
+
+        int entities = 0;
+        for (Batch batch : batches) {
+            entities += batch.getSize();
+        }
+        return entities;
+    }
+
+    public long getTotalNanos() {
+
+        long total = 0;
+        for (Batch batch : batches) {
+            total += batch.getLookupNanos() + batch.getWriteNanos();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+
+        return "BatchWriteReport{" +
+                "batches=" + batches.size() +
+                ", entities=" + getEntities() +
+                ", totalMillis=" + TimeUnit.NANOSECONDS.toMillis(getTotalNanos()) +
+                '}';
+    }
+
+    public static class Batch {
+
+        private final int size;
+        private final int existing;
+        private final long lookupNanos;
+        private final long writeNanos;
+
+        /**
+         * @param size        the number of entities written.
+         * @param existing    how many of them were already stored and were updated.
+         * @param lookupNanos the time spent resolving already stored entities.
+         * @param writeNanos  the time spent saving and committing the batch.
+         */
+        public Batch(int size, int existing, long lookupNanos, long writeNanos) {
+
+            this.size = size;
+            this.existing = existing;
+            this.lookupNanos = lookupNanos;
+            this.writeNanos = writeNanos;
+        }
+
+        public int getSize() {
+
+            return size;
+        }
+
+        public int getExisting() {
+
+            return existing;
+        }
+
+        public long getLookupNanos() {
+
+            return lookupNanos;
+        }
+
+        public long getWriteNanos() {
+
+            return writeNanos;
+        }
+
+        @Override
+        public String toString() {
+
+            return "Batch{" +
+                    "size=" + size +
+                    ", existing=" + existing +
+                    ", lookupMicros=" + TimeUnit.NANOSECONDS.toMicros(lookupNanos) +
+                    ", writeMicros=" + TimeUnit.NANOSECONDS.toMicros(writeNanos) +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package rockets.dataaccess;
+
+import rockets.model.Launch;
+
+import java.util.Collection;
+
+/**
+ * A DAO that can write large numbers of launches in the database directly, without
+ * mapping every launch through the object graph as {@link #createOrUpdateAll} does.
+ */
+public interface BulkInsertDAO extends DAO {
+
+    /**
+     * @return true if {@link #insertLaunches} can be used; callers fall back to
+     * {@link #createOrUpdateAll} otherwise.
+     */
+    boolean supportsBulkInsert();
+
+    /**
+     * Saves the launches, with the same outcome as {@link #createOrUpdateAll}: launches
+     * already stored are updated and the others are created and given their ids. The
+     * vehicle and provider of every launch must already be stored.
+     */
+    BatchWriteReport insertLaunches(Collection<Launch> launches);
+}
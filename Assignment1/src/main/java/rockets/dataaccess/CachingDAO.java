@@ -0,0 +1,384 @@
+package rockets.dataaccess;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+import static org.apache.commons.lang3.Validate.validState;
+
+/**
+ * A read-through cache in front of another DAO.
+ * <p>
+ * Entities loaded by id are kept per class, in caches with their own size limit and an
+ * optional time to live; the least recently used entity is evicted first. The ids of
+ * saved and loaded entities are also kept by natural key, so saving an entity that is
+ * already stored resolves its id from the cache instead of looking it up in the
+ * database. Writes and deletes go to the wrapped DAO and invalidate the cached entries
+ * of the entities they touch.
+ * <p>
+ * Loading every entity, pages and streams are not cached, and the aggregation queries
+ * are passed to the wrapped DAO when it supports them.
+ */
+public class CachingDAO implements AggregationDAO {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final DAO delegate;
+    private final Function<? super Entity, ?> naturalKey;
+    private final Map<Class<?>, Long> maximumSizes;
+    private final long defaultMaximumSize;
+    private final long expireAfterWriteNanos;
+    private final ConcurrentMap<Class<?>, EntityCache> caches = new ConcurrentHashMap<>();
+
+    private CachingDAO(Builder builder) {
+
+        this.delegate = builder.delegate;
+        this.naturalKey = builder.naturalKey;
+        this.maximumSizes = new HashMap<>(builder.maximumSizes);
+        this.defaultMaximumSize = builder.defaultMaximumSize;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+    }
+
+    public static Builder builder(DAO delegate) {
+
+        return new Builder(delegate);
+    }
+
+    @Override
+    public <T extends Entity> T load(Class<T> clazz, Long id) {
+
+        EntityCache cache = cache(clazz);
+        Entity cached = cache.byId.getIfPresent(id);
+        if (cached != null) {
+            return clazz.cast(cached);
+        }
+        T entity = delegate.load(clazz, id);
+        if (entity != null) {
+            cache.put(entity, naturalKeyOf(entity));
+        }
+        return entity;
+    }
+
+    /**
+     * Saves the entity through the wrapped DAO. An entity without an id that has the
+     * natural key of a cached entity is given that entity's id first.
+     */
+    @Override
+    public <T extends Entity> T createOrUpdate(T entity) {
+
+        notNull(entity, "entity cannot be null.");
+
+        EntityCache cache = cache(entity.getClass());
+        Object key = naturalKeyOf(entity);
+        resolveId(cache, entity, key);
+        if (entity.getId() != null) {
+            cache.invalidate(entity.getId());
+        }
+        T saved = delegate.createOrUpdate(entity);
+        cache.put(saved, naturalKeyOf(saved));
+        return saved;
+    }
+
+    @Override
+    public <T extends Entity> BatchWriteReport createOrUpdateAll(Collection<T> entities) {
+
+        notNull(entities, "entities cannot be null.");
+
+        for (T entity : entities) {
+            EntityCache cache = cache(entity.getClass());
+            resolveId(cache, entity, naturalKeyOf(entity));
+            if (entity.getId() != null) {
+                cache.invalidate(entity.getId());
+            }
+        }
+        BatchWriteReport report = delegate.createOrUpdateAll(entities);
+        for (T entity : entities) {
+            cache(entity.getClass()).put(entity, naturalKeyOf(entity));
+        }
+        return report;
+    }
+
+    @Override
+    public <T extends Entity> Collection<T> loadAll(Class<T> clazz) {
+
+        return delegate.loadAll(clazz);
+    }
+
+    @Override
+    public <T extends Entity> List<T> loadPage(Class<T> clazz, int offset, int limit) {
+
+        return delegate.loadPage(clazz, offset, limit);
+    }
+
+    @Override
+    public <T extends Entity> Stream<T> streamAll(Class<T> clazz, int pageSize) {
+
+        return delegate.streamAll(clazz, pageSize);
+    }
+
+    @Override
+    public <T extends Entity> void delete(T entity) {
+
+        delegate.delete(entity);
+        // the wrapped DAO may have found the id of an entity without one by its natural key
+        EntityCache cache = cache(entity.getClass());
+        if (entity.getId() != null) {
+            cache.invalidate(entity.getId());
+        }
+        cache.invalidateKey(naturalKeyOf(entity));
+    }
+
+    /**
+     * Discards every cached entity and id.
+     */
+    public void invalidateAll() {
+
+        for (EntityCache cache : caches.values()) {
+            cache.byId.invalidateAll();
+            cache.idByKey.invalidateAll();
+            cache.keyById.invalidateAll();
+        }
+    }
+
+    /**
+     * @return the hits, misses and evictions of the entities of the class cached by id.
+     */
+    public CacheStats stats(Class<? extends Entity> clazz) {
+
+        return cache(clazz).byId.stats();
+    }
+
+    /**
+     * @return the hits, misses and evictions of the ids of the class cached by natural key.
+     */
+    public CacheStats naturalKeyStats(Class<? extends Entity> clazz) {
+
+        return cache(clazz).idByKey.stats();
+    }
+
+    /**
+     * @return the statistics of the entities cached by id, summed over every class.
+     */
+    public CacheStats stats() {
+
+        CacheStats total = new CacheStats(0, 0, 0, 0, 0, 0);
+        for (EntityCache cache : caches.values()) {
+            total = total.plus(cache.byId.stats());
+        }
+        return total;
+    }
+
+    public long size(Class<? extends Entity> clazz) {
+
+        return cache(clazz).byId.size();
+    }
+
+    @Override
+    public boolean supportsAggregation() {
+
+        return delegate instanceof AggregationDAO && ((AggregationDAO) delegate).supportsAggregation();
+    }
+
+    @Override
+    public <T extends Entity> long count(Class<T> clazz) {
+
+        return aggregation().count(clazz);
+    }
+
+    @Override
+    public List<Rocket> rocketsByLaunchCount(int k) {
+
+        return aggregation().rocketsByLaunchCount(k);
+    }
+
+    @Override
+    public List<LaunchServiceProvider> providersBySuccessRatio(int k) {
+
+        return aggregation().providersBySuccessRatio(k);
+    }
+
+    @Override
+    public List<LaunchServiceProvider> providersByRevenue(int k, int year) {
+
+        return aggregation().providersByRevenue(k, year);
+    }
+
+    @Override
+    public List<String> countriesBySuccessfulLaunches(String orbit, int k) {
+
+        return aggregation().countriesBySuccessfulLaunches(orbit, k);
+    }
+
+    @Override
+    public List<Launch> launchesByDateDescending(int offset, int limit) {
+
+        return aggregation().launchesByDateDescending(offset, limit);
+    }
+
+    private AggregationDAO aggregation() {
+
+        validState(supportsAggregation(), "The wrapped DAO does not support aggregation.");
+        return (AggregationDAO) delegate;
+    }
+
+    private void resolveId(EntityCache cache, Entity entity, Object key) {
+
+        if (entity.getId() == null && key != null) {
+            Long id = cache.idByKey.getIfPresent(key);
+            if (id != null) {
+                entity.setId(id);
+            }
+        }
+    }
+
+    private Object naturalKeyOf(Entity entity) {
+
+        return naturalKey == null ? null : naturalKey.apply(entity);
+    }
+
+    private EntityCache cache(Class<?> clazz) {
+
+        return caches.computeIfAbsent(clazz, c -> new EntityCache(maximumSizes.getOrDefault(c, defaultMaximumSize), expireAfterWriteNanos));
+    }
+
+    /**
+     * The cached entities of one class by id, and their ids by natural key. The key each
+     * id was cached under is remembered, so the key is dropped when the entity changes.
+     */
+    private static final class EntityCache {
+
+        private final Cache<Long, Entity> byId;
+        private final Cache<Object, Long> idByKey;
+        private final Cache<Long, Object> keyById;
+
+        private EntityCache(long maximumSize, long expireAfterWriteNanos) {
+
+            byId = newCache(maximumSize, expireAfterWriteNanos);
+            idByKey = newCache(maximumSize, expireAfterWriteNanos);
+            keyById = newCache(maximumSize, expireAfterWriteNanos);
+        }
+
+        private static <K, V> Cache<K, V> newCache(long maximumSize, long expireAfterWriteNanos) {
+
+            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats();
+            if (expireAfterWriteNanos > 0) {
+                builder.expireAfterWrite(expireAfterWriteNanos, TimeUnit.NANOSECONDS);
+            }
+            return builder.build();
+        }
+
+        private void put(Entity entity, Object key) {
+
+            Long id = entity.getId();
+            if (id == null) {
+                return;
+            }
+            byId.put(id, entity);
+            if (key != null) {
+                idByKey.put(key, id);
+                keyById.put(id, key);
+            }
+        }
+
+        private void invalidate(Long id) {
+
+            byId.invalidate(id);
+            Object key = keyById.getIfPresent(id);
+            if (key != null) {
+                idByKey.invalidate(key);
+                keyById.invalidate(id);
+            }
+        }
+
+        private void invalidateKey(Object key) {
+
+            if (key == null) {
+                return;
+            }
+            Long id = idByKey.getIfPresent(key);
+            if (id != null) {
+                invalidate(id);
+            }
+            idByKey.invalidate(key);
+        }
+    }
+
+    /**
+     * Configures the limits of a {@link CachingDAO}.
+     */
+    public static class Builder {
+
+        private final DAO delegate;
+        private final Map<Class<?>, Long> maximumSizes = new HashMap<>();
+        private long defaultMaximumSize = DEFAULT_MAXIMUM_SIZE;
+        private long expireAfterWriteNanos;
+        private Function<? super Entity, ?> naturalKey;
+
+        private Builder(DAO delegate) {
+
+            notNull(delegate, "delegate cannot be null.");
+            this.delegate = delegate;
+        }
+
+        /**
+         * Limits the number of cached entities of every class without a limit of its own.
+         */
+        public Builder maximumSize(long maximumSize) {
+
+            isTrue(maximumSize > 0, "maximumSize must be greater than 0.");
+            this.defaultMaximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder maximumSize(Class<? extends Entity> clazz, long maximumSize) {
+
+            notNull(clazz, "clazz cannot be null.");
+            isTrue(maximumSize > 0, "maximumSize must be greater than 0.");
+            maximumSizes.put(clazz, maximumSize);
+            return this;
+        }
+
+        /**
+         * Drops cached entries once the given time has passed since they were cached.
+         */
+        public Builder expireAfterWrite(long duration, TimeUnit unit) {
+
+            isTrue(duration > 0, "duration must be greater than 0.");
+            notNull(unit, "unit cannot be null.");
+            this.expireAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Caches ids by the natural key the function gives for an entity; entities it
+         * returns null for are cached by id only.
+         */
+        public Builder naturalKeys(Function<? super Entity, ?> naturalKey) {
+
+            notNull(naturalKey, "naturalKey cannot be null.");
+            this.naturalKey = naturalKey;
+            return this;
+        }
+
+        public CachingDAO build() {
+
+            return new CachingDAO(this);
+        }
+    }
+}
@@ -2,14 +2,73 @@ package rockets.dataaccess;
 
 import rockets.model.Entity;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface DAO {
     <T extends Entity> T load(Class<T> clazz, Long id);
 
     <T extends Entity> T createOrUpdate(T entity);
 
+    /**
+     * Creates or updates every entity. Implementations may write them in batches; this
+     * default writes them one at a time and reports them as a single batch.
+     *
+     * @return the timing of each batch written.
+     */
+    default <T extends Entity> BatchWriteReport createOrUpdateAll(Collection<T> entities) {
+
+        long start = System.nanoTime();
+        for (T entity : entities) {
+            createOrUpdate(entity);
+        }
+        BatchWriteReport report = new BatchWriteReport();
+        report.add(new BatchWriteReport.Batch(entities.size(), 0, 0, System.nanoTime() - start));
+        return report;
+    }
+
     <T extends Entity> Collection<T> loadAll(Class<T> clazz);
 
+    /**
+     * Loads at most limit entities, skipping the first offset of them. Pages of the same
+     * class follow one order, so consecutive pages do not overlap. This default pages
+     * through {@link #loadAll(Class)}; implementations should page in the store.
+     *
+     * @return the page, empty past the last entity.
+     */
+    default <T extends Entity> List<T> loadPage(Class<T> clazz, int offset, int limit) {
+
+        Pages.checkPage(offset, limit);
+
+        List<T> page = new ArrayList<>(Math.min(limit, 1024));
+        Collection<T> all = loadAll(clazz);
+        if (all == null) {
+            return page;
+        }
+        int index = 0;
+        for (T entity : all) {
+            if (index >= offset) {
+                page.add(entity);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+            index++;
+        }
+        return page;
+    }
+
+    /**
+     * Streams every entity of the class, loading one page of pageSize entities at a time
+     * as the stream is consumed, so at most one page is held by the stream.
+     */
+    default <T extends Entity> Stream<T> streamAll(Class<T> clazz, int pageSize) {
+
+        return Pages.stream((offset, limit) -> loadPage(clazz, offset, limit), pageSize, page -> {
+        });
+    }
+
     <T extends Entity> void delete(T entity);
 }
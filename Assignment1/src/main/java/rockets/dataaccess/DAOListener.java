@@ -0,0 +1,13 @@
+package rockets.dataaccess;
+
+import rockets.model.Entity;
+
+/**
+ * Receives a callback after a DAO has written or deleted an entity.
+ */
+public interface DAOListener {
+
+    void entitySaved(Entity entity);
+
+    void entityDeleted(Entity entity);
+}
@@ -0,0 +1,204 @@
+package rockets.dataaccess;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rockets.model.Entity;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Runs the operations of a blocking {@link DAO} on a bounded executor.
+ * <p>
+ * At most {@code concurrency} operations run at a time and at most {@code queueCapacity}
+ * more wait for their turn. When the queue is full the operation runs on the calling
+ * thread instead, as soon as fewer than {@code concurrency} operations run, which slows
+ * the caller down to the rate the DAO keeps up with. On a
+ * JDK with virtual threads each operation gets its own virtual thread, otherwise a fixed
+ * pool of {@code concurrency} platform threads is used.
+ * <p>
+ * The wrapped DAO must be safe to call from {@code concurrency} threads at once. A
+ * {@link rockets.dataaccess.neo4j.Neo4jDAO} over a single session runs one operation at
+ * a time, so it gains from a concurrency above 1 only when built over a session factory.
+ */
+public class ExecutorAsyncDAO implements AsyncDAO, AutoCloseable {
+
+    private static Logger logger = LoggerFactory.getLogger(ExecutorAsyncDAO.class);
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final DAO dao;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private volatile boolean closed;
+
+    public ExecutorAsyncDAO(DAO dao, int concurrency, int queueCapacity) {
+
+        notNull(dao, "dao cannot be null.");
+        isTrue(concurrency > 0, "concurrency must be greater than 0.");
+        isTrue(queueCapacity >= 0, "queueCapacity must not be negative.");
+
+        this.dao = dao;
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtualThreads ? virtual : newPlatformThreadPool(concurrency, queueCapacity);
+        this.admitted = new Semaphore(concurrency + queueCapacity);
+        this.running = new Semaphore(concurrency);
+        logger.debug("running DAO operations on {} threads.", virtualThreads ? "virtual" : "platform");
+    }
+
+    /**
+     * @return true if the operations run on virtual threads.
+     */
+    public boolean usesVirtualThreads() {
+
+        return virtualThreads;
+    }
+
+    @Override
+    public <T extends Entity> CompletableFuture<T> load(Class<T> clazz, Long id) {
+
+        return submit(() -> dao.load(clazz, id));
+    }
+
+    @Override
+    public <T extends Entity> CompletableFuture<T> createOrUpdate(T entity) {
+
+        return submit(() -> dao.createOrUpdate(entity));
+    }
+
+    @Override
+    public <T extends Entity> CompletableFuture<BatchWriteReport> createOrUpdateAll(Collection<T> entities) {
+
+        return submit(() -> dao.createOrUpdateAll(entities));
+    }
+
+    @Override
+    public <T extends Entity> CompletableFuture<Collection<T>> loadAll(Class<T> clazz) {
+
+        return submit(() -> dao.loadAll(clazz));
+    }
+
+    @Override
+    public <T extends Entity> CompletableFuture<List<T>> loadPage(Class<T> clazz, int offset, int limit) {
+
+        return submit(() -> dao.loadPage(clazz, offset, limit));
+    }
+
+    @Override
+    public <T extends Entity> CompletableFuture<Void> delete(T entity) {
+
+        return submit(() -> {
+            dao.delete(entity);
+            return null;
+        });
+    }
+
+    /**
+     * Stops accepting operations, which then complete exceptionally with a
+     * {@link RejectedExecutionException}, and waits for the submitted ones to finish. If the
+     * calling thread is interrupted while waiting, it returns with its interrupt status
+     * set and the submitted operations keep running.
+     */
+    @Override
+    public void close() {
+
+        closed = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <R> CompletableFuture<R> submit(Supplier<R> operation) {
+
+        CompletableFuture<R> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new RejectedExecutionException("The DAO is closed."));
+            return future;
+        }
+        if (!admitted.tryAcquire()) {
+            logger.debug("queue full, running a DAO operation on the calling thread.");
+            running.acquireUninterruptibly();
+            try {
+                complete(future, operation);
+            } finally {
+                running.release();
+            }
+            return future;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    running.acquireUninterruptibly();
+                    try {
+                        complete(future, operation);
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    admitted.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // only after close()
+            admitted.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static <R> void complete(CompletableFuture<R> future, Supplier<R> operation) {
+
+        try {
+            future.complete(operation.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static ExecutorService newPlatformThreadPool(int concurrency, int queueCapacity) {
+
+        int pool = POOLS.incrementAndGet();
+        AtomicInteger threads = new AtomicInteger();
+        // the admission permits bound the waiting operations; a worker gives its permit
+        // back just before it takes the next task, so the queue has room for every permit
+        return new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(concurrency + queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "rockets-dao-" + pool + "-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * @return an executor that starts a virtual thread per task, or null if the JDK has
+     * no virtual threads.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package rockets.dataaccess;
+
+import rockets.metrics.Metrics;
+import rockets.metrics.OperationMetrics;
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.Validate.notNull;
+import static org.apache.commons.lang3.Validate.validState;
+
+/**
+ * Records every call to another DAO in {@link Metrics}, as the operation
+ * {@code dao.<method>.<entity class>}, e.g. {@code dao.loadAll.Launch}.
+ * <p>
+ * The rows of a call are the entities it loaded, saved or deleted, or the rows an
+ * aggregation returned; aggregations are recorded under {@link Launch}, the entities they
+ * aggregate. A stream is recorded when it is closed, with the time from opening it and
+ * the entities consumed. The aggregation and bulk insert methods are passed to the
+ * wrapped DAO when it supports them.
+ */
+public class MeteredDAO implements AggregationDAO, BulkInsertDAO {
+
+    private enum Method {
+
+        LOAD("load"),
+        CREATE_OR_UPDATE("createOrUpdate"),
+        CREATE_OR_UPDATE_ALL("createOrUpdateAll"),
+        INSERT_LAUNCHES("insertLaunches"),
+        LOAD_ALL("loadAll"),
+        LOAD_PAGE("loadPage"),
+        STREAM_ALL("streamAll"),
+        DELETE("delete"),
+        COUNT("count"),
+        ROCKETS_BY_LAUNCH_COUNT("rocketsByLaunchCount"),
+        PROVIDERS_BY_SUCCESS_RATIO("providersBySuccessRatio"),
+        PROVIDERS_BY_REVENUE("providersByRevenue"),
+        COUNTRIES_BY_SUCCESSFUL_LAUNCHES("countriesBySuccessfulLaunches"),
+        LAUNCHES_BY_DATE_DESCENDING("launchesByDateDescending");
+
+        private static final Method[] VALUES = values();
+
+        private final String name;
+
+        Method(String name) {
+
+            this.name = name;
+        }
+    }
+
+    private final DAO delegate;
+    private final Metrics metrics;
+    // the operations of each entity class by method, looked up on first use
+    private final ConcurrentMap<Class<?>, OperationMetrics[]> operations = new ConcurrentHashMap<>();
+
+    public MeteredDAO(DAO delegate, Metrics metrics) {
+
+        notNull(delegate, "delegate cannot be null.");
+        notNull(metrics, "metrics cannot be null.");
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T extends Entity> T load(Class<T> clazz, Long id) {
+
+        return operation(Method.LOAD, clazz).measure(() -> delegate.load(clazz, id), OperationMetrics::rowsOf);
+    }
+
+    @Override
+    public <T extends Entity> T createOrUpdate(T entity) {
+
+        notNull(entity, "entity cannot be null.");
+
+        return operation(Method.CREATE_OR_UPDATE, entity.getClass()).measure(() -> delegate.createOrUpdate(entity), OperationMetrics::rowsOf);
+    }
+
+    /**
+     * Records the batch under the class of its first entity.
+     */
+    @Override
+    public <T extends Entity> BatchWriteReport createOrUpdateAll(Collection<T> entities) {
+
+        notNull(entities, "entities cannot be null.");
+
+        Class<?> clazz = entities.isEmpty() ? Entity.class : entities.iterator().next().getClass();
+        return operation(Method.CREATE_OR_UPDATE_ALL, clazz).measure(() -> delegate.createOrUpdateAll(entities), report -> entities.size());
+    }
+
+    @Override
+    public boolean supportsBulkInsert() {
+
+        return delegate instanceof BulkInsertDAO && ((BulkInsertDAO) delegate).supportsBulkInsert();
+    }
+
+    @Override
+    public BatchWriteReport insertLaunches(Collection<Launch> launches) {
+
+        validState(supportsBulkInsert(), "The wrapped DAO does not support bulk inserts.");
+        return operation(Method.INSERT_LAUNCHES, Launch.class).measure(() -> ((BulkInsertDAO) delegate).insertLaunches(launches), report -> launches.size());
+    }
+
+    @Override
+    public <T extends Entity> Collection<T> loadAll(Class<T> clazz) {
+
+        return operation(Method.LOAD_ALL, clazz).measure(() -> delegate.loadAll(clazz), OperationMetrics::rowsOf);
+    }
+
+    @Override
+    public <T extends Entity> List<T> loadPage(Class<T> clazz, int offset, int limit) {
+
+        return operation(Method.LOAD_PAGE, clazz).measure(() -> delegate.loadPage(clazz, offset, limit), OperationMetrics::rowsOf);
+    }
+
+    @Override
+    public <T extends Entity> Stream<T> streamAll(Class<T> clazz, int pageSize) {
+
+        OperationMetrics operation = operation(Method.STREAM_ALL, clazz);
+        long start = System.nanoTime();
+        Stream<T> stream;
+        try {
+            stream = delegate.streamAll(clazz, pageSize);
+        } catch (RuntimeException | Error e) {
+            operation.record(System.nanoTime() - start, 0, 0, true);
+            throw e;
+        }
+        // counted concurrently if the caller makes the stream parallel
+        LongAdder rows = new LongAdder();
+        return stream.peek(entity -> rows.increment()).onClose(() -> operation.record(System.nanoTime() - start, rows.sum(), 0, false));
+    }
+
+    @Override
+    public <T extends Entity> void delete(T entity) {
+
+        notNull(entity, "entity cannot be null.");
+
+        operation(Method.DELETE, entity.getClass()).measure(() -> {
+            delegate.delete(entity);
+            return null;
+        }, result -> 1);
+    }
+
+    @Override
+    public boolean supportsAggregation() {
+
+        return delegate instanceof AggregationDAO && ((AggregationDAO) delegate).supportsAggregation();
+    }
+
+    @Override
+    public <T extends Entity> long count(Class<T> clazz) {
+
+        return operation(Method.COUNT, clazz).measure(() -> aggregation().count(clazz), count -> 1);
+    }
+
+    @Override
+    public List<Rocket> rocketsByLaunchCount(int k) {
+
+        return operation(Method.ROCKETS_BY_LAUNCH_COUNT, Launch.class).measure(() -> aggregation().rocketsByLaunchCount(k), OperationMetrics::rowsOf);
+    }
+
+    @Override
+    public List<LaunchServiceProvider> providersBySuccessRatio(int k) {
+
+        return operation(Method.PROVIDERS_BY_SUCCESS_RATIO, Launch.class).measure(() -> aggregation().providersBySuccessRatio(k), OperationMetrics::rowsOf);
+    }
+
+    @Override
+    public List<LaunchServiceProvider> providersByRevenue(int k, int year) {
+
+        return operation(Method.PROVIDERS_BY_REVENUE, Launch.class).measure(() -> aggregation().providersByRevenue(k, year), OperationMetrics::rowsOf);
+    }
+
+    @Override
+    public List<String> countriesBySuccessfulLaunches(String orbit, int k) {
+
+        return operation(Method.COUNTRIES_BY_SUCCESSFUL_LAUNCHES, Launch.class).measure(() -> aggregation().countriesBySuccessfulLaunches(orbit, k), OperationMetrics::rowsOf);
+    }
+
+    @Override
+    public List<Launch> launchesByDateDescending(int offset, int limit) {
+
+        return operation(Method.LAUNCHES_BY_DATE_DESCENDING, Launch.class).measure(() -> aggregation().launchesByDateDescending(offset, limit), OperationMetrics::rowsOf);
+    }
+
+    private AggregationDAO aggregation() {
+
+        validState(supportsAggregation(), "The wrapped DAO does not support aggregation.");
+        return (AggregationDAO) delegate;
+    }
+
+    private OperationMetrics operation(Method method, Class<?> clazz) {
+
+        OperationMetrics[] byMethod = operations.get(clazz);
+        if (byMethod == null) {
+            byMethod = operations.computeIfAbsent(clazz, c -> new OperationMetrics[Method.VALUES.length]);
+        }
+        OperationMetrics operation = byMethod[method.ordinal()];
+        if (operation == null) {
+            // racing threads look up the same operation
+            operation = metrics.operation("dao." + method.name + "." + clazz.getSimpleName());
+            byMethod[method.ordinal()] = operation;
+        }
+        return operation;
+    }
+}
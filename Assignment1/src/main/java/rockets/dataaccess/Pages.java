@@ -0,0 +1,93 @@
+package rockets.dataaccess;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Lazy iteration over a paged source.
+ * <p>
+ * A page is loaded only when the previous one has been consumed, and the consumed page is
+ * handed to a release callback before the next one is loaded, so a stream holds at most
+ * one page at a time.
+ */
+public final class Pages {
+
+    private Pages() {
+    }
+
+    /**
+     * Loads at most limit elements, skipping the first offset of them.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        List<T> load(int offset, int limit);
+    }
+
+    public static void checkPage(int offset, int limit) {
+
+        isTrue(offset >= 0, "offset must not be negative.");
+        isTrue(limit > 0, "limit must be greater than 0.");
+    }
+
+    /**
+     * Streams every element of the source, loading pageSize elements at a time. Loading
+     * stops at the first page shorter than pageSize.
+     *
+     * @param release called with each consumed page before the next one is loaded.
+     */
+    public static <T> Stream<T> stream(Loader<T> loader, int pageSize, Consumer<? super List<T>> release) {
+
+        notNull(loader, "loader cannot be null.");
+        notNull(release, "release cannot be null.");
+        isTrue(pageSize > 0, "pageSize must be greater than 0.");
+
+        Iterator<T> elements = new Iterator<T>() {
+
+            private List<T> page = Collections.emptyList();
+            private int index;
+            private int offset;
+            private boolean last;
+
+            @Override
+            public boolean hasNext() {
+
+                if (index < page.size()) {
+                    return true;
+                }
+                if (!page.isEmpty()) {
+                    release.accept(page);
+                    page = Collections.emptyList();
+                }
+                if (last) {
+                    return false;
+                }
+                page = loader.load(offset, pageSize);
+                offset += page.size();
+                index = 0;
+                last = page.size() < pageSize;
+                return !page.isEmpty();
+            }
+
+            @Override
+            public T next() {
+
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
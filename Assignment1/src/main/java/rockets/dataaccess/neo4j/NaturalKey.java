@@ -0,0 +1,164 @@
+package rockets.dataaccess.neo4j;
+
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+import rockets.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The properties that identify a stored entity of a model class, independently of its
+ * generated id.
+ * <p>
+ * A key is made of properties of the entity's own node and, optionally, properties of
+ * the node at the end of one of its relationships, e.g. a launch is identified by the
+ * natural key of its launch vehicle. Key values are given in the form OGM stores them:
+ * dates as ISO strings, enums by name and whole numbers as longs.
+ */
+final class NaturalKey {
+
+    private static final Map<Class<? extends Entity>, NaturalKey> REGISTRY = new LinkedHashMap<>();
+
+    static {
+        register(new NaturalKey(LaunchServiceProvider.class, Arrays.asList("name", "yearFounded", "country"), false, null, null, lsp -> {
+            LaunchServiceProvider provider = (LaunchServiceProvider) lsp;
+            return Arrays.asList(provider.getName(), (long) provider.getYearFounded(), provider.getCountry());
+        }));
+        register(new NaturalKey(Rocket.class, Arrays.asList("name", "country"), false, null, null, rocket ->
+                Arrays.asList(((Rocket) rocket).getName(), ((Rocket) rocket).getCountry())));
+        register(new NaturalKey(User.class, Collections.singletonList("email"), true, null, null, user ->
+                Collections.singletonList(((User) user).getEmail())));
+        register(new NaturalKey(Launch.class, Arrays.asList("launchDate", "launchSite", "launchOutcome"), false, "LAUNCH_VEHICLE", Rocket.class, entity -> {
+            Launch launch = (Launch) entity;
+            Rocket vehicle = launch.getLaunchVehicle();
+            return Arrays.asList(
+                    launch.getLaunchDate() == null ? null : launch.getLaunchDate().toString(),
+                    launch.getLaunchSite(),
+                    launch.getLaunchOutcome() == null ? null : launch.getLaunchOutcome().name(),
+                    vehicle == null ? null : vehicle.getName(),
+                    vehicle == null ? null : vehicle.getCountry());
+        }));
+    }
+
+    private final Class<? extends Entity> type;
+    private final List<String> properties;
+    private final boolean unique;
+    private final String relationship;
+    private final Class<? extends Entity> related;
+    private final Function<Entity, List<Object>> values;
+
+    private NaturalKey(Class<? extends Entity> type, List<String> properties, boolean unique, String relationship, Class<? extends Entity> related, Function<Entity, List<Object>> values) {
+
+        this.type = type;
+        this.properties = properties;
+        this.unique = unique;
+        this.relationship = relationship;
+        this.related = related;
+        this.values = values;
+    }
+
+    private static void register(NaturalKey key) {
+
+        REGISTRY.put(key.type, key);
+    }
+
+    /**
+     * @return the natural key of the class, or null if its entities have none.
+     */
+    static NaturalKey of(Class<?> type) {
+
+        return REGISTRY.get(type);
+    }
+
+    static Collection<NaturalKey> all() {
+
+        return Collections.unmodifiableCollection(REGISTRY.values());
+    }
+
+    String label() {
+
+        return type.getSimpleName();
+    }
+
+    /**
+     * @return the properties of the entity's own node that belong to the key.
+     */
+    List<String> properties() {
+
+        return properties;
+    }
+
+    /**
+     * @return true if no two stored entities may share the key.
+     */
+    boolean isUnique() {
+
+        return unique;
+    }
+
+    /**
+     * A schema statement that backs the key: a uniqueness constraint for a unique key,
+     * a (composite) index on the own properties otherwise. Neo4j ignores the statement
+     * if the index or constraint already exists.
+     */
+    String schemaStatement() {
+
+        if (unique) {
+            return "CREATE CONSTRAINT ON (n:" + label() + ") ASSERT n." + properties.get(0) + " IS UNIQUE";
+        }
+        return indexStatement();
+    }
+
+    /**
+     * A schema statement that creates a (composite) index on the own properties, which
+     * also backs a unique key whose constraint cannot be created.
+     */
+    String indexStatement() {
+
+        return "CREATE INDEX ON :" + label() + "(" + String.join(", ", properties) + ")";
+    }
+
+    /**
+     * @return the key values of the entity: its own properties, then those of the
+     * related node.
+     */
+    List<Object> valuesOf(Entity entity) {
+
+        return values.apply(entity);
+    }
+
+    /**
+     * A query that looks up the ids of stored entities for a list of key values in one
+     * round-trip. It returns the position of each key that was found and the smallest
+     * id stored under it.
+     */
+    String lookupQuery() {
+
+        StringBuilder pattern = new StringBuilder("(n:").append(label()).append(' ').append(propertyMap(properties, 0)).append(')');
+        if (relationship != null) {
+            NaturalKey relatedKey = of(related);
+            pattern.append("-[:").append(relationship).append("]->(:").append(relatedKey.label()).append(' ')
+                    .append(propertyMap(relatedKey.properties, properties.size())).append(')');
+        }
+        return "UNWIND range(0, size($keys) - 1) AS i WITH i, $keys[i] AS key " +
+                "MATCH " + pattern + " RETURN i, min(id(n)) AS id";
+    }
+
+    private static String propertyMap(List<String> properties, int offset) {
+
+        List<String> entries = new ArrayList<>(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            entries.add(properties.get(i) + ": key[" + (offset + i) + "]");
+        }
+        return "{" + String.join(", ", entries) + "}";
+    }
+}
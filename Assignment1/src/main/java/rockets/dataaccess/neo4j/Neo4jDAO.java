@@ -1,103 +1,664 @@
 package rockets.dataaccess.neo4j;
 
-import com.google.common.collect.Sets;
 import org.mockito.internal.matchers.NotNull;
-import org.neo4j.ogm.cypher.Filter;
-import org.neo4j.ogm.cypher.Filters;
 import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
 import org.neo4j.ogm.transaction.Transaction;
-import rockets.dataaccess.DAO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import rockets.dataaccess.AggregationDAO;
+import rockets.dataaccess.BatchWriteReport;
+import rockets.dataaccess.BulkInsertDAO;
+import rockets.dataaccess.DAOListener;
+import rockets.dataaccess.Pages;
+import rockets.metrics.QueryTrace;
+import rockets.metrics.QueryTracer;
 import rockets.model.Entity;
 import rockets.model.Launch;
 import rockets.model.LaunchServiceProvider;
 import rockets.model.Rocket;
-import rockets.model.User;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.noNullElements;
 import static org.apache.commons.lang3.Validate.notNull;
-import static org.neo4j.ogm.cypher.ComparisonOperator.EQUALS;
 
-public class Neo4jDAO implements DAO {
+public class Neo4jDAO implements AggregationDAO, BulkInsertDAO {
 
+    private static Logger logger = LoggerFactory.getLogger(Neo4jDAO.class);
     private static final int DEPTH_ENTITY = 1;
-    private Session session;
+    private static final int DEFAULT_BATCH_SIZE = 1000;
 
+    private static final String ROCKETS_BY_LAUNCH_COUNT =
+            "MATCH (l:Launch)-[:LAUNCH_VEHICLE]->(r:Rocket) WHERE l.launchOutcome IS NOT NULL " +
+            "RETURN id(r) AS id, count(l) AS launches, min(id(l)) AS first " +
+            "ORDER BY launches DESC, first LIMIT $k";
+    // distinct ratios of fewer than 2^26 launches each never round to the same double
+    private static final String PROVIDERS_BY_SUCCESS_RATIO =
+            "MATCH (l:Launch)-[:LAUNCH_SERVICE_PROVIDER]->(p:LaunchServiceProvider) WHERE l.launchOutcome IS NOT NULL " +
+            "WITH p, sum(CASE WHEN l.launchOutcome = $successful THEN 1 ELSE 0 END) AS successes, count(l) AS launches " +
+            "RETURN id(p) AS id ORDER BY toFloat(successes) / launches DESC, launches DESC, id LIMIT $k";
+    private static final String PROVIDER_PRICES_IN_YEAR =
+            "MATCH (l:Launch)-[:LAUNCH_SERVICE_PROVIDER]->(p:LaunchServiceProvider) " +
+            "WHERE l.price IS NOT NULL AND l.launchDate STARTS WITH $year " +
+            "RETURN id(p) AS id, collect(l.price) AS prices ORDER BY id";
+    private static final String COUNTRIES_BY_SUCCESSFUL_LAUNCHES =
+            "MATCH (l:Launch)-[:LAUNCH_VEHICLE]->(r:Rocket) WHERE l.orbit = $orbit AND l.launchOutcome = $successful " +
+            "RETURN r.country AS country, count(l) AS launches, min(id(l)) AS first " +
+            "ORDER BY launches DESC, first LIMIT $k";
+    // dates are stored as ISO strings, which sort like the dates
+    private static final String LAUNCHES_BY_DATE_DESCENDING =
+            "MATCH (l:Launch) WHERE l.launchDate IS NOT NULL " +
+            "RETURN id(l) AS id ORDER BY l.launchDate DESC, id SKIP $offset LIMIT $limit";
+    private static final String CREATE_LAUNCHES =
+            "UNWIND $rows AS row " +
+            "MATCH (r:Rocket) WHERE id(r) = row.vehicle " +
+            "CREATE (l:Launch)-[:LAUNCH_VEHICLE]->(r) SET l = row.properties " +
+            "WITH row, l OPTIONAL MATCH (p:LaunchServiceProvider) WHERE id(p) = row.provider " +
+            "FOREACH (provider IN CASE WHEN p IS NULL THEN [] ELSE [p] END | CREATE (l)-[:LAUNCH_SERVICE_PROVIDER]->(provider)) " +
+            "RETURN row.i AS i, id(l) AS id";
+    private final SessionPool sessions;
+    private final List<DAOListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    private final AtomicLong version = new AtomicLong();
+    private volatile QueryTracer tracer = QueryTracer.builder(Neo4jDAO.class).level(Level.DEBUG).build();
+
+    /**
+     * Creates a DAO over a single session, which its callers take turns to use, and makes
+     * sure the indexes and constraints backing the natural key lookups exist.
+     */
     public Neo4jDAO(Session session) {
 
-        this.session = session;
+        this.sessions = new SessionPool(session);
+        createSchema();
+    }
+
+    /**
+     * Creates a DAO that gives every operation a session of its own from a pool of at
+     * most maxSessions sessions, so up to maxSessions callers are served concurrently.
+     * Entities are not kept by the sessions between operations: every operation loads
+     * them from the database, and saving an entity writes its current state.
+     */
+    public Neo4jDAO(SessionFactory sessionFactory, int maxSessions) {
+
+        isTrue(maxSessions > 0, "maxSessions must be greater than 0.");
+        this.sessions = new SessionPool(sessionFactory, maxSessions);
+        createSchema();
+    }
+
+    /**
+     * Creates the schema backing the natural keys. A store that already holds entities
+     * sharing a unique key cannot get its constraint, so the key is backed by an index
+     * instead and the store still opens.
+     */
+    private void createSchema() {
+
+        sessions.withSession(session -> {
+            for (NaturalKey key : NaturalKey.all()) {
+                String statement = key.schemaStatement();
+                try {
+                    session.query(statement, Collections.emptyMap());
+                } catch (RuntimeException e) {
+                    if (!key.isUnique()) {
+                        throw e;
+                    }
+                    logger.warn("cannot ensure {}, stored {} entities may share the key; using an index instead.", statement, key.label(), e);
+                    statement = key.indexStatement();
+                    session.query(statement, Collections.emptyMap());
+                }
+                logger.debug("ensured schema: {}.", statement);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work in a transaction of its own, committed if the work returns and rolled
+     * back if it throws.
+     */
+    private <R> R inTransaction(Function<Session, R> work) {
+
+        return sessions.withSession(session -> {
+            try (Transaction tx = session.beginTransaction()) {
+                R result = work.apply(session);
+                tx.commit();
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Registers a listener that is called after every committed write or delete.
+     */
+    public void addListener(DAOListener listener) {
+
+        notNull(listener, "listener cannot be null.");
+        listeners.add(listener);
+    }
+
+    public void removeListener(DAOListener listener) {
+
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the largest number of entities {@link #createOrUpdateAll(Collection)} writes in
+     * one transaction.
+     */
+    public void setBatchSize(int batchSize) {
+
+        isTrue(batchSize > 0, "batchSize must be greater than 0.");
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+
+        return batchSize;
+    }
+
+    /**
+     * Traces the read queries with the tracer instead of logging every call at debug
+     * level. The rows a call scanned are the rows the database returned to it.
+     */
+    public void setQueryTracer(QueryTracer tracer) {
+
+        notNull(tracer, "tracer cannot be null.");
+        this.tracer = tracer;
+    }
+
+    /**
+     * @return a counter that grows with every write and delete made through this DAO, so
+     * results computed at one version are current as long as the version is unchanged.
+     */
+    public long getVersion() {
+
+        return version.get();
+    }
+
+    /**
+     * @return the values of the properties that identify the entity independently of its
+     * id, or null if entities of its class have no natural key.
+     */
+    public static List<Object> naturalKeyOf(Entity entity) {
+
+        NaturalKey key = NaturalKey.of(entity.getClass());
+        return key == null ? null : key.valuesOf(entity);
     }
 
     @Override
     public <T extends Entity> T load(Class<T> clazz, Long id) {
 
-        return session.load(clazz, id, DEPTH_ENTITY);
+        return sessions.withSession(session -> session.load(clazz, id, DEPTH_ENTITY));
     }
 
+    /**
+     * Saves the entity. An entity without an id is first matched against the stored
+     * entities by its natural key, so saving an equal entity again updates the stored one.
+     */
     @Override
     public <T extends Entity> T createOrUpdate(T entity) {
 
-        Class clazz = entity.getClass();
-
-        T existingEntity = findExistingEntity(entity, clazz);
-        if (null != existingEntity) {
-            entity.setId(existingEntity.getId());
+        inTransaction(session -> {
+            if (null == entity.getId()) {
+                entity.setId(findExistingId(session, entity));
+            }
+            session.save(entity);
+            return entity;
+        });
+        version.incrementAndGet();
+        for (DAOListener listener : listeners) {
+            listener.entitySaved(entity);
         }
-        Transaction tx = session.beginTransaction();
-        session.save(entity);
-        tx.commit();
         return entity;
     }
 
-    private <T extends Entity> T findExistingEntity(Entity entity, Class clazz) {
-
-        Entity existingEntity = null;
-        Filters filters = new Filters();
-        Collection<? extends Entity> collection = Sets.newLinkedHashSet();
-        if (clazz.equals(Rocket.class)) {
-            Rocket rocket = (Rocket) entity;
-            filters.add(new Filter("name", EQUALS, rocket.getName()))
-                    .and(new Filter("country", EQUALS, rocket.getCountry()));
-            collection = session.loadAll(Rocket.class, filters);
-        } else if (clazz.equals(User.class)) {
-            User user = (User) entity;
-            filters.add(new Filter("email", EQUALS, user.getEmail()));
-            collection = session.loadAll(User.class, filters);
-        } else if (clazz.equals(Launch.class)) {
-            Launch launch = (Launch) entity;
-            filters.add(new Filter("launchDate", EQUALS, launch.getLaunchDate()))
-                    .and(new Filter("launchVehicle", EQUALS, launch.getLaunchVehicle()))
-                    .and(new Filter("launchSite", EQUALS, launch.getLaunchSite()))
-                    .and(new Filter("launchOutcome", EQUALS, launch.getLaunchOutcome()));
-            collection = session.loadAll(Launch.class, filters);
-        } else if (clazz.equals(LaunchServiceProvider.class)) {
-            LaunchServiceProvider lsp = (LaunchServiceProvider) entity;
-            filters.add(new Filter("name", EQUALS, lsp.getName()))
-                    .and(new Filter("yearFounded", EQUALS, lsp.getYearFounded()))
-                    .and(new Filter("country", EQUALS, lsp.getCountry()));
-            collection = session.loadAll(LaunchServiceProvider.class, filters);
-        }
-        if (!collection.isEmpty()) {
-            existingEntity = collection.iterator().next();
-        }
-        return (T) existingEntity;
+    /**
+     * Writes the entities in batches of at most {@link #getBatchSize()}. Each batch
+     * resolves its already stored entities with one natural key lookup per class and is
+     * saved in one transaction with one commit. Entities of a batch that share a natural
+     * key are saved as one entity, as saving them one at a time would update it in place.
+     */
+    @Override
+    public <T extends Entity> BatchWriteReport createOrUpdateAll(Collection<T> entities) {
+
+        notNull(entities, "entities cannot be null.");
+        noNullElements(entities, "entities cannot contain null.");
+
+        return inBatches(entities, this::writeBatch);
+    }
+
+    /**
+     * Writes the launches in batches of at most {@link #getBatchSize()} like
+     * {@link #createOrUpdateAll(Collection)}, but creates the launches that are not stored
+     * yet with one Cypher statement per batch instead of mapping each of them, which is
+     * much faster for large imports of new launches.
+     */
+    @Override
+    public BatchWriteReport insertLaunches(Collection<Launch> launches) {
+
+        notNull(launches, "launches cannot be null.");
+        noNullElements(launches, "launches cannot contain null.");
+        for (Launch launch : launches) {
+            isTrue(launch.getLaunchVehicle() != null && launch.getLaunchVehicle().getId() != null, "launchVehicle must be stored before its launches.");
+            isTrue(launch.getLaunchServiceProvider() == null || launch.getLaunchServiceProvider().getId() != null, "launchServiceProvider must be stored before its launches.");
+        }
+
+        return inBatches(launches, this::insertBatch);
+    }
+
+    @Override
+    public boolean supportsBulkInsert() {
+
+        return true;
+    }
+
+    private <T extends Entity> BatchWriteReport inBatches(Collection<T> entities, Function<List<T>, BatchWriteReport.Batch> write) {
+
+        BatchWriteReport report = new BatchWriteReport();
+        List<T> batch = new ArrayList<>(Math.min(batchSize, entities.size()));
+        for (T entity : entities) {
+            batch.add(entity);
+            if (batch.size() == batchSize) {
+                report.add(write.apply(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            report.add(write.apply(batch));
+        }
+        return report;
+    }
+
+    private <T extends Entity> BatchWriteReport.Batch writeBatch(List<T> batch) {
+
+        long[] resolved = new long[1];
+        long start = System.nanoTime();
+        int existing = inTransaction(session -> {
+            ResolvedBatch<T> resolution = resolveExistingEntities(session, batch);
+            resolved[0] = System.nanoTime();
+            session.save(resolution.toSave);
+            resolution.shareIds();
+            return resolution.existing;
+        });
+        return batchWritten(batch, existing, start, resolved[0]);
+    }
+
+    private BatchWriteReport.Batch insertBatch(List<Launch> batch) {
+
+        long[] resolved = new long[1];
+        long start = System.nanoTime();
+        int existing = inTransaction(session -> {
+            ResolvedBatch<Launch> resolution = resolveExistingEntities(session, batch);
+            resolved[0] = System.nanoTime();
+
+            List<Launch> stored = new ArrayList<>();
+            List<Launch> created = new ArrayList<>();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Launch launch : resolution.toSave) {
+                if (launch.getId() != null) {
+                    stored.add(launch);
+                } else {
+                    rows.add(createRow(created.size(), launch));
+                    created.add(launch);
+                }
+            }
+            if (!stored.isEmpty()) {
+                session.save(stored);
+            }
+            if (!rows.isEmpty()) {
+                for (Map<String, Object> row : session.query(CREATE_LAUNCHES, Collections.singletonMap("rows", rows)).queryResults()) {
+                    created.get(((Number) row.get("i")).intValue()).setId(((Number) row.get("id")).longValue());
+                }
+            }
+            resolution.shareIds();
+            return resolution.existing;
+        });
+        return batchWritten(batch, existing, start, resolved[0]);
+    }
+
+    /**
+     * @return the parameters creating the launch, with its properties stored as the
+     * object mapping stores them.
+     */
+    private static Map<String, Object> createRow(int index, Launch launch) {
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("launchDate", launch.getLaunchDate() == null ? null : launch.getLaunchDate().toString());
+        properties.put("launchSite", launch.getLaunchSite());
+        properties.put("orbit", launch.getOrbit());
+        properties.put("function", launch.getFunction());
+        properties.put("price", launch.getPrice() == null ? null : launch.getPrice().toString());
+        properties.put("launchOutcome", launch.getLaunchOutcome() == null ? null : launch.getLaunchOutcome().name());
+        properties.put("payload", launch.getPayload() == null ? null : new ArrayList<>(launch.getPayload()));
+        properties.put("wikilink", launch.getWikilink());
+        properties.values().removeIf(value -> value == null);
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("i", index);
+        row.put("vehicle", launch.getLaunchVehicle().getId());
+        row.put("provider", launch.getLaunchServiceProvider() == null ? null : launch.getLaunchServiceProvider().getId());
+        row.put("properties", properties);
+        return row;
+    }
+
+    private BatchWriteReport.Batch batchWritten(List<? extends Entity> batch, int existing, long start, long resolved) {
+
+        long written = System.nanoTime();
+        version.incrementAndGet();
+
+        for (Entity entity : batch) {
+            for (DAOListener listener : listeners) {
+                listener.entitySaved(entity);
+            }
+        }
+        BatchWriteReport.Batch timing = new BatchWriteReport.Batch(batch.size(), existing, resolved - start, written - resolved);
+        logger.debug("wrote {}.", timing);
+        return timing;
+    }
+
+    /**
+     * Picks the entities of the batch to save and gives every one that has no id but is
+     * already stored the id it is stored under. Of the entities without an id that share
+     * a natural key, only the last one is saved, and the others are given its id once it
+     * is saved, so the batch stores what saving the entities one at a time would store.
+     * Keys with a missing value never match a stored entity, so their entities are all
+     * saved.
+     */
+    private <T extends Entity> ResolvedBatch<T> resolveExistingEntities(Session session, List<T> batch) {
+
+        // the last entity without an id of every key value, by natural key
+        Map<NaturalKey, Map<List<Object>, T>> lastByKey = new LinkedHashMap<>();
+        for (T entity : batch) {
+            NaturalKey key = NaturalKey.of(entity.getClass());
+            if (key != null && entity.getId() == null) {
+                List<Object> values = key.valuesOf(entity);
+                if (!values.contains(null)) {
+                    lastByKey.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(values, entity);
+                }
+            }
+        }
+
+        ResolvedBatch<T> resolution = new ResolvedBatch<>();
+        for (T entity : batch) {
+            NaturalKey key = NaturalKey.of(entity.getClass());
+            T last = key == null || entity.getId() != null || !lastByKey.containsKey(key) ? null : lastByKey.get(key).get(key.valuesOf(entity));
+            if (last != null && last != entity) {
+                resolution.duplicates.put(entity, last);
+            } else {
+                resolution.toSave.add(entity);
+            }
+        }
+
+        Set<T> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<NaturalKey, Map<List<Object>, T>> group : lastByKey.entrySet()) {
+            List<List<Object>> keys = new ArrayList<>(group.getValue().keySet());
+            List<T> entities = new ArrayList<>(group.getValue().values());
+            Map<String, Object> parameters = Collections.singletonMap("keys", keys);
+            for (Map<String, Object> row : session.query(group.getKey().lookupQuery(), parameters).queryResults()) {
+                T entity = entities.get(((Number) row.get("i")).intValue());
+                entity.setId(((Number) row.get("id")).longValue());
+                found.add(entity);
+            }
+        }
+        resolution.existing = found.size();
+        for (T last : resolution.duplicates.values()) {
+            if (found.contains(last)) {
+                resolution.existing++;
+            }
+        }
+        return resolution;
+    }
+
+    /**
+     * @return the id the entity is stored under, found by its natural key, or null if it
+     * is not stored or its class has no natural key.
+     */
+    private static Long findExistingId(Session session, Entity entity) {
+
+        NaturalKey key = NaturalKey.of(entity.getClass());
+        if (key == null) {
+            return null;
+        }
+        Map<String, Object> parameters = Collections.singletonMap("keys", Collections.singletonList(key.valuesOf(entity)));
+        for (Map<String, Object> row : session.query(key.lookupQuery(), parameters).queryResults()) {
+            return ((Number) row.get("id")).longValue();
+        }
+        return null;
     }
 
     @Override
     public <T extends Entity> Collection<T> loadAll(Class<T> clazz) {
 
-        return session.loadAll(clazz);
+        return tracer.trace("loadAll", trace -> {
+            Collection<T> entities = sessions.withSession(session -> session.loadAll(clazz));
+            trace.scanned(entities.size());
+            return entities;
+        }, clazz.getSimpleName());
+    }
+
+    /**
+     * Pages the ids of the entities with SKIP and LIMIT in the database, ordered by id,
+     * and loads only the entities of the page. Saving or detaching entities between pages
+     * does not change the order, so consecutive pages neither skip nor repeat entities.
+     */
+    @Override
+    public <T extends Entity> List<T> loadPage(Class<T> clazz, int offset, int limit) {
+
+        Pages.checkPage(offset, limit);
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("offset", offset);
+        parameters.put("limit", limit);
+        String query = "MATCH (n:" + clazz.getSimpleName() + ") RETURN id(n) AS id ORDER BY id SKIP $offset LIMIT $limit";
+        return tracer.trace("loadPage", trace -> sessions.withSession(session ->
+                loadInOrder(session, clazz, ids(session.query(query, parameters).queryResults(), trace))), clazz.getSimpleName(), offset, limit);
+    }
+
+    /**
+     * Streams the entities page by page. With a single shared session, each consumed page
+     * is detached from the session before the next one is loaded, so the session does not
+     * keep every streamed entity; entities that are still needed after the stream has moved
+     * past their page have to be loaded again before they are saved. Sessions opened from a
+     * factory are already cleared when each page has been loaded, so there is nothing to
+     * detach.
+     */
+    @Override
+    public <T extends Entity> Stream<T> streamAll(Class<T> clazz, int pageSize) {
+
+        return Pages.stream((offset, limit) -> loadPage(clazz, offset, limit), pageSize, page -> {
+            if (sessions.sharesOneSession()) {
+                sessions.withSession(session -> {
+                    for (T entity : page) {
+                        session.detachNodeEntity(entity.getId());
+                    }
+                    return null;
+                });
+                logger.debug("released a page of {} {} entities.", page.size(), clazz.getSimpleName());
+            }
+        });
+    }
+
+    @Override
+    public boolean supportsAggregation() {
+
+        return true;
+    }
+
+    @Override
+    public <T extends Entity> long count(Class<T> clazz) {
+
+        return tracer.trace("count", trace -> sessions.withSession(session -> session.countEntitiesOfType(clazz)), clazz.getSimpleName());
+    }
+
+    @Override
+    public List<Rocket> rocketsByLaunchCount(int k) {
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("k", k);
+        return tracer.trace("rocketsByLaunchCount", trace -> sessions.withSession(session ->
+                loadInOrder(session, Rocket.class, ids(session.query(ROCKETS_BY_LAUNCH_COUNT, parameters).queryResults(), trace))), k);
+    }
+
+    @Override
+    public List<LaunchServiceProvider> providersBySuccessRatio(int k) {
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("k", k);
+        parameters.put("successful", Launch.LaunchOutcome.SUCCESSFUL.name());
+        return tracer.trace("providersBySuccessRatio", trace -> sessions.withSession(session ->
+                loadInOrder(session, LaunchServiceProvider.class, ids(session.query(PROVIDERS_BY_SUCCESS_RATIO, parameters).queryResults(), trace))), k);
+    }
+
+    /**
+     * Prices are stored as strings, so the launches are grouped in the database and
+     * each provider's prices are summed exactly here.
+     */
+    @Override
+    public List<LaunchServiceProvider> providersByRevenue(int k, int year) {
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("year", year + "-");
+
+        return tracer.trace("providersByRevenue", trace -> sessions.withSession(session -> {
+            Map<Long, BigDecimal> revenue = new HashMap<>();
+            List<Long> ids = new ArrayList<>();
+            for (Map<String, Object> row : session.query(PROVIDER_PRICES_IN_YEAR, parameters).queryResults()) {
+                BigDecimal total = BigDecimal.ZERO;
+                for (Object price : values(row.get("prices"))) {
+                    total = total.add(new BigDecimal(price.toString()));
+                    trace.scanned(1);
+                }
+                Long id = ((Number) row.get("id")).longValue();
+                revenue.put(id, total);
+                ids.add(id);
+            }
+
+            ids.sort(Comparator.comparing(revenue::get));
+            return loadInOrder(session, LaunchServiceProvider.class, ids.subList(0, Math.min(k, ids.size())));
+        }), k, year);
+    }
+
+    @Override
+    public List<String> countriesBySuccessfulLaunches(String orbit, int k) {
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("orbit", orbit);
+        parameters.put("k", k);
+        parameters.put("successful", Launch.LaunchOutcome.SUCCESSFUL.name());
+
+        return tracer.trace("countriesBySuccessfulLaunches", trace -> sessions.withSession(session -> {
+            List<String> countries = new ArrayList<>();
+            for (Map<String, Object> row : session.query(COUNTRIES_BY_SUCCESSFUL_LAUNCHES, parameters).queryResults()) {
+                countries.add((String) row.get("country"));
+            }
+            trace.scanned(countries.size());
+            return countries;
+        }), orbit, k);
+    }
+
+    /**
+     * Sorts and pages the launches in the database and loads only the launches of the
+     * page.
+     */
+    @Override
+    public List<Launch> launchesByDateDescending(int offset, int limit) {
+
+        Pages.checkPage(offset, limit);
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("offset", offset);
+        parameters.put("limit", limit);
+        return tracer.trace("launchesByDateDescending", trace -> sessions.withSession(session ->
+                loadInOrder(session, Launch.class, ids(session.query(LAUNCHES_BY_DATE_DESCENDING, parameters).queryResults(), trace))), offset, limit);
+    }
+
+    private static List<Long> ids(Iterable<Map<String, Object>> rows, QueryTrace trace) {
+
+        List<Long> ids = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            ids.add(((Number) row.get("id")).longValue());
+        }
+        trace.scanned(ids.size());
+        return ids;
+    }
+
+    private static Iterable<?> values(Object collected) {
+
+        return collected instanceof Object[] ? Arrays.asList((Object[]) collected) : (Iterable<?>) collected;
+    }
+
+    private <T extends Entity> List<T> loadInOrder(Session session, Class<T> clazz, List<Long> ids) {
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, T> loaded = new HashMap<>();
+        for (T entity : session.loadAll(clazz, ids, DEPTH_ENTITY)) {
+            loaded.put(entity.getId(), entity);
+        }
+        List<T> entities = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            entities.add(loaded.get(id));
+        }
+        return entities;
     }
 
     // TODO: need to be tested!
     public <T extends Entity> void delete(T entity) {
 
         notNull(entity, "entity cannot be null.");
-        isTrue(null != findExistingEntity(entity, entity.getClass()), "Cannot find the entity.");
 
-        //Transaction tx = session.beginTransaction();
-        session.delete(entity);
-        //tx.commit();
+        inTransaction(session -> {
+            Long id = findExistingId(session, entity);
+            isTrue(null != id, "Cannot find the entity.");
+            if (null == entity.getId()) {
+                entity.setId(id);
+            }
+            session.delete(entity);
+            return null;
+        });
+        version.incrementAndGet();
+        for (DAOListener listener : listeners) {
+            listener.entityDeleted(entity);
+        }
+    }
+
+    /**
+     * The entities of a batch to save, and the entities left out because they share a
+     * natural key with one of them.
+     */
+    private static final class ResolvedBatch<T extends Entity> {
+
+        private final List<T> toSave = new ArrayList<>();
+        private final Map<T, T> duplicates = new IdentityHashMap<>();
+        private int existing;
+
+        /**
+         * Gives every entity left out the id of the entity saved in its place.
+         */
+        private void shareIds() {
+
+            for (Map.Entry<T, T> duplicate : duplicates.entrySet()) {
+                duplicate.getKey().setId(duplicate.getValue().getId());
+            }
+        }
     }
 }
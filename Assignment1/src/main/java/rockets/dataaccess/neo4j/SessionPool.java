@@ -0,0 +1,83 @@
+package rockets.dataaccess.neo4j;
+
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Hands out OGM sessions, which are not thread-safe, one unit of work at a time.
+ * <p>
+ * A pool over a session factory opens at most {@code maximumSize} sessions and clears a
+ * session's mapping context when it is given back, so every unit of work starts from
+ * what is stored and sees no entities another thread left behind. A pool over a single
+ * session shares that session, one unit of work at a time, and keeps its mapping context.
+ * <p>
+ * A unit of work started while the thread is already in one joins it, so a DAO method may
+ * call another without waiting for a second session.
+ */
+final class SessionPool {
+
+    private final SessionFactory sessionFactory;
+    private final ConcurrentLinkedQueue<Session> idle = new ConcurrentLinkedQueue<>();
+    private final Semaphore available;
+    private final ThreadLocal<Session> current = new ThreadLocal<>();
+
+    SessionPool(SessionFactory sessionFactory, int maximumSize) {
+
+        notNull(sessionFactory, "sessionFactory cannot be null.");
+        isTrue(maximumSize > 0, "maximumSize must be greater than 0.");
+        this.sessionFactory = sessionFactory;
+        this.available = new Semaphore(maximumSize, true);
+    }
+
+    SessionPool(Session session) {
+
+        notNull(session, "session cannot be null.");
+        this.sessionFactory = null;
+        this.available = new Semaphore(1, true);
+        idle.add(session);
+    }
+
+    /**
+     * @return true if the pool shares a single session, whose mapping context is kept
+     * between units of work.
+     */
+    boolean sharesOneSession() {
+
+        return sessionFactory == null;
+    }
+
+    /**
+     * Runs the work with a session of its own, waiting for one if all are in use.
+     */
+    <R> R withSession(Function<Session, R> work) {
+
+        Session joined = current.get();
+        if (joined != null) {
+            return work.apply(joined);
+        }
+
+        available.acquireUninterruptibly();
+        Session session = idle.poll();
+        if (session == null) {
+            session = sessionFactory.openSession();
+        }
+        current.set(session);
+        try {
+            return work.apply(session);
+        } finally {
+            current.remove();
+            if (sessionFactory != null) {
+                session.clear();
+            }
+            idle.add(session);
+            available.release();
+        }
+    }
+}
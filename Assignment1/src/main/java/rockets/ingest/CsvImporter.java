@@ -0,0 +1,325 @@
+package rockets.ingest;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rockets.dataaccess.BulkInsertDAO;
+import rockets.dataaccess.DAO;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Imports providers, rockets and launches from CSV files with a header row.
+ * <p>
+ * The files have the columns
+ * <ul>
+ * <li>providers: name, yearFounded, country and optionally headquarters;</li>
+ * <li>rockets: name, country, manufacturer (a provider name) and optionally massToLEO,
+ * massToGTO and massToOther;</li>
+ * <li>launches: launchDate (ISO), launchVehicle (a rocket name), launchSite and
+ * optionally launchServiceProvider (a provider name, the vehicle's manufacturer if
+ * empty), orbit, function, price, launchOutcome and payload (items separated by ';').</li>
+ * </ul>
+ * Providers and rockets are written first and kept in memory by name, so launches are
+ * resolved without querying the database. Launches are then streamed: one thread parses
+ * the rows, one turns them into validated launches and the calling thread writes them
+ * with {@link BulkInsertDAO#insertLaunches} if the DAO supports it, or with
+ * {@link DAO#createOrUpdateAll} otherwise, each stage handing batches to the next through a
+ * bounded queue. At most {@code (2 * queueCapacity + 3) * batchSize} launch rows are in
+ * memory at any time. Invalid rows are skipped and listed in the {@link ImportReport}.
+ */
+public class CsvImporter {
+
+    private static Logger logger = LoggerFactory.getLogger(CsvImporter.class);
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreSurroundingSpaces();
+    private static final AtomicInteger IMPORTS = new AtomicInteger();
+
+    private final DAO dao;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final ImportProgress progress;
+    private final LaunchMapper launchMapper;
+
+    private CsvImporter(Builder builder) {
+
+        this.dao = builder.dao;
+        this.batchSize = builder.batchSize;
+        this.queueCapacity = builder.queueCapacity;
+        this.progress = builder.progress;
+        this.launchMapper = builder.launchMapper;
+    }
+
+    public static Builder builder(DAO dao) {
+
+        return new Builder(dao);
+    }
+
+    public ImportReport importFiles(Path providers, Path rockets, Path launches) throws IOException {
+
+        notNull(providers, "providers cannot be null.");
+        notNull(rockets, "rockets cannot be null.");
+        notNull(launches, "launches cannot be null.");
+
+        try (Reader providerRows = Files.newBufferedReader(providers, StandardCharsets.UTF_8);
+             Reader rocketRows = Files.newBufferedReader(rockets, StandardCharsets.UTF_8);
+             Reader launchRows = Files.newBufferedReader(launches, StandardCharsets.UTF_8)) {
+            return importAll(providerRows, rocketRows, launchRows);
+        }
+    }
+
+    public ImportReport importAll(Reader providers, Reader rockets, Reader launches) throws IOException {
+
+        notNull(providers, "providers cannot be null.");
+        notNull(rockets, "rockets cannot be null.");
+        notNull(launches, "launches cannot be null.");
+
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+
+        Map<String, LaunchServiceProvider> providersByName = new LinkedHashMap<>();
+        try (CSVParser parser = FORMAT.parse(providers)) {
+            for (CSVRecord record : parser) {
+                try {
+                    LaunchServiceProvider provider = RecordMapper.provider(record);
+                    isTrue(!providersByName.containsKey(provider.getName()), "duplicate provider '%s'.", provider.getName());
+                    providersByName.put(provider.getName(), provider);
+                } catch (IllegalArgumentException e) {
+                    report.reject("providers", record.getRecordNumber(), e.getMessage());
+                }
+            }
+        }
+        dao.createOrUpdateAll(providersByName.values());
+        report.providersWritten(providersByName.size());
+
+        Map<String, Rocket> rocketsByName = new LinkedHashMap<>();
+        try (CSVParser parser = FORMAT.parse(rockets)) {
+            for (CSVRecord record : parser) {
+                try {
+                    Rocket rocket = RecordMapper.rocket(record, providersByName);
+                    isTrue(!rocketsByName.containsKey(rocket.getName()), "duplicate rocket '%s'.", rocket.getName());
+                    rocketsByName.put(rocket.getName(), rocket);
+                } catch (IllegalArgumentException e) {
+                    report.reject("rockets", record.getRecordNumber(), e.getMessage());
+                }
+            }
+        }
+        dao.createOrUpdateAll(rocketsByName.values());
+        report.rocketsWritten(rocketsByName.size());
+        logger.info("imported {} providers and {} rockets.", providersByName.size(), rocketsByName.size());
+
+        importLaunches(launches, rocketsByName, providersByName, report, start);
+        report.finished(System.nanoTime() - start);
+        logger.info("{}.", report);
+        return report;
+    }
+
+    private void importLaunches(Reader launches, Map<String, Rocket> rockets, Map<String, LaunchServiceProvider> providers, ImportReport report, long start) throws IOException {
+
+        List<CSVRecord> endOfRecords = new ArrayList<>(0);
+        List<Launch> endOfLaunches = new ArrayList<>(0);
+        BlockingQueue<List<CSVRecord>> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<List<Launch>> validated = new ArrayBlockingQueue<>(queueCapacity);
+
+        int id = IMPORTS.incrementAndGet();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService stages = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "rockets-ingest-" + id + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // a stage interrupted by shutdownNow does not hand over its end marker, since nothing
+        // takes from its queue anymore and the put could block forever
+        Future<?> parsing = stages.submit(() -> {
+            boolean interrupted = false;
+            try (CSVParser parser = FORMAT.parse(launches)) {
+                List<CSVRecord> batch = new ArrayList<>(batchSize);
+                for (CSVRecord record : parser) {
+                    batch.add(record);
+                    if (batch.size() == batchSize) {
+                        parsed.put(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    parsed.put(batch);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (!interrupted) {
+                    parsed.put(endOfRecords);
+                }
+            }
+            return null;
+        });
+
+        Future<?> validating = stages.submit(() -> {
+            boolean interrupted = false;
+            try {
+                for (List<CSVRecord> records = parsed.take(); records != endOfRecords; records = parsed.take()) {
+                    List<Launch> batch = new ArrayList<>(records.size());
+                    for (CSVRecord record : records) {
+                        try {
+                            batch.add(launchMapper.launch(record, rockets, providers));
+                        } catch (IllegalArgumentException e) {
+                            report.reject("launches", record.getRecordNumber(), e.getMessage());
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        validated.put(batch);
+                    }
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                throw e;
+            } finally {
+                if (!interrupted) {
+                    validated.put(endOfLaunches);
+                }
+            }
+            return null;
+        });
+
+        boolean bulkInsert = dao instanceof BulkInsertDAO && ((BulkInsertDAO) dao).supportsBulkInsert();
+        try {
+            for (List<Launch> batch = validated.take(); batch != endOfLaunches; batch = validated.take()) {
+                if (bulkInsert) {
+                    ((BulkInsertDAO) dao).insertLaunches(batch);
+                } else {
+                    dao.createOrUpdateAll(batch);
+                }
+                report.launchesWritten(batch.size());
+                progress.launchesWritten(report.getLaunches(), System.nanoTime() - start);
+            }
+            // the validating stage first, since the parsing stage waits for it if it failed
+            validating.get();
+            parsing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The import was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("The import failed.", e.getCause());
+        } finally {
+            // stops the parsing and validating threads if the writes failed
+            stages.shutdownNow();
+        }
+    }
+
+    /**
+     * Logs the number of launches written and the throughput at info level.
+     */
+    static ImportProgress logging(long every) {
+
+        long[] next = {every};
+        return (launches, elapsedNanos) -> {
+            if (launches >= next[0]) {
+                next[0] = (launches / every + 1) * every;
+                logger.info("imported {} launches ({} launches/s).", launches, launches * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsedNanos));
+            }
+        };
+    }
+
+    /**
+     * Turns a launch row into a launch, throwing an {@link IllegalArgumentException} if the row
+     * is invalid.
+     */
+    interface LaunchMapper {
+
+        Launch launch(CSVRecord record, Map<String, Rocket> rockets, Map<String, LaunchServiceProvider> providers);
+    }
+
+    /**
+     * Configures the batch sizes and progress reporting of a {@link CsvImporter}.
+     */
+    public static class Builder {
+
+        private final DAO dao;
+        private int batchSize = 1000;
+        private int queueCapacity = 4;
+        private ImportProgress progress = logging(100_000);
+        private LaunchMapper launchMapper = RecordMapper::launch;
+
+        private Builder(DAO dao) {
+
+            notNull(dao, "dao cannot be null.");
+            this.dao = dao;
+        }
+
+        /**
+         * Sets the number of launches parsed, validated and written together.
+         */
+        public Builder batchSize(int batchSize) {
+
+            isTrue(batchSize > 0, "batchSize must be greater than 0.");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of batches a stage may get ahead of the next one.
+         */
+        public Builder queueCapacity(int queueCapacity) {
+
+            isTrue(queueCapacity > 0, "queueCapacity must be greater than 0.");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Replaces the default progress reporting, which logs every 100000 launches.
+         */
+        public Builder progress(ImportProgress progress) {
+
+            notNull(progress, "progress cannot be null.");
+            this.progress = progress;
+            return this;
+        }
+
+        /**
+         * Replaces the mapping of launch rows, for tests.
+         */
+        Builder launchMapper(LaunchMapper launchMapper) {
+
+            notNull(launchMapper, "launchMapper cannot be null.");
+            this.launchMapper = launchMapper;
+            return this;
+        }
+
+        public CsvImporter build() {
+
+            return new CsvImporter(this);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package rockets.ingest;
+
+/**
+ * Receives the progress of a launch import after every written batch.
+ */
+@FunctionalInterface
+public interface ImportProgress {
+
+    /**
+     * @param launches     the number of launches written so far.
+     * @param elapsedNanos the time since the import started.
+     */
+    void launchesWritten(long launches, long elapsedNanos);
+}
@@ -0,0 +1,98 @@
+package rockets.ingest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of an import: what was written, which rows were rejected and why, and how
+ * long it took.
+ */
+public class ImportReport {
+
+    static final int MAX_REJECTIONS_KEPT = 100;
+
+    private int providers;
+    private int rockets;
+    private long launches;
+    private long rejected;
+    private final List<String> rejections = new ArrayList<>();
+    private long elapsedNanos;
+
+    void providersWritten(int providers) {
+
+        this.providers = providers;
+    }
+
+    void rocketsWritten(int rockets) {
+
+        this.rockets = rockets;
+    }
+
+    void launchesWritten(long launches) {
+
+        this.launches += launches;
+    }
+
+    synchronized void reject(String file, long line, String reason) {
+
+        rejected++;
+        if (rejections.size() < MAX_REJECTIONS_KEPT) {
+            rejections.add(file + " line " + line + ": " + reason);
+        }
+    }
+
+    void finished(long elapsedNanos) {
+
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getProviders() {
+
+        return providers;
+    }
+
+    public int getRockets() {
+
+        return rockets;
+    }
+
+    public long getLaunches() {
+
+        return launches;
+    }
+
+    /**
+     * @return the number of rows that were not imported.
+     */
+    public synchronized long getRejected() {
+
+        return rejected;
+    }
+
+    /**
+     * @return the reasons of the first {@value #MAX_REJECTIONS_KEPT} rejected rows.
+     */
+    public synchronized List<String> getRejections() {
+
+        return Collections.unmodifiableList(new ArrayList<>(rejections));
+    }
+
+    public long getElapsedNanos() {
+
+        return elapsedNanos;
+    }
+
+    public double getLaunchesPerSecond() {
+
+        return elapsedNanos == 0 ? 0 : launches * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format("imported %d providers, %d rockets and %d launches in %d ms (%.0f launches/s), rejected %d rows",
+                providers, rockets, launches, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getLaunchesPerSecond(), getRejected());
+    }
+}
@@ -0,0 +1,152 @@
+package rockets.ingest;
+
+import org.apache.commons.csv.CSVRecord;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * Turns CSV rows into entities. Rows are validated by the model constructors and by the
+ * checks here; an invalid row throws an {@link IllegalArgumentException} whose message
+ * says why.
+ * <p>
+ * Rockets name their manufacturer and launches their vehicle and provider by name; the
+ * names are resolved through the entities imported before them.
+ */
+final class RecordMapper {
+
+    private RecordMapper() {
+    }
+
+    static LaunchServiceProvider provider(CSVRecord record) {
+
+        LaunchServiceProvider provider = new LaunchServiceProvider(required(record, "name"), integer(record, "yearFounded"), required(record, "country"));
+        String headquarters = optional(record, "headquarters");
+        if (headquarters != null) {
+            provider.setHeadquarters(headquarters);
+        }
+        return provider;
+    }
+
+    static Rocket rocket(CSVRecord record, Map<String, LaunchServiceProvider> providers) {
+
+        String manufacturer = required(record, "manufacturer");
+        LaunchServiceProvider provider = providers.get(manufacturer);
+        isTrue(provider != null, "unknown manufacturer '%s'.", manufacturer);
+
+        Rocket rocket = new Rocket(required(record, "name"), required(record, "country"), provider);
+        String massToLEO = optional(record, "massToLEO");
+        if (massToLEO != null) {
+            rocket.setMassToLEO(massToLEO);
+        }
+        String massToGTO = optional(record, "massToGTO");
+        if (massToGTO != null) {
+            rocket.setMassToGTO(massToGTO);
+        }
+        String massToOther = optional(record, "massToOther");
+        if (massToOther != null) {
+            rocket.setMassToOther(massToOther);
+        }
+        return rocket;
+    }
+
+    static Launch launch(CSVRecord record, Map<String, Rocket> rockets, Map<String, LaunchServiceProvider> providers) {
+
+        String vehicle = required(record, "launchVehicle");
+        Rocket rocket = rockets.get(vehicle);
+        isTrue(rocket != null, "unknown launch vehicle '%s'.", vehicle);
+
+        String providerName = optional(record, "launchServiceProvider");
+        LaunchServiceProvider provider = providerName == null ? rocket.getManufacturer() : providers.get(providerName);
+        isTrue(provider != null, "unknown launch service provider '%s'.", providerName);
+
+        Launch launch = new Launch();
+        launch.setLaunchDate(date(record, "launchDate"));
+        launch.setLaunchVehicle(rocket);
+        launch.setLaunchServiceProvider(provider);
+        launch.setLaunchSite(required(record, "launchSite"));
+        launch.setOrbit(optional(record, "orbit"));
+        launch.setFunction(optional(record, "function"));
+        String price = optional(record, "price");
+        launch.setPrice(price == null ? null : decimal("price", price));
+        String outcome = optional(record, "launchOutcome");
+        launch.setLaunchOutcome(outcome == null ? null : outcome(outcome));
+        String payload = optional(record, "payload");
+        if (payload != null) {
+            Set<String> items = new LinkedHashSet<>();
+            for (String item : payload.split(";")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+            launch.setPayload(items);
+        }
+        return launch;
+    }
+
+    private static String required(CSVRecord record, String column) {
+
+        String value = optional(record, column);
+        isTrue(value != null, "%s cannot be empty.", column);
+        return value;
+    }
+
+    /**
+     * @return the value of the column, or null if the column is missing or empty.
+     */
+    private static String optional(CSVRecord record, String column) {
+
+        if (!record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int integer(CSVRecord record, String column) {
+
+        String value = required(record, column);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a whole number: '" + value + "'.");
+        }
+    }
+
+    private static LocalDate date(CSVRecord record, String column) {
+
+        String value = required(record, column);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " must be an ISO date: '" + value + "'.");
+        }
+    }
+
+    private static BigDecimal decimal(String column, String value) {
+
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a decimal number: '" + value + "'.");
+        }
+    }
+
+    private static Launch.LaunchOutcome outcome(String value) {
+
+        try {
+            return Launch.LaunchOutcome.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("launchOutcome must be FAILED or SUCCESSFUL: '" + value + "'.");
+        }
+    }
+}
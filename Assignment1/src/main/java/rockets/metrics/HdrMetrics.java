@@ -0,0 +1,219 @@
+package rockets.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static org.apache.commons.lang3.Validate.inclusiveBetween;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Keeps the metrics of every operation in memory, with the latencies in an HDR
+ * histogram.
+ * <p>
+ * Calls are recorded without locking: the latency goes to a {@link Recorder}, whose
+ * recorded values are moved to the operation's histogram when a snapshot is taken, and
+ * the rows, errors and allocated bytes are summed in {@link LongAdder}s. Measuring the
+ * bytes allocated by a call reads the thread's allocation counter twice, which costs
+ * more than the rest of the recording, so it is off unless enabled with
+ * {@link Builder#measureAllocations()}.
+ */
+public class HdrMetrics implements Metrics {
+
+    private static Logger logger = LoggerFactory.getLogger(HdrMetrics.class);
+
+    private static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+    private final int significantDigits;
+    private final com.sun.management.ThreadMXBean allocations;
+    private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public HdrMetrics() {
+
+        this(builder());
+    }
+
+    private HdrMetrics(Builder builder) {
+
+        this.significantDigits = builder.significantDigits;
+        this.allocations = builder.measureAllocations ? allocationCounter() : null;
+    }
+
+    public static Builder builder() {
+
+        return new Builder();
+    }
+
+    @Override
+    public OperationMetrics operation(String name) {
+
+        Operation operation = operations.get(name);
+        if (operation == null) {
+            notNull(name, "name cannot be null.");
+            operation = operations.computeIfAbsent(name, n -> new Operation(n, significantDigits, allocations));
+        }
+        return operation;
+    }
+
+    /**
+     * @return the operations that were looked up, by name in alphabetical order.
+     */
+    @Override
+    public Map<String, OperationSnapshot> snapshot() {
+
+        Map<String, OperationSnapshot> snapshot = new TreeMap<>();
+        for (Operation operation : operations.values()) {
+            snapshot.put(operation.name, operation.snapshot());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Discards everything recorded so far. Calls that are recorded while the metrics are
+     * reset may be kept in part.
+     */
+    @Override
+    public void reset() {
+
+        for (Operation operation : operations.values()) {
+            operation.reset();
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+            if (counter.isThreadAllocatedMemorySupported()) {
+                counter.setThreadAllocatedMemoryEnabled(true);
+                return counter;
+            }
+        }
+        logger.warn("the JVM cannot measure the bytes allocated by a thread; allocations are recorded as 0.");
+        return null;
+    }
+
+    private static final class Operation implements OperationMetrics {
+
+        private final String name;
+        private final com.sun.management.ThreadMXBean allocations;
+        private final Recorder recorder;
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        // the latencies moved out of the recorder by earlier snapshots, guarded by this
+        private final Histogram latencies;
+        private Histogram interval;
+
+        private Operation(String name, int significantDigits, com.sun.management.ThreadMXBean allocations) {
+
+            this.name = name;
+            this.allocations = allocations;
+            this.recorder = new Recorder(significantDigits);
+            this.latencies = new Histogram(significantDigits);
+        }
+
+        @Override
+        public <R> R measure(Supplier<R> call, ToLongFunction<? super R> rowCounter) {
+
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            R result;
+            try {
+                result = call.get();
+            } catch (RuntimeException | Error e) {
+                record(System.nanoTime() - start, 0, allocatedBytes() - allocatedBefore, true);
+                throw e;
+            }
+            long elapsed = System.nanoTime() - start;
+            record(elapsed, rowCounter.applyAsLong(result), allocatedBytes() - allocatedBefore, false);
+            return result;
+        }
+
+        @Override
+        public void record(long elapsedNanos, long rowCount, long allocated, boolean failed) {
+
+            recorder.recordValue(Math.max(elapsedNanos, 0));
+            if (rowCount != 0) {
+                rows.add(rowCount);
+            }
+            if (allocated != 0) {
+                allocatedBytes.add(allocated);
+            }
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        private long allocatedBytes() {
+
+            return allocations == null ? 0 : allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        private synchronized OperationSnapshot snapshot() {
+
+            interval = recorder.getIntervalHistogram(interval);
+            latencies.add(interval);
+            return new OperationSnapshot(name, latencies.copy(), errors.sum(), rows.sum(), allocatedBytes.sum());
+        }
+
+        private synchronized void reset() {
+
+            interval = recorder.getIntervalHistogram(interval);
+            latencies.reset();
+            errors.reset();
+            rows.reset();
+            allocatedBytes.reset();
+        }
+    }
+
+    /**
+     * Configures the precision of {@link HdrMetrics} and what they measure.
+     */
+    public static class Builder {
+
+        private int significantDigits = DEFAULT_SIGNIFICANT_DIGITS;
+        private boolean measureAllocations;
+
+        private Builder() {
+        }
+
+        /**
+         * Keeps latencies to the given number of significant decimal digits; 2 keeps them
+         * within 1%, 3 within 0.1% at about ten times the memory per operation.
+         */
+        public Builder significantDigits(int significantDigits) {
+
+            inclusiveBetween(1, 5, significantDigits, "significantDigits must be between 1 and 5.");
+            this.significantDigits = significantDigits;
+            return this;
+        }
+
+        /**
+         * Records the bytes the calling thread allocates during each call.
+         */
+        public Builder measureAllocations() {
+
+            this.measureAllocations = true;
+            return this;
+        }
+
+        public HdrMetrics build() {
+
+            return new HdrMetrics(this);
+        }
+    }
+}
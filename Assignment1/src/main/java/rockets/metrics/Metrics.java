@@ -0,0 +1,52 @@
+package rockets.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Records the latency, rows, allocated bytes and errors of named operations, such as the
+ * DAO methods and the mining queries.
+ * <p>
+ * Callers look an operation up once and record every call of it through the returned
+ * {@link OperationMetrics}. {@link #NOOP} records nothing and is the default wherever
+ * metrics can be configured; {@link HdrMetrics} keeps latency histograms in memory.
+ */
+public interface Metrics {
+
+    /**
+     * Metrics that record nothing.
+     */
+    Metrics NOOP = new Metrics() {
+
+        @Override
+        public OperationMetrics operation(String name) {
+
+            return OperationMetrics.NOOP;
+        }
+
+        @Override
+        public Map<String, OperationSnapshot> snapshot() {
+
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public void reset() {
+        }
+    };
+
+    /**
+     * @return the metrics of the operation with the name, the same ones every time.
+     */
+    OperationMetrics operation(String name);
+
+    /**
+     * @return what has been recorded since the last reset, by operation name.
+     */
+    Map<String, OperationSnapshot> snapshot();
+
+    /**
+     * Discards everything recorded so far. Operations that were looked up keep recording.
+     */
+    void reset();
+}
@@ -0,0 +1,60 @@
+package rockets.metrics;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Records the calls of one operation.
+ */
+public interface OperationMetrics {
+
+    /**
+     * Metrics of an operation that record nothing.
+     */
+    OperationMetrics NOOP = new OperationMetrics() {
+
+        @Override
+        public <R> R measure(Supplier<R> call, ToLongFunction<? super R> rows) {
+
+            return call.get();
+        }
+
+        @Override
+        public void record(long elapsedNanos, long rows, long allocatedBytes, boolean failed) {
+        }
+    };
+
+    /**
+     * Makes the call and records its latency, the rows the function counts in its result
+     * and, if measured, the bytes the thread allocated during the call. A call that
+     * throws is recorded as an error and the exception is rethrown.
+     *
+     * @return the result of the call.
+     */
+    <R> R measure(Supplier<R> call, ToLongFunction<? super R> rows);
+
+    /**
+     * Records a call that was measured by the caller.
+     */
+    void record(long elapsedNanos, long rows, long allocatedBytes, boolean failed);
+
+    /**
+     * @return the number of elements of a collection or map, 0 for null and 1 for any
+     * other result.
+     */
+    static long rowsOf(Object result) {
+
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        return 1;
+    }
+}
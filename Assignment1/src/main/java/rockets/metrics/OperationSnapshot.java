@@ -0,0 +1,109 @@
+package rockets.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What was recorded for one operation between a reset and a snapshot. Latencies are in
+ * nanoseconds; percentiles are exact to the precision of the histogram they were
+ * recorded in.
+ */
+public class OperationSnapshot {
+
+    private final String name;
+    private final Histogram latencies;
+    private final long errors;
+    private final long rows;
+    private final long allocatedBytes;
+
+    OperationSnapshot(String name, Histogram latencies, long errors, long rows, long allocatedBytes) {
+
+        this.name = name;
+        this.latencies = latencies;
+        this.errors = errors;
+        this.rows = rows;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * @return the number of calls, including those that failed.
+     */
+    public long getCount() {
+
+        return latencies.getTotalCount();
+    }
+
+    public long getErrors() {
+
+        return errors;
+    }
+
+    public long getRows() {
+
+        return rows;
+    }
+
+    /**
+     * @return the bytes allocated by the calling threads during the calls, or 0 if
+     * allocations were not measured.
+     */
+    public long getAllocatedBytes() {
+
+        return allocatedBytes;
+    }
+
+    /**
+     * @return the latency that the given percentage of the calls did not exceed, or 0 if
+     * there was no call.
+     */
+    public long getLatencyAtPercentile(double percentile) {
+
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    public long getP50() {
+
+        return getLatencyAtPercentile(50);
+    }
+
+    public long getP99() {
+
+        return getLatencyAtPercentile(99);
+    }
+
+    public long getP999() {
+
+        return getLatencyAtPercentile(99.9);
+    }
+
+    public long getMaxLatency() {
+
+        return latencies.getTotalCount() == 0 ? 0 : latencies.getMaxValue();
+    }
+
+    public double getMeanLatency() {
+
+        return latencies.getTotalCount() == 0 ? 0 : latencies.getMean();
+    }
+
+    @Override
+    public String toString() {
+
+        return "OperationSnapshot{" +
+                "name='" + name + '\'' +
+                ", count=" + getCount() +
+                ", errors=" + errors +
+                ", rows=" + rows +
+                ", allocatedBytes=" + allocatedBytes +
+                ", p50Micros=" + TimeUnit.NANOSECONDS.toMicros(getP50()) +
+                ", p99Micros=" + TimeUnit.NANOSECONDS.toMicros(getP99()) +
+                ", p999Micros=" + TimeUnit.NANOSECONDS.toMicros(getP999()) +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package rockets.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The trace of one call of a query: its name and arguments, the rows it returned and
+ * scanned, and how long it took. Calls that are not sampled share a trace that records
+ * nothing, so code answering a query can report to its trace unconditionally.
+ */
+public final class QueryTrace {
+
+    static final QueryTrace UNSAMPLED = new QueryTrace(null, null, null, 0);
+
+    private final QueryTracer tracer;
+    private final String query;
+    private final Object[] arguments;
+    private final long start;
+    private long scanned;
+    private long rows;
+    private long elapsedNanos;
+    private Throwable failure;
+
+    QueryTrace(QueryTracer tracer, String query, Object[] arguments, long start) {
+
+        this.tracer = tracer;
+        this.query = query;
+        this.arguments = arguments;
+        this.start = start;
+    }
+
+    public boolean isSampled() {
+
+        return tracer != null;
+    }
+
+    /**
+     * Adds to the number of rows the query read to answer the call.
+     */
+    public void scanned(long rows) {
+
+        if (tracer != null) {
+            scanned += rows;
+        }
+    }
+
+    void finish(Object result) {
+
+        if (tracer != null) {
+            elapsedNanos = System.nanoTime() - start;
+            rows = OperationMetrics.rowsOf(result);
+            tracer.publish(this);
+        }
+    }
+
+    void fail(Throwable e) {
+
+        if (tracer != null) {
+            elapsedNanos = System.nanoTime() - start;
+            failure = e;
+            tracer.publish(this);
+        }
+    }
+
+    public String getQuery() {
+
+        return query;
+    }
+
+    public List<Object> getArguments() {
+
+        return arguments == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(arguments));
+    }
+
+    /**
+     * @return the rows the query read to answer the call, which are 0 for a call
+     * answered from a cache, from views or in the database.
+     */
+    public long getScanned() {
+
+        return scanned;
+    }
+
+    /**
+     * @return the rows of the result: the elements of a collection, 0 for null and 1 for
+     * any other result.
+     */
+    public long getRows() {
+
+        return rows;
+    }
+
+    public long getElapsedNanos() {
+
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the exception the call threw, or null if it returned.
+     */
+    public Throwable getFailure() {
+
+        return failure;
+    }
+}
@@ -0,0 +1,192 @@
+package rockets.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.apache.commons.lang3.Validate.inclusiveBetween;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Traces a sample of the calls of queries.
+ * <p>
+ * Each sampled call is published once it returns or throws, by default as one
+ * parameterized log line of {@code key=value} fields:
+ * <pre>
+ * query=mostLaunchedRockets arguments=[10] rows=10 scanned=120000 elapsedMicros=5120
+ * </pre>
+ * Whether a call is sampled is decided when it starts, so a call that is not sampled
+ * costs a level check and a random draw, and nothing is formatted for it. A tracer
+ * whose level is disabled in the logging configuration samples nothing.
+ */
+public class QueryTracer {
+
+    private final Logger logger;
+    private final Level level;
+    private final double sampleRate;
+    private final Consumer<? super QueryTrace> sink;
+
+    private QueryTracer(Builder builder) {
+
+        this.logger = builder.logger;
+        this.level = builder.level;
+        this.sampleRate = builder.sampleRate;
+        this.sink = builder.sink;
+    }
+
+    /**
+     * @return a builder of a tracer that logs to the logger of the class.
+     */
+    public static Builder builder(Class<?> owner) {
+
+        return new Builder(owner);
+    }
+
+    /**
+     * Starts the trace of a call of the query.
+     *
+     * @return the trace, which records nothing if the call is not sampled.
+     */
+    public QueryTrace start(String query, Object... arguments) {
+
+        if (!sampled()) {
+            return QueryTrace.UNSAMPLED;
+        }
+        return new QueryTrace(this, query, arguments, System.nanoTime());
+    }
+
+    /**
+     * Makes the call and publishes its trace if it is sampled, also when it throws.
+     *
+     * @return the result of the call.
+     */
+    public <R> R trace(String query, Function<QueryTrace, R> call, Object... arguments) {
+
+        QueryTrace trace = start(query, arguments);
+        R result;
+        try {
+            result = call.apply(trace);
+        } catch (RuntimeException | Error e) {
+            trace.fail(e);
+            throw e;
+        }
+        trace.finish(result);
+        return result;
+    }
+
+    private boolean sampled() {
+
+        if (sampleRate <= 0 || (sink == null && !isLevelEnabled())) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    void publish(QueryTrace trace) {
+
+        if (sink != null) {
+            sink.accept(trace);
+            return;
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(trace.getElapsedNanos());
+        if (trace.getFailure() == null) {
+            log("query={} arguments={} rows={} scanned={} elapsedMicros={}",
+                    trace.getQuery(), trace.getArguments(), trace.getRows(), trace.getScanned(), elapsedMicros);
+        } else {
+            log("query={} arguments={} failed={} scanned={} elapsedMicros={}",
+                    trace.getQuery(), trace.getArguments(), trace.getFailure(), trace.getScanned(), elapsedMicros);
+        }
+    }
+
+    private boolean isLevelEnabled() {
+
+        switch (level) {
+            case ERROR:
+                return logger.isErrorEnabled();
+            case WARN:
+                return logger.isWarnEnabled();
+            case INFO:
+                return logger.isInfoEnabled();
+            case DEBUG:
+                return logger.isDebugEnabled();
+            default:
+                return logger.isTraceEnabled();
+        }
+    }
+
+    private void log(String format, Object... fields) {
+
+        switch (level) {
+            case ERROR:
+                logger.error(format, fields);
+                break;
+            case WARN:
+                logger.warn(format, fields);
+                break;
+            case INFO:
+                logger.info(format, fields);
+                break;
+            case DEBUG:
+                logger.debug(format, fields);
+                break;
+            default:
+                logger.trace(format, fields);
+        }
+    }
+
+    /**
+     * Configures the level and sample rate of a {@link QueryTracer}.
+     */
+    public static class Builder {
+
+        private final Logger logger;
+        private Level level = Level.INFO;
+        private double sampleRate = 1;
+        private Consumer<? super QueryTrace> sink;
+
+        private Builder(Class<?> owner) {
+
+            notNull(owner, "owner cannot be null.");
+            this.logger = LoggerFactory.getLogger(owner);
+        }
+
+        public Builder level(Level level) {
+
+            notNull(level, "level cannot be null.");
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Traces the given fraction of the calls, chosen at random: 1 traces every call
+         * and 0 none.
+         */
+        public Builder sampleRate(double sampleRate) {
+
+            inclusiveBetween(0, 1, sampleRate, "sampleRate must be between 0 and 1.");
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Hands the sampled traces to the sink instead of logging them, e.g. to export
+         * them to a tracing system.
+         */
+        public Builder sink(Consumer<? super QueryTrace> sink) {
+
+            notNull(sink, "sink cannot be null.");
+            this.sink = sink;
+            return this;
+        }
+
+        public QueryTracer build() {
+
+            return new QueryTracer(this);
+        }
+    }
+}
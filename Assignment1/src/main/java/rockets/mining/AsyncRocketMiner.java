@@ -0,0 +1,90 @@
+package rockets.mining;
+
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Runs the queries of a {@link RocketMiner} on an executor, so independent queries run in
+ * parallel and can be composed with the {@link CompletableFuture} combinators.
+ * <p>
+ * Arguments are checked on the calling thread, so an invalid query throws immediately
+ * instead of returning a failed future. The miner's DAO must be safe to call from the
+ * executor's threads at once.
+ */
+public class AsyncRocketMiner {
+
+    private final RocketMiner miner;
+    private final Executor executor;
+
+    public AsyncRocketMiner(RocketMiner miner, Executor executor) {
+
+        notNull(miner, "miner cannot be null.");
+        notNull(executor, "executor cannot be null.");
+        this.miner = miner;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<List<Rocket>> mostLaunchedRockets(int k) {
+
+        MiningArguments.checkK(k);
+        return submit(() -> miner.mostLaunchedRockets(k));
+    }
+
+    public CompletableFuture<List<LaunchServiceProvider>> mostReliableLaunchServiceProviders(int k) {
+
+        MiningArguments.checkK(k);
+        return submit(() -> miner.mostReliableLaunchServiceProviders(k));
+    }
+
+    public CompletableFuture<List<LaunchServiceProvider>> mostReliableLaunchServiceProviders(int k, ReliabilityRanking ranking) {
+
+        MiningArguments.checkK(k);
+        MiningArguments.checkRanking(ranking);
+        return submit(() -> miner.mostReliableLaunchServiceProviders(k, ranking));
+    }
+
+    public CompletableFuture<List<Launch>> mostRecentLaunches(int k) {
+
+        MiningArguments.checkK(k);
+        return submit(() -> miner.mostRecentLaunches(k));
+    }
+
+    public CompletableFuture<List<Launch>> launchesBetween(LocalDate from, LocalDate to) {
+
+        MiningArguments.checkRange(from, to);
+        return submit(() -> miner.launchesBetween(from, to));
+    }
+
+    public CompletableFuture<String> dominantCountry(String orbit) {
+
+        MiningArguments.checkOrbit(orbit);
+        return submit(() -> miner.dominantCountry(orbit));
+    }
+
+    public CompletableFuture<List<Launch>> mostExpensiveLaunches(int k) {
+
+        MiningArguments.checkK(k);
+        return submit(() -> miner.mostExpensiveLaunches(k));
+    }
+
+    public CompletableFuture<List<LaunchServiceProvider>> highestRevenueLaunchServiceProviders(int k, int year) {
+
+        MiningArguments.checkK(k);
+        MiningArguments.checkYear(year);
+        return submit(() -> miner.highestRevenueLaunchServiceProviders(k, year));
+    }
+
+    private <R> CompletableFuture<R> submit(Supplier<R> query) {
+
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+}
@@ -0,0 +1,233 @@
+package rockets.mining;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Variants of the {@link RocketMiner} aggregations that run over a {@link LaunchColumnStore}.
+ * <p>
+ * Each query is a tight loop over a few primitive columns that counts into arrays indexed
+ * by dictionary id, followed by a bounded top-k selection over the distinct ids. Ties are
+ * broken by the row in which a key was first counted, as in the scanning miner.
+ */
+public class ColumnarRocketMiner {
+
+    private static Logger logger = LoggerFactory.getLogger(ColumnarRocketMiner.class);
+    private final LaunchColumnStore store;
+
+    public ColumnarRocketMiner(LaunchColumnStore store) {
+
+        notNull(store, "store cannot be null.");
+        this.store = store;
+    }
+
+    /**
+     * Returns the top-k most active rockets, as measured by number of completed launches.
+     */
+    public List<Rocket> mostLaunchedRockets(int k) {
+
+        MiningArguments.checkK(k);
+
+        logger.info("find most active {} rockets in columns.", k);
+        byte[] outcomes = store.outcomes();
+        int[] rocketIds = store.rocketIds();
+        Tally tally = new Tally(store.rockets().size());
+
+        for (int row = 0; row < store.size(); row++) {
+            if (outcomes[row] != LaunchColumnStore.NO_OUTCOME) {
+                tally.count(rocketIds[row], row);
+            }
+        }
+
+        if (tally.isEmpty()) {
+            return null;
+        }
+        return decode(tally.top(k, tally.byCountDescending()), store.rockets());
+    }
+
+    /**
+     * Returns the top-k most reliable launch service providers.
+     */
+    public List<LaunchServiceProvider> mostReliableLaunchServiceProviders(int k) {
+
+        MiningArguments.checkK(k);
+
+        logger.info("find most reliable {} launch service providers in columns.", k);
+        byte[] outcomes = store.outcomes();
+        int[] providerIds = store.providerIds();
+        Tally tally = new Tally(store.providers().size());
+        int[] successes = new int[store.providers().size() + 1];
+
+        for (int row = 0; row < store.size(); row++) {
+            if (outcomes[row] != LaunchColumnStore.NO_OUTCOME) {
+                tally.count(providerIds[row], row);
+                if (outcomes[row] == LaunchColumnStore.SUCCESSFUL) {
+                    successes[providerIds[row] + 1]++;
+                }
+            }
+        }
+
+        if (tally.isEmpty()) {
+            return null;
+        }
+        Comparator<Integer> byRatio = (a, b) -> ReliabilityRanking.SUCCESS_RATIO.compare(successes[a + 1], tally.counts[a + 1], successes[b + 1], tally.counts[b + 1]);
+        return decode(tally.top(k, byRatio), store.providers());
+    }
+
+    /**
+     * Returns the country with the most successful launches to the orbit.
+     */
+    public String dominantCountry(String orbit) {
+
+        MiningArguments.checkOrbit(orbit);
+
+        logger.info("find the dominant country who has the most launched rockets in {} in columns.", orbit);
+        if (store.size() == 0) {
+            return null;
+        }
+
+        int orbitId = store.orbits().idOf(orbit);
+        byte[] outcomes = store.outcomes();
+        int[] orbitIds = store.orbitIds();
+        int[] countryIds = store.countryIds();
+        Tally tally = new Tally(store.countries().size());
+
+        if (orbitId != Dictionary.NONE) {
+            for (int row = 0; row < store.size(); row++) {
+                if (orbitIds[row] == orbitId && outcomes[row] == LaunchColumnStore.SUCCESSFUL) {
+                    tally.count(countryIds[row], row);
+                }
+            }
+        }
+
+        if (tally.isEmpty()) {
+            return "Cannot find any country.";
+        }
+        return store.countries().decode(tally.top(1, tally.byCountDescending()).get(0));
+    }
+
+    /**
+     * Returns k launch service providers ranked by their sales revenue in a year.
+     */
+    public List<LaunchServiceProvider> highestRevenueLaunchServiceProviders(int k, int year) {
+
+        MiningArguments.checkK(k);
+        MiningArguments.checkYear(year);
+
+        logger.info("find the top {} highest sales revenue in {} in columns.", k, year);
+        int from = (int) LocalDate.of(year, 1, 1).toEpochDay();
+        int to = (int) LocalDate.of(year + 1, 1, 1).toEpochDay();
+        int[] launchDays = store.launchDays();
+        long[] prices = store.prices();
+        int[] providerIds = store.providerIds();
+        Tally tally = new Tally(store.providers().size());
+        long[] revenue = new long[store.providers().size() + 1];
+        // the revenue once the year is summed with BigDecimal
+        BigDecimal[] exactRevenue = null;
+
+        for (int row = 0; row < store.size(); row++) {
+            if (prices[row] != LaunchColumnStore.NO_PRICE && launchDays[row] >= from && launchDays[row] < to) {
+                int slot = providerIds[row] + 1;
+                tally.count(providerIds[row], row);
+                if (exactRevenue == null && prices[row] != LaunchColumnStore.EXACT_PRICE) {
+                    try {
+                        revenue[slot] = Math.addExact(revenue[slot], prices[row]);
+                        continue;
+                    } catch (ArithmeticException e) {
+                        // a sum left the long range, so the year is summed with BigDecimal from here on
+                    }
+                }
+                if (exactRevenue == null) {
+                    exactRevenue = toBigDecimals(revenue, store.priceScale());
+                }
+                exactRevenue[slot] = exactRevenue[slot].add(store.price(row));
+            }
+        }
+
+        if (tally.isEmpty()) {
+            return null;
+        }
+        BigDecimal[] exact = exactRevenue;
+        Comparator<Integer> byRevenue = exact == null ? Comparator.comparingLong(id -> revenue[id + 1]) : Comparator.comparing(id -> exact[id + 1]);
+        return decode(tally.top(k, byRevenue), store.providers());
+    }
+
+    private static BigDecimal[] toBigDecimals(long[] unscaled, int scale) {
+
+        BigDecimal[] result = new BigDecimal[unscaled.length];
+        for (int i = 0; i < unscaled.length; i++) {
+            result[i] = BigDecimal.valueOf(unscaled[i], scale);
+        }
+        return result;
+    }
+
+    private static <T> List<T> decode(List<Integer> ids, Dictionary<T> dictionary) {
+
+        List<T> result = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            result.add(dictionary.decode(id));
+        }
+        return result;
+    }
+
+    /**
+     * Per-id counts and first-counted rows, indexed by id + 1 so that
+     * {@link Dictionary#NONE} has a slot.
+     */
+    private static final class Tally {
+
+        private final int[] counts;
+        private final int[] firstRows;
+        private int distinct;
+
+        private Tally(int ids) {
+
+            counts = new int[ids + 1];
+            firstRows = new int[ids + 1];
+            Arrays.fill(firstRows, Integer.MAX_VALUE);
+        }
+
+        private void count(int id, int row) {
+
+            if (counts[id + 1]++ == 0) {
+                firstRows[id + 1] = row;
+                distinct++;
+            }
+        }
+
+        private boolean isEmpty() {
+
+            return distinct == 0;
+        }
+
+        private Comparator<Integer> byCountDescending() {
+
+            return (a, b) -> Integer.compare(counts[b + 1], counts[a + 1]);
+        }
+
+        /**
+         * @return the k best counted ids under the order, ties by first-counted row.
+         */
+        private List<Integer> top(int k, Comparator<Integer> order) {
+
+            TopK<Integer> topK = new TopK<>(k, order.thenComparingInt(id -> firstRows[id + 1]));
+            for (int id = Dictionary.NONE; id < counts.length - 1; id++) {
+                if (counts[id + 1] > 0) {
+                    topK.offer(id);
+                }
+            }
+            return topK.toList();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package rockets.mining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes values as dense int ids, assigned in first-seen order. Null is encoded as
+ * {@link #NONE}.
+ */
+public class Dictionary<T> {
+
+    public static final int NONE = -1;
+
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+
+    public int encode(T value) {
+
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    /**
+     * @return the id of the value, or {@link #NONE} if it was never encoded.
+     */
+    public int idOf(T value) {
+
+        Integer id = value == null ? null : ids.get(value);
+        return id == null ? NONE : id;
+    }
+
+    public T decode(int id) {
+
+        return id == NONE ? null : values.get(id);
+    }
+
+    public int size() {
+
+        return values.size();
+    }
+}
@@ -0,0 +1,130 @@
+package rockets.mining;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * A keyed set of values kept in rank order as the values change.
+ * <p>
+ * Updating a key costs O(log n) and reading the top k keys costs O(k), so a ranking can
+ * be maintained under a stream of small changes without re-sorting. Keys that rank equal
+ * keep the order in which they were first added.
+ */
+class IncrementalRanking<K, V> {
+
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final TreeSet<Node<K, V>> ranking;
+    private long sequence;
+
+    /**
+     * @param order the ranking order of the values, best first.
+     */
+    IncrementalRanking(Comparator<? super V> order) {
+
+        ranking = new TreeSet<>((a, b) -> {
+            int result = order.compare(a.value, b.value);
+            return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+        });
+    }
+
+    /**
+     * Replaces the value of a key. The change is given null for a key that is not ranked
+     * yet, and returning null removes the key.
+     */
+    void update(K key, UnaryOperator<V> change) {
+
+        Node<K, V> node = nodes.get(key);
+        V updated = change.apply(node == null ? null : node.value);
+
+        if (node != null) {
+            ranking.remove(node);
+            if (updated == null) {
+                nodes.remove(key);
+                return;
+            }
+        } else if (updated == null) {
+            return;
+        } else {
+            node = new Node<>(key, sequence++);
+            nodes.put(key, node);
+        }
+        node.value = updated;
+        ranking.add(node);
+    }
+
+    V get(K key) {
+
+        Node<K, V> node = nodes.get(key);
+        return node == null ? null : node.value;
+    }
+
+    Set<K> keys() {
+
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+    void clear() {
+
+        nodes.clear();
+        ranking.clear();
+    }
+
+    boolean isEmpty() {
+
+        return nodes.isEmpty();
+    }
+
+    /**
+     * @return the k best keys, best first.
+     */
+    List<K> top(int k) {
+
+        List<K> result = new ArrayList<>(Math.min(k, nodes.size()));
+        Iterator<Node<K, V>> iterator = ranking.iterator();
+        while (result.size() < k && iterator.hasNext()) {
+            result.add(iterator.next().key);
+        }
+        return result;
+    }
+
+    /**
+     * @return the k best keys under another order of the values, best first. Keys that
+     * rank equal keep the order in which they were first added. Costs O(n log k).
+     */
+    List<K> top(int k, Comparator<? super V> order) {
+
+        TopK<Node<K, V>> topK = new TopK<>(k, (a, b) -> {
+            int result = order.compare(a.value, b.value);
+            return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+        });
+        for (Node<K, V> node : nodes.values()) {
+            topK.offer(node);
+        }
+        List<K> result = new ArrayList<>(topK.size());
+        for (Node<K, V> node : topK.toList()) {
+            result.add(node.key);
+        }
+        return result;
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final long sequence;
+        private V value;
+
+        private Node(K key, long sequence) {
+
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package rockets.mining;
+
+import rockets.model.Launch;
+
+/**
+ * A per-query aggregation step fed by {@link LaunchAggregationPipeline}.
+ * Each launch is passed to every registered accumulator exactly once.
+ * <p>
+ * In parallel mode each slice of the launches is fed to an {@link #emptyCopy()} of the
+ * accumulator, and the partial results are then merged back in launch order, so an
+ * accumulator must give the same result however the launches were split.
+ */
+public interface LaunchAccumulator {
+
+    void accept(Launch launch);
+
+    /**
+     * @return a new accumulator for the same query that has not seen any launch.
+     */
+    LaunchAccumulator emptyCopy();
+
+    /**
+     * Adds the partial result of an accumulator of the same kind that was fed the
+     * launches directly following the ones this accumulator has seen.
+     */
+    void merge(LaunchAccumulator later);
+}
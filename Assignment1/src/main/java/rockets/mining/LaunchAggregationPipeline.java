@@ -0,0 +1,194 @@
+package rockets.mining;
+
+import rockets.dataaccess.DAO;
+import rockets.model.Launch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.noNullElements;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Loads the launch collection once and streams it through a set of accumulators,
+ * so several mining queries share a single pass over the data.
+ * <p>
+ * In parallel mode the launches are split into slices of at most {@code threshold}
+ * launches, each slice is aggregated into its own partial accumulators on a
+ * {@link ForkJoinPool}, and the partial results are merged back in launch order.
+ * <p>
+ * In streaming mode the launches are read from {@link DAO#streamAll(Class, int)} one
+ * page at a time and each page is aggregated before the next one is read, so only the
+ * accumulators and a single page are held in memory.
+ */
+public class LaunchAggregationPipeline {
+
+    private final DAO dao;
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final int pageSize;
+
+    public LaunchAggregationPipeline(DAO dao) {
+
+        notNull(dao, "dao cannot be null.");
+        this.dao = dao;
+        this.pool = null;
+        this.threshold = Integer.MAX_VALUE;
+        this.pageSize = 0;
+    }
+
+    /**
+     * @param pool      the pool that aggregates the slices.
+     * @param threshold the largest number of launches aggregated by a single task.
+     */
+    public LaunchAggregationPipeline(DAO dao, ForkJoinPool pool, int threshold) {
+
+        notNull(dao, "dao cannot be null.");
+        notNull(pool, "pool cannot be null.");
+        isTrue(threshold > 0, "threshold must be greater than 0.");
+        this.dao = dao;
+        this.pool = pool;
+        this.threshold = threshold;
+        this.pageSize = 0;
+    }
+
+    private LaunchAggregationPipeline(LaunchAggregationPipeline pipeline, int pageSize) {
+
+        this.dao = pipeline.dao;
+        this.pool = pipeline.pool;
+        this.threshold = pipeline.threshold;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @param pageSize the number of launches read from the DAO and aggregated at a time.
+     * @return a pipeline that streams the launches instead of loading them all.
+     */
+    public LaunchAggregationPipeline streaming(int pageSize) {
+
+        isTrue(pageSize > 0, "pageSize must be greater than 0.");
+        return new LaunchAggregationPipeline(this, pageSize);
+    }
+
+    /**
+     * Feeds every launch to each of the accumulators.
+     *
+     * @return the number of launches scanned.
+     */
+    public int run(LaunchAccumulator... accumulators) {
+
+        return run(Arrays.asList(accumulators));
+    }
+
+    public int run(List<? extends LaunchAccumulator> accumulators) {
+
+        noNullElements(accumulators, "accumulators cannot contain null.");
+        if (pageSize > 0) {
+            return stream(accumulators);
+        }
+        Collection<Launch> launches = dao.loadAll(Launch.class);
+        if (launches == null) {
+            return 0;
+        }
+        if (pool == null || launches.size() <= threshold) {
+            return feed(launches, accumulators);
+        }
+        return aggregate(launches instanceof List && launches instanceof RandomAccess ? (List<Launch>) launches : new ArrayList<>(launches), accumulators);
+    }
+
+    private int stream(List<? extends LaunchAccumulator> accumulators) {
+
+        int scanned = 0;
+        List<Launch> page = new ArrayList<>(Math.min(pageSize, 1024));
+        try (Stream<Launch> launches = dao.streamAll(Launch.class, pageSize)) {
+            Iterator<Launch> iterator = launches.iterator();
+            while (iterator.hasNext()) {
+                page.add(iterator.next());
+                if (page.size() == pageSize) {
+                    scanned += pool == null ? feed(page, accumulators) : aggregate(page, accumulators);
+                    page.clear();
+                }
+            }
+        }
+        if (!page.isEmpty()) {
+            scanned += pool == null ? feed(page, accumulators) : aggregate(page, accumulators);
+        }
+        return scanned;
+    }
+
+    private int aggregate(List<Launch> slices, List<? extends LaunchAccumulator> accumulators) {
+
+        if (slices.size() <= threshold) {
+            return feed(slices, accumulators);
+        }
+        List<LaunchAccumulator> merged = pool.invoke(new SliceTask(slices, 0, slices.size(), accumulators, threshold));
+        for (int i = 0; i < accumulators.size(); i++) {
+            accumulators.get(i).merge(merged.get(i));
+        }
+        return slices.size();
+    }
+
+    static int feed(Iterable<Launch> launches, List<? extends LaunchAccumulator> accumulators) {
+
+        int scanned = 0;
+        for (Launch launch : launches) {
+            for (LaunchAccumulator accumulator : accumulators) {
+                accumulator.accept(launch);
+            }
+            scanned++;
+        }
+        return scanned;
+    }
+
+    private static final class SliceTask extends RecursiveTask<List<LaunchAccumulator>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Launch> launches;
+        private final int from;
+        private final int to;
+        private final List<? extends LaunchAccumulator> prototypes;
+        private final int threshold;
+
+        private SliceTask(List<Launch> launches, int from, int to, List<? extends LaunchAccumulator> prototypes, int threshold) {
+
+            this.launches = launches;
+            this.from = from;
+            this.to = to;
+            this.prototypes = prototypes;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected List<LaunchAccumulator> compute() {
+
+            if (to - from <= threshold) {
+                List<LaunchAccumulator> partials = new ArrayList<>(prototypes.size());
+                for (LaunchAccumulator prototype : prototypes) {
+                    partials.add(prototype.emptyCopy());
+                }
+                feed(launches.subList(from, to), partials);
+                return partials;
+            }
+
+            int middle = (from + to) >>> 1;
+            SliceTask left = new SliceTask(launches, from, middle, prototypes, threshold);
+            SliceTask right = new SliceTask(launches, middle, to, prototypes, threshold);
+            left.fork();
+            List<LaunchAccumulator> later = right.compute();
+            List<LaunchAccumulator> earlier = left.join();
+            for (int i = 0; i < earlier.size(); i++) {
+                earlier.get(i).merge(later.get(i));
+            }
+            return earlier;
+        }
+    }
+}
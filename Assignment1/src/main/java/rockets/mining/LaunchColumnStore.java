@@ -0,0 +1,255 @@
+package rockets.mining;
+
+import rockets.dataaccess.DAO;
+import rockets.mining.primitive.IntObjectMap;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * An immutable, column-oriented copy of the launches for analytics.
+ * <p>
+ * Each launch becomes one row spread over primitive arrays: the launch date as an epoch
+ * day, the price as an unscaled long at the largest scale of all prices, the outcome as a
+ * byte, and the rocket, provider, orbit, launch site and launch vehicle country as
+ * dictionary ids. Scans then walk a few flat arrays instead of chasing object references.
+ * The few prices that do not fit in a long at that scale are kept as BigDecimal on the
+ * side, and marked with {@link #EXACT_PRICE} in the price column.
+ */
+public class LaunchColumnStore {
+
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    public static final long NO_PRICE = Long.MIN_VALUE;
+    public static final long EXACT_PRICE = Long.MAX_VALUE;
+    public static final byte NO_OUTCOME = -1;
+    public static final byte FAILED = (byte) Launch.LaunchOutcome.FAILED.ordinal();
+    public static final byte SUCCESSFUL = (byte) Launch.LaunchOutcome.SUCCESSFUL.ordinal();
+
+    private final int size;
+    private final int[] launchDays;
+    private final long[] prices;
+    private final int priceScale;
+    private final IntObjectMap<BigDecimal> exactPrices = new IntObjectMap<>();
+    private final byte[] outcomes;
+    private final int[] rocketIds;
+    private final int[] providerIds;
+    private final int[] orbitIds;
+    private final int[] siteIds;
+    private final int[] countryIds;
+
+    private final Dictionary<Rocket> rockets = new Dictionary<>();
+    private final Dictionary<LaunchServiceProvider> providers = new Dictionary<>();
+    private final Dictionary<String> orbits = new Dictionary<>();
+    private final Dictionary<String> sites = new Dictionary<>();
+    private final Dictionary<String> countries = new Dictionary<>();
+
+    public LaunchColumnStore(Collection<Launch> launches) {
+
+        notNull(launches, "launches cannot be null.");
+
+        size = launches.size();
+        launchDays = new int[size];
+        prices = new long[size];
+        outcomes = new byte[size];
+        rocketIds = new int[size];
+        providerIds = new int[size];
+        orbitIds = new int[size];
+        siteIds = new int[size];
+        countryIds = new int[size];
+
+        int scale = 0;
+        for (Launch launch : launches) {
+            if (launch.getPrice() != null) {
+                scale = Math.max(scale, launch.getPrice().scale());
+            }
+        }
+        priceScale = scale;
+
+        int row = 0;
+        for (Launch launch : launches) {
+            launchDays[row] = launch.getLaunchDate() == null ? NO_DATE : (int) launch.getLaunchDate().toEpochDay();
+            prices[row] = toUnscaled(launch.getPrice(), priceScale);
+            if (prices[row] == EXACT_PRICE) {
+                exactPrices.put(row, launch.getPrice());
+            }
+            outcomes[row] = launch.getLaunchOutcome() == null ? NO_OUTCOME : (byte) launch.getLaunchOutcome().ordinal();
+            rocketIds[row] = rockets.encode(launch.getLaunchVehicle());
+            providerIds[row] = providers.encode(launch.getLaunchServiceProvider());
+            orbitIds[row] = orbits.encode(launch.getOrbit());
+            siteIds[row] = sites.encode(launch.getLaunchSite());
+            countryIds[row] = countries.encode(launch.getLaunchVehicle() == null ? null : launch.getLaunchVehicle().getCountry());
+            row++;
+        }
+    }
+
+    /**
+     * Builds a column store from every launch in the DAO.
+     */
+    public static LaunchColumnStore load(DAO dao) {
+
+        notNull(dao, "dao cannot be null.");
+
+        Collection<Launch> launches = dao.loadAll(Launch.class);
+        return new LaunchColumnStore(launches == null ? Collections.emptyList() : launches);
+    }
+
+    /**
+     * @return the price as an unscaled long at the scale, which is at least the scale of
+     * the price, or {@link #EXACT_PRICE} if it does not fit.
+     */
+    static long toUnscaled(BigDecimal price, int scale) {
+
+        if (price == null) {
+            return NO_PRICE;
+        }
+        try {
+            long unscaled = price.setScale(scale).unscaledValue().longValueExact();
+            return unscaled == NO_PRICE ? EXACT_PRICE : unscaled;
+        } catch (ArithmeticException e) {
+            return EXACT_PRICE;
+        }
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public int launchDay(int row) {
+
+        return launchDays[row];
+    }
+
+    /**
+     * @return the price of the row at {@link #priceScale()}, {@link #NO_PRICE} if it has
+     * none, or {@link #EXACT_PRICE} if only {@link #price(int)} holds it.
+     */
+    public long unscaledPrice(int row) {
+
+        return prices[row];
+    }
+
+    /**
+     * @return the scale of the unscaled prices, the largest scale of all prices.
+     */
+    public int priceScale() {
+
+        return priceScale;
+    }
+
+    /**
+     * @return the price of the row, or null if it has none.
+     */
+    public BigDecimal price(int row) {
+
+        if (prices[row] == NO_PRICE) {
+            return null;
+        }
+        return prices[row] == EXACT_PRICE ? exactPrices.get(row) : BigDecimal.valueOf(prices[row], priceScale);
+    }
+
+    public byte outcome(int row) {
+
+        return outcomes[row];
+    }
+
+    public int rocketId(int row) {
+
+        return rocketIds[row];
+    }
+
+    public int providerId(int row) {
+
+        return providerIds[row];
+    }
+
+    public int orbitId(int row) {
+
+        return orbitIds[row];
+    }
+
+    public int siteId(int row) {
+
+        return siteIds[row];
+    }
+
+    public int countryId(int row) {
+
+        return countryIds[row];
+    }
+
+    public Dictionary<Rocket> rockets() {
+
+        return rockets;
+    }
+
+    public Dictionary<LaunchServiceProvider> providers() {
+
+        return providers;
+    }
+
+    public Dictionary<String> orbits() {
+
+        return orbits;
+    }
+
+    public Dictionary<String> sites() {
+
+        return sites;
+    }
+
+    public Dictionary<String> countries() {
+
+        return countries;
+    }
+
+    /**
+     * @return the bytes held by the columns, not counting the dictionaries and the prices
+     * kept as BigDecimal.
+     */
+    public long columnBytes() {
+
+        return (long) size * (Integer.BYTES * 6 + Long.BYTES + Byte.BYTES);
+    }
+
+    int[] launchDays() {
+
+        return launchDays;
+    }
+
+    long[] prices() {
+
+        return prices;
+    }
+
+    byte[] outcomes() {
+
+        return outcomes;
+    }
+
+    int[] rocketIds() {
+
+        return rocketIds;
+    }
+
+    int[] providerIds() {
+
+        return providerIds;
+    }
+
+    int[] orbitIds() {
+
+        return orbitIds;
+    }
+
+    int[] countryIds() {
+
+        return countryIds;
+    }
+}
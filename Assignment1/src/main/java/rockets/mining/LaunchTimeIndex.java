@@ -0,0 +1,304 @@
+package rockets.mining;
+
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.DAOListener;
+import rockets.model.Entity;
+import rockets.model.Launch;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * An index of the launches by launch date, behind the date-range, per-year and most
+ * recent launch queries of {@link RocketMiner}.
+ * <p>
+ * The launches are kept sorted by epoch day, launches of the same day in the order they
+ * were first indexed, together with the position at which every month starts. A year or a
+ * month is a range of positions found without searching, a date range is found by a
+ * binary search within the months of its bounds, and the most recent launches are the
+ * last positions.
+ * <p>
+ * The index is built once from the DAO and then kept up to date by registering it as a
+ * {@link DAOListener}. Saved and deleted launches are buffered and merged into the sorted
+ * positions by the next query, so a burst of writes costs a single merge. As in
+ * {@link LaunchViews}, a saved launch is matched to its earlier version by id, and an
+ * updated launch keeps the place of its earlier version among the launches of a day, as
+ * it does in the DAO. Launches without a launch date are not indexed.
+ */
+public class LaunchTimeIndex implements DAOListener {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Comparator<Entry> BY_DAY_AND_SEQUENCE = Comparator.<Entry>comparingInt(entry -> entry.day).thenComparingLong(entry -> entry.sequence);
+
+    // the indexed version of every launch with an id
+    private final Map<Long, Entry> byId = new HashMap<>();
+    // saved launches not merged yet
+    private final List<Entry> pending = new ArrayList<>();
+    private boolean retired;
+    private long sequence;
+
+    // the merged launches by epoch day, then by the sequence in which they were first indexed
+    private Entry[] entries = NO_ENTRIES;
+    private int[] days = new int[0];
+    private int size;
+    // monthStarts[i] is the first position of the month firstMonth + i, counted in months
+    // since year 0; the last element is the size
+    private int firstMonth;
+    private int[] monthStarts = {0};
+
+    /**
+     * Discards the index and rebuilds it from every launch in the DAO.
+     */
+    public synchronized void rebuild(DAO dao) {
+
+        notNull(dao, "dao cannot be null.");
+
+        byId.clear();
+        pending.clear();
+        retired = false;
+        entries = NO_ENTRIES;
+        days = new int[0];
+        size = 0;
+        firstMonth = 0;
+        monthStarts = new int[]{0};
+
+        Collection<Launch> loaded = dao.loadAll(Launch.class);
+        if (loaded != null) {
+            for (Launch launch : loaded) {
+                add(launch);
+            }
+        }
+        merge();
+    }
+
+    @Override
+    public synchronized void entitySaved(Entity entity) {
+
+        if (entity instanceof Launch) {
+            add((Launch) entity);
+        }
+    }
+
+    @Override
+    public synchronized void entityDeleted(Entity entity) {
+
+        if (entity instanceof Launch && entity.getId() != null) {
+            retire(byId.remove(entity.getId()));
+        }
+    }
+
+    /**
+     * @return the number of indexed launches.
+     */
+    public synchronized int size() {
+
+        merge();
+        return size;
+    }
+
+    /**
+     * Returns the k most recent launches, most recent first; launches of the same day in
+     * the order they were first indexed. Takes time proportional to k and the launches of the
+     * earliest day returned.
+     */
+    public synchronized List<Launch> mostRecent(int k) {
+
+        MiningArguments.checkK(k);
+        merge();
+
+        List<Launch> launches = new ArrayList<>(Math.min(k, size));
+        int end = size;
+        while (end > 0 && launches.size() < k) {
+            int start = end - 1;
+            while (start > 0 && days[start - 1] == days[end - 1]) {
+                start--;
+            }
+            for (int position = start; position < end && launches.size() < k; position++) {
+                launches.add(entries[position].launch);
+            }
+            end = start;
+        }
+        return launches;
+    }
+
+    /**
+     * @return the launches on or after from and before to, by launch date; launches of
+     * the same day in the order they were first indexed.
+     */
+    public synchronized List<Launch> between(LocalDate from, LocalDate to) {
+
+        MiningArguments.checkRange(from, to);
+        merge();
+
+        int start = lowerBound((int) from.toEpochDay());
+        int end = lowerBound((int) to.toEpochDay());
+        List<Launch> launches = new ArrayList<>(end - start);
+        for (int position = start; position < end; position++) {
+            launches.add(entries[position].launch);
+        }
+        return launches;
+    }
+
+    /**
+     * Feeds the launches of the year to the accumulator in the order they were first
+     * indexed, so that ties rank as in a scan of every launch.
+     *
+     * @return the number of launches fed.
+     */
+    public synchronized int scanYear(int year, LaunchAccumulator accumulator) {
+
+        notNull(accumulator, "accumulator cannot be null.");
+        merge();
+
+        int start = lowerBound((int) LocalDate.of(year, 1, 1).toEpochDay());
+        int end = lowerBound((int) LocalDate.of(year + 1, 1, 1).toEpochDay());
+        Entry[] inYear = Arrays.copyOfRange(entries, start, end);
+        Arrays.sort(inYear, Comparator.comparingLong(entry -> entry.sequence));
+        for (Entry entry : inYear) {
+            accumulator.accept(entry.launch);
+        }
+        return inYear.length;
+    }
+
+    private void add(Launch launch) {
+
+        Entry previous = launch.getId() == null ? null : byId.remove(launch.getId());
+        retire(previous);
+        if (launch.getLaunchDate() == null) {
+            return;
+        }
+        Entry entry = new Entry(launch, (int) launch.getLaunchDate().toEpochDay(), previous == null ? sequence++ : previous.sequence);
+        if (launch.getId() != null) {
+            byId.put(launch.getId(), entry);
+        }
+        pending.add(entry);
+    }
+
+    private void retire(Entry entry) {
+
+        if (entry != null) {
+            entry.retired = true;
+            retired = true;
+        }
+    }
+
+    /**
+     * Merges the saved launches into the sorted positions and drops the retired ones.
+     */
+    private void merge() {
+
+        if (pending.isEmpty() && !retired) {
+            return;
+        }
+
+        pending.sort(BY_DAY_AND_SEQUENCE);
+        Entry[] merged = new Entry[size + pending.size()];
+        int[] mergedDays = new int[merged.length];
+        int count = 0;
+        int position = 0;
+        for (Entry entry : pending) {
+            while (position < size && BY_DAY_AND_SEQUENCE.compare(entries[position], entry) < 0) {
+                count = append(entries[position++], merged, mergedDays, count);
+            }
+            count = append(entry, merged, mergedDays, count);
+        }
+        while (position < size) {
+            count = append(entries[position++], merged, mergedDays, count);
+        }
+
+        entries = merged;
+        days = mergedDays;
+        size = count;
+        pending.clear();
+        retired = false;
+        indexMonths();
+    }
+
+    private static int append(Entry entry, Entry[] merged, int[] mergedDays, int count) {
+
+        if (entry.retired) {
+            return count;
+        }
+        merged[count] = entry;
+        mergedDays[count] = entry.day;
+        return count + 1;
+    }
+
+    private void indexMonths() {
+
+        if (size == 0) {
+            firstMonth = 0;
+            monthStarts = new int[]{0};
+            return;
+        }
+        firstMonth = monthOf(days[0]);
+        monthStarts = new int[monthOf(days[size - 1]) - firstMonth + 2];
+        int position = 0;
+        for (int i = 1; i < monthStarts.length; i++) {
+            int monthStart = firstDayOf(firstMonth + i);
+            while (position < size && days[position] < monthStart) {
+                position++;
+            }
+            monthStarts[i] = position;
+        }
+    }
+
+    /**
+     * @return the first position of a launch on or after the day.
+     */
+    private int lowerBound(int day) {
+
+        int month = monthOf(day) - firstMonth;
+        if (size == 0 || month < 0) {
+            return 0;
+        }
+        if (month >= monthStarts.length - 1) {
+            return size;
+        }
+        int low = monthStarts[month];
+        int high = monthStarts[month + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int monthOf(int day) {
+
+        LocalDate date = LocalDate.ofEpochDay(day);
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static int firstDayOf(int month) {
+
+        return (int) LocalDate.of(Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1, 1).toEpochDay();
+    }
+
+    private static final class Entry {
+
+        private final Launch launch;
+        private final int day;
+        private final long sequence;
+        private boolean retired;
+
+        private Entry(Launch launch, int day, long sequence) {
+
+            this.launch = launch;
+            this.day = day;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package rockets.mining;
+
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.DAOListener;
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Materialized views of the launch aggregates behind {@link RocketMiner}.
+ * <p>
+ * The views are built once from the DAO and then kept up to date by registering them as
+ * a {@link DAOListener}: every saved or deleted launch adjusts the running counters for
+ * per-rocket launch counts, per-provider outcomes, per-(provider, year) revenue and
+ * per-(orbit, country) successful launches. The counters are kept in rank order, so the
+ * top-k queries are answered without scanning launches.
+ * <p>
+ * A saved launch is matched to its earlier version by id, so launches without an id are
+ * counted but cannot be retracted later.
+ */
+public class LaunchViews implements DAOListener {
+
+    private final Map<Long, LaunchFacts> launchFacts = new HashMap<>();
+    private final IncrementalRanking<Rocket, Integer> rocketLaunchCounts = new IncrementalRanking<>(Comparator.reverseOrder());
+    private final IncrementalRanking<LaunchServiceProvider, Outcomes> providerOutcomes = new IncrementalRanking<>(Outcomes.by(ReliabilityRanking.SUCCESS_RATIO));
+    private final Map<Integer, IncrementalRanking<LaunchServiceProvider, Revenue>> revenueByYear = new HashMap<>();
+    private final Map<String, IncrementalRanking<String, Integer>> countryCountsByOrbit = new HashMap<>();
+    private int launches;
+    private volatile boolean consistencyCheck;
+
+    /**
+     * Discards the current counters and recomputes them from every launch in the DAO.
+     */
+    public synchronized void rebuild(DAO dao) {
+
+        notNull(dao, "dao cannot be null.");
+
+        launchFacts.clear();
+        rocketLaunchCounts.clear();
+        providerOutcomes.clear();
+        revenueByYear.clear();
+        countryCountsByOrbit.clear();
+        launches = 0;
+
+        Collection<Launch> loaded = dao.loadAll(Launch.class);
+        if (loaded != null) {
+            for (Launch launch : loaded) {
+                add(launch);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void entitySaved(Entity entity) {
+
+        if (entity instanceof Launch) {
+            Launch launch = (Launch) entity;
+            LaunchFacts previous = launch.getId() == null ? null : launchFacts.remove(launch.getId());
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            add(launch);
+        }
+    }
+
+    @Override
+    public synchronized void entityDeleted(Entity entity) {
+
+        if (entity instanceof Launch && entity.getId() != null) {
+            LaunchFacts previous = launchFacts.remove(entity.getId());
+            if (previous != null) {
+                apply(previous, -1);
+            }
+        }
+    }
+
+    /**
+     * When enabled, {@link RocketMiner} compares the views against a full recompute
+     * before answering from them, and fails if they differ.
+     */
+    public void setConsistencyCheck(boolean consistencyCheck) {
+
+        this.consistencyCheck = consistencyCheck;
+    }
+
+    public boolean isConsistencyCheck() {
+
+        return consistencyCheck;
+    }
+
+    public synchronized List<Rocket> mostLaunchedRockets(int k) {
+
+        return rocketLaunchCounts.isEmpty() ? null : rocketLaunchCounts.top(k);
+    }
+
+    public synchronized List<LaunchServiceProvider> mostReliableLaunchServiceProviders(int k) {
+
+        return mostReliableLaunchServiceProviders(k, ReliabilityRanking.SUCCESS_RATIO);
+    }
+
+    /**
+     * The success ratio ranking is kept up to date; other rankings select the top k from
+     * the tallies of every provider.
+     */
+    public synchronized List<LaunchServiceProvider> mostReliableLaunchServiceProviders(int k, ReliabilityRanking ranking) {
+
+        if (providerOutcomes.isEmpty()) {
+            return null;
+        }
+        return ranking == ReliabilityRanking.SUCCESS_RATIO ? providerOutcomes.top(k) : providerOutcomes.top(k, Outcomes.by(ranking));
+    }
+
+    public synchronized List<LaunchServiceProvider> highestRevenueLaunchServiceProviders(int k, int year) {
+
+        IncrementalRanking<LaunchServiceProvider, Revenue> revenue = revenueByYear.get(year);
+        return revenue == null || revenue.isEmpty() ? null : revenue.top(k);
+    }
+
+    public synchronized String dominantCountry(String orbit) {
+
+        if (launches == 0) {
+            return null;
+        }
+
+        IncrementalRanking<String, Integer> countryCounts = countryCountsByOrbit.get(orbit);
+        if (countryCounts == null || countryCounts.isEmpty()) {
+            return "Cannot find any country.";
+        }
+        return countryCounts.top(1).get(0);
+    }
+
+    /**
+     * Recomputes the aggregates from the given launches and lists every counter that
+     * differs from the views.
+     *
+     * @return the differences found, empty if the views are consistent.
+     */
+    public synchronized List<String> differences(Collection<Launch> launches) {
+
+        RocketLaunchCounts expectedLaunchCounts = new RocketLaunchCounts();
+        ProviderOutcomes expectedOutcomes = new ProviderOutcomes();
+        ProviderRevenueByYear expectedRevenue = new ProviderRevenueByYear();
+        OrbitCountryTallies expectedCountryCounts = new OrbitCountryTallies();
+        LaunchAggregationPipeline.feed(launches, Arrays.asList(expectedLaunchCounts, expectedOutcomes, expectedRevenue, expectedCountryCounts));
+
+        List<String> differences = new ArrayList<>();
+
+        for (Rocket rocket : union(expectedLaunchCounts.rockets(), rocketLaunchCounts.keys())) {
+            Integer count = rocketLaunchCounts.get(rocket);
+            check(differences, "launches of " + rocket, expectedLaunchCounts.count(rocket), count == null ? 0 : count);
+        }
+
+        for (LaunchServiceProvider lsp : union(expectedOutcomes.providers(), providerOutcomes.keys())) {
+            Outcomes outcomes = providerOutcomes.get(lsp);
+            check(differences, "successes of " + nameOf(lsp), expectedOutcomes.successes(lsp), outcomes == null ? 0 : outcomes.successes);
+            check(differences, "failures of " + nameOf(lsp), expectedOutcomes.failures(lsp), outcomes == null ? 0 : outcomes.failures);
+        }
+
+        Set<Integer> years = new HashSet<>(revenueByYear.keySet());
+        for (int year : expectedRevenue.years()) {
+            years.add(year);
+        }
+        for (Integer year : years) {
+            IncrementalRanking<LaunchServiceProvider, Revenue> revenue = revenueByYear.get(year);
+            Collection<LaunchServiceProvider> providers = revenue == null ? expectedRevenue.providers(year) : union(expectedRevenue.providers(year), revenue.keys());
+            for (LaunchServiceProvider lsp : providers) {
+                Revenue actual = revenue == null ? null : revenue.get(lsp);
+                BigDecimal expected = expectedRevenue.revenue(lsp, year);
+                if (!sameAmount(expected, actual == null ? null : actual.total)) {
+                    differences.add("revenue of " + nameOf(lsp) + " in " + year + ": expected " + expected + " but was " + (actual == null ? null : actual.total));
+                }
+            }
+        }
+
+        for (String orbit : union(expectedCountryCounts.orbits(), countryCountsByOrbit.keySet())) {
+            IncrementalRanking<String, Integer> countryCounts = countryCountsByOrbit.get(orbit);
+            Collection<String> countries = countryCounts == null ? expectedCountryCounts.countries(orbit) : union(expectedCountryCounts.countries(orbit), countryCounts.keys());
+            for (String country : countries) {
+                Integer count = countryCounts == null ? null : countryCounts.get(country);
+                check(differences, "successful launches of " + country + " to " + orbit, expectedCountryCounts.count(orbit, country), count == null ? 0 : count);
+            }
+        }
+
+        return differences;
+    }
+
+    private void add(Launch launch) {
+
+        LaunchFacts facts = new LaunchFacts(launch);
+        if (launch.getId() != null) {
+            launchFacts.put(launch.getId(), facts);
+        }
+        apply(facts, 1);
+    }
+
+    private void apply(LaunchFacts facts, int sign) {
+
+        launches += sign;
+
+        if (facts.outcome != null) {
+            rocketLaunchCounts.update(facts.rocket, count -> plus(count, sign));
+            providerOutcomes.update(facts.provider, outcomes -> Outcomes.plus(outcomes, facts.outcome, sign));
+        }
+
+        if (facts.price != null) {
+            revenueByYear.computeIfAbsent(facts.year, year -> new IncrementalRanking<>(Comparator.comparing((Revenue revenue) -> revenue.total)))
+                    .update(facts.provider, revenue -> Revenue.plus(revenue, facts.price, sign));
+        }
+
+        if (facts.outcome == Launch.LaunchOutcome.SUCCESSFUL) {
+            countryCountsByOrbit.computeIfAbsent(facts.orbit, orbit -> new IncrementalRanking<>(Comparator.reverseOrder()))
+                    .update(facts.country, count -> plus(count, sign));
+        }
+    }
+
+    private static Integer plus(Integer count, int sign) {
+
+        int updated = (count == null ? 0 : count) + sign;
+        return updated == 0 ? null : updated;
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static void check(List<String> differences, String counter, int expected, int actual) {
+
+        if (expected != actual) {
+            differences.add(counter + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    private static String nameOf(LaunchServiceProvider lsp) {
+
+        return lsp == null ? null : lsp.getName();
+    }
+
+    private static <T> Set<T> union(Collection<T> a, Collection<T> b) {
+
+        Set<T> union = new HashSet<>(a);
+        union.addAll(b);
+        return union;
+    }
+
+    /**
+     * The parts of a launch the views counted, kept so they can be retracted after the
+     * launch object itself has been changed.
+     */
+    private static final class LaunchFacts {
+
+        private final Rocket rocket;
+        private final LaunchServiceProvider provider;
+        private final Launch.LaunchOutcome outcome;
+        private final BigDecimal price;
+        private final Integer year;
+        private final String orbit;
+        private final String country;
+
+        private LaunchFacts(Launch launch) {
+
+            rocket = launch.getLaunchVehicle();
+            provider = launch.getLaunchServiceProvider();
+            outcome = launch.getLaunchOutcome();
+            price = launch.getPrice();
+            year = price == null ? null : launch.getLaunchDate().getYear();
+            orbit = launch.getOrbit();
+            country = outcome == Launch.LaunchOutcome.SUCCESSFUL ? launch.getLaunchVehicle().getCountry() : null;
+        }
+    }
+
+    private static final class Outcomes {
+
+        private final int successes;
+        private final int failures;
+
+        private Outcomes(int successes, int failures) {
+
+            this.successes = successes;
+            this.failures = failures;
+        }
+
+        private static Comparator<Outcomes> by(ReliabilityRanking ranking) {
+
+            return (a, b) -> ranking.compare(a.successes, a.successes + a.failures, b.successes, b.successes + b.failures);
+        }
+
+        private static Outcomes plus(Outcomes outcomes, Launch.LaunchOutcome outcome, int sign) {
+
+            int successes = outcomes == null ? 0 : outcomes.successes;
+            int failures = outcomes == null ? 0 : outcomes.failures;
+            if (outcome == Launch.LaunchOutcome.SUCCESSFUL) {
+                successes += sign;
+            } else {
+                failures += sign;
+            }
+            return successes + failures == 0 ? null : new Outcomes(successes, failures);
+        }
+    }
+
+    private static final class Revenue {
+
+        private final int launches;
+        private final BigDecimal total;
+
+        private Revenue(int launches, BigDecimal total) {
+
+            this.launches = launches;
+            this.total = total;
+        }
+
+        private static Revenue plus(Revenue revenue, BigDecimal price, int sign) {
+
+            if (revenue == null) {
+                return sign > 0 ? new Revenue(1, price) : null;
+            }
+            int launches = revenue.launches + sign;
+            return launches == 0 ? null : new Revenue(launches, sign > 0 ? revenue.total.add(price) : revenue.total.subtract(price));
+        }
+    }
+}
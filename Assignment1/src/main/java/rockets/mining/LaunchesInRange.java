@@ -0,0 +1,57 @@
+package rockets.mining;
+
+import rockets.model.Launch;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collects the launches on or after a date and before another, for answering a date
+ * range query by scanning the launches.
+ */
+class LaunchesInRange implements LaunchAccumulator {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final List<Launch> launches = new ArrayList<>();
+
+    LaunchesInRange(LocalDate from, LocalDate to) {
+
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public void accept(Launch launch) {
+
+        LocalDate date = launch.getLaunchDate();
+        if (date != null && !date.isBefore(from) && date.isBefore(to)) {
+            launches.add(launch);
+        }
+    }
+
+    @Override
+    public LaunchAccumulator emptyCopy() {
+
+        return new LaunchesInRange(from, to);
+    }
+
+    @Override
+    public void merge(LaunchAccumulator later) {
+
+        launches.addAll(((LaunchesInRange) later).launches);
+    }
+
+    /**
+     * @return the collected launches by launch date; launches of the same day in launch
+     * order.
+     */
+    List<Launch> launches() {
+
+        List<Launch> sorted = new ArrayList<>(launches);
+        sorted.sort(Comparator.comparing(Launch::getLaunchDate));
+        return sorted;
+    }
+}
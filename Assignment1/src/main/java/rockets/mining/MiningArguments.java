@@ -0,0 +1,45 @@
+package rockets.mining;
+
+import java.time.LocalDate;
+import java.util.Calendar;
+
+import static org.apache.commons.lang3.Validate.*;
+
+/**
+ * Argument checks shared by every way of answering a mining query.
+ */
+final class MiningArguments {
+
+    private MiningArguments() {
+    }
+
+    static void checkK(int k) {
+
+        isTrue(k > 0, "k must be greater than 0.");
+    }
+
+    static void checkOrbit(String orbit) {
+
+        notBlank(orbit, "orbit cannot be null or empty.");
+        isTrue(orbit.equals(orbit.trim()), "There should be no empty space at the beginning or the end of a orbit.");
+        inclusiveBetween(2,10, orbit.length(), "The length of the orbit must be equal or greater than 2 and equal or smaller than 10.");
+        isTrue("LEO".equals(orbit) || "GTO".equals(orbit) || "Other".equals(orbit), "The orbit must be 'GTO', 'LEO' or 'Other'.");
+    }
+
+    static void checkRange(LocalDate from, LocalDate to) {
+
+        isTrue(from != null, "from cannot be null.");
+        isTrue(to != null, "to cannot be null.");
+        isTrue(!to.isBefore(from), "to cannot be before from.");
+    }
+
+    static void checkRanking(ReliabilityRanking ranking) {
+
+        isTrue(ranking != null, "ranking cannot be null.");
+    }
+
+    static void checkYear(int year) {
+
+        isTrue(Calendar.getInstance().get(Calendar.YEAR) >= year && year >= 1500, "year must be greater than 1500.");
+    }
+}
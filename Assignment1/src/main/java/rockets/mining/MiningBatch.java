@@ -0,0 +1,210 @@
+package rockets.mining;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.apache.commons.lang3.Validate.notNull;
+import static org.apache.commons.lang3.Validate.validState;
+
+/**
+ * A set of launch mining queries answered by one pass of a {@link LaunchAggregationPipeline}.
+ * <p>
+ * Register the queries, call {@link #run()} once, then read each {@link Result}.
+ * Queries of the same kind share their accumulator, so asking for the top 3 and the
+ * top 10 rockets in one batch costs a single tally.
+ */
+public class MiningBatch {
+
+    private static Logger logger = LoggerFactory.getLogger(MiningBatch.class);
+
+    private final LaunchAggregationPipeline pipeline;
+    private final List<LaunchAccumulator> accumulators = new ArrayList<>();
+    private final List<Result<?>> results = new ArrayList<>();
+
+    private RocketLaunchCounts rocketLaunchCounts;
+    private ProviderOutcomes providerOutcomes;
+    private ProviderRevenueByYear providerRevenue;
+    private OrbitCountryTallies orbitCountryTallies;
+    private boolean done;
+    private int scanned;
+
+    public MiningBatch(LaunchAggregationPipeline pipeline) {
+
+        notNull(pipeline, "pipeline cannot be null.");
+        this.pipeline = pipeline;
+    }
+
+    public Result<List<Rocket>> mostLaunchedRockets(int k) {
+
+        MiningArguments.checkK(k);
+
+        RocketLaunchCounts counts = rocketLaunchCounts();
+        return register(() -> counts.mostLaunched(k));
+    }
+
+    public Result<List<LaunchServiceProvider>> mostReliableLaunchServiceProviders(int k) {
+
+        return mostReliableLaunchServiceProviders(k, ReliabilityRanking.SUCCESS_RATIO);
+    }
+
+    public Result<List<LaunchServiceProvider>> mostReliableLaunchServiceProviders(int k, ReliabilityRanking ranking) {
+
+        MiningArguments.checkK(k);
+        MiningArguments.checkRanking(ranking);
+
+        ProviderOutcomes outcomes = providerOutcomes();
+        return register(() -> outcomes.mostReliable(k, ranking));
+    }
+
+    public Result<List<Launch>> mostRecentLaunches(int k) {
+
+        MiningArguments.checkK(k);
+
+        TopLaunches topLaunches = add(TopLaunches.mostRecent(k));
+        return register(topLaunches::launches);
+    }
+
+    public Result<String> dominantCountry(String orbit) {
+
+        MiningArguments.checkOrbit(orbit);
+
+        OrbitCountryTallies tallies = orbitCountryTallies();
+        return register(() -> tallies.dominantCountry(orbit));
+    }
+
+    public Result<List<Launch>> mostExpensiveLaunches(int k) {
+
+        MiningArguments.checkK(k);
+
+        TopLaunches topLaunches = add(TopLaunches.mostExpensive(k));
+        return register(() -> {
+            List<Launch> launches = topLaunches.launches();
+            return launches.isEmpty() ? null : launches;
+        });
+    }
+
+    public Result<List<LaunchServiceProvider>> highestRevenueLaunchServiceProviders(int k, int year) {
+
+        MiningArguments.checkK(k);
+        MiningArguments.checkYear(year);
+
+        ProviderRevenueByYear revenue = providerRevenue();
+        return register(() -> revenue.ranked(k, year));
+    }
+
+    /**
+     * Finds the launches on or after from and before to, by launch date.
+     */
+    public Result<List<Launch>> launchesBetween(LocalDate from, LocalDate to) {
+
+        MiningArguments.checkRange(from, to);
+
+        LaunchesInRange range = add(new LaunchesInRange(from, to));
+        return register(range::launches);
+    }
+
+    /**
+     * Loads the launches once and answers every registered query.
+     */
+    public void run() {
+
+        validState(!done, "The batch has already been run.");
+
+        logger.debug("run {} mining queries in one pass.", results.size());
+        scanned = pipeline.run(accumulators);
+        for (Result<?> result : results) {
+            result.complete();
+        }
+        done = true;
+    }
+
+    /**
+     * @return the number of launches the run scanned, 0 before it has run.
+     */
+    public int scanned() {
+
+        return scanned;
+    }
+
+    private RocketLaunchCounts rocketLaunchCounts() {
+
+        if (rocketLaunchCounts == null) {
+            rocketLaunchCounts = add(new RocketLaunchCounts());
+        }
+        return rocketLaunchCounts;
+    }
+
+    private ProviderOutcomes providerOutcomes() {
+
+        if (providerOutcomes == null) {
+            providerOutcomes = add(new ProviderOutcomes());
+        }
+        return providerOutcomes;
+    }
+
+    private ProviderRevenueByYear providerRevenue() {
+
+        if (providerRevenue == null) {
+            providerRevenue = add(new ProviderRevenueByYear());
+        }
+        return providerRevenue;
+    }
+
+    private OrbitCountryTallies orbitCountryTallies() {
+
+        if (orbitCountryTallies == null) {
+            orbitCountryTallies = add(new OrbitCountryTallies());
+        }
+        return orbitCountryTallies;
+    }
+
+    private <A extends LaunchAccumulator> A add(A accumulator) {
+
+        validState(!done, "The batch has already been run.");
+        accumulators.add(accumulator);
+        return accumulator;
+    }
+
+    private <R> Result<R> register(Supplier<R> finisher) {
+
+        validState(!done, "The batch has already been run.");
+        Result<R> result = new Result<>(finisher);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * The answer to one query of a batch, available once the batch has been run.
+     */
+    public static final class Result<R> {
+
+        private final Supplier<R> finisher;
+        private R value;
+        private boolean completed;
+
+        private Result(Supplier<R> finisher) {
+
+            this.finisher = finisher;
+        }
+
+        private void complete() {
+
+            value = finisher.get();
+            completed = true;
+        }
+
+        public R get() {
+
+            validState(completed, "The batch has not been run yet.");
+            return value;
+        }
+    }
+}
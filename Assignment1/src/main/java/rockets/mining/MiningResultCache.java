@@ -0,0 +1,81 @@
+package rockets.mining;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Caches mining results by query and arguments for as long as the data does not change.
+ * <p>
+ * Every result is tagged with the data version read before it was computed. A cached
+ * result is returned only while the version is unchanged, so a write made during or
+ * after the computation makes the next call compute the result again. List results are
+ * returned as unmodifiable views, because every caller shares them.
+ */
+class MiningResultCache {
+
+    private final LongSupplier version;
+    private final Cache<List<Object>, VersionedResult> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    MiningResultCache(LongSupplier version, long maximumSize) {
+
+        notNull(version, "version cannot be null.");
+        isTrue(maximumSize > 0, "maximumSize must be greater than 0.");
+        this.version = version;
+        this.results = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    <R> R get(List<Object> key, Supplier<R> query) {
+
+        long current = version.getAsLong();
+        VersionedResult cached = results.getIfPresent(key);
+        if (cached != null && cached.version == current) {
+            hits.increment();
+            return (R) cached.result;
+        }
+        misses.increment();
+        R result = query.get();
+        if (result instanceof List) {
+            result = (R) Collections.unmodifiableList((List<?>) result);
+        }
+        results.put(key, new VersionedResult(current, result));
+        return result;
+    }
+
+    long hitCount() {
+
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of results computed, including those recomputed because the
+     * version changed.
+     */
+    long missCount() {
+
+        return misses.sum();
+    }
+
+    private static final class VersionedResult {
+
+        private final long version;
+        private final Object result;
+
+        private VersionedResult(long version, Object result) {
+
+            this.version = version;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package rockets.mining;
+
+import rockets.mining.primitive.ObjectIntCounter;
+import rockets.model.Launch;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts successful launches per orbit and launch vehicle country.
+ */
+public class OrbitCountryTallies implements LaunchAccumulator {
+
+    private final Map<String, ObjectIntCounter<String>> countryCountsByOrbit = new LinkedHashMap<>();
+    private int scanned;
+
+    @Override
+    public void accept(Launch launch) {
+
+        scanned++;
+        if (launch.getLaunchOutcome() == Launch.LaunchOutcome.SUCCESSFUL) {
+            countryCountsByOrbit.computeIfAbsent(launch.getOrbit(), orbit -> new ObjectIntCounter<>())
+                    .increment(launch.getLaunchVehicle().getCountry());
+        }
+    }
+
+    @Override
+    public LaunchAccumulator emptyCopy() {
+
+        return new OrbitCountryTallies();
+    }
+
+    @Override
+    public void merge(LaunchAccumulator later) {
+
+        OrbitCountryTallies tallies = (OrbitCountryTallies) later;
+        scanned += tallies.scanned;
+        for (Map.Entry<String, ObjectIntCounter<String>> orbit : tallies.countryCountsByOrbit.entrySet()) {
+            countryCountsByOrbit.computeIfAbsent(orbit.getKey(), o -> new ObjectIntCounter<>()).addAll(orbit.getValue());
+        }
+    }
+
+    public Set<String> orbits() {
+
+        return Collections.unmodifiableSet(countryCountsByOrbit.keySet());
+    }
+
+    public List<String> countries(String orbit) {
+
+        ObjectIntCounter<String> countryCounts = countryCountsByOrbit.get(orbit);
+        return countryCounts == null ? Collections.emptyList() : countryCounts.keys();
+    }
+
+    public int count(String orbit, String country) {
+
+        ObjectIntCounter<String> countryCounts = countryCountsByOrbit.get(orbit);
+        return countryCounts == null ? 0 : countryCounts.get(country);
+    }
+
+    /**
+     * @return the country with the most successful launches to the orbit, or null if no
+     * launch was seen at all.
+     */
+    public String dominantCountry(String orbit) {
+
+        if (scanned == 0) {
+            return null;
+        }
+
+        ObjectIntCounter<String> countryCounts = countryCountsByOrbit.get(orbit);
+        if (countryCounts == null) {
+            return "Cannot find any country.";
+        }
+        return TopK.topKeys(countryCounts, 1).get(0);
+    }
+}
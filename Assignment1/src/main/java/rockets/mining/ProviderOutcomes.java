@@ -0,0 +1,100 @@
+package rockets.mining;
+
+import rockets.mining.primitive.ObjectIntCounter;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tallies successful and failed launches per launch service provider.
+ */
+public class ProviderOutcomes implements LaunchAccumulator {
+
+    private final ObjectIntCounter<LaunchServiceProvider> completed = new ObjectIntCounter<>();
+    // successful launches, by position of the provider in completed
+    private int[] successes = new int[8];
+
+    @Override
+    public void accept(Launch launch) {
+
+        Launch.LaunchOutcome outcome = launch.getLaunchOutcome();
+        if (outcome != null) {
+            add(launch.getLaunchServiceProvider(), 1, outcome == Launch.LaunchOutcome.SUCCESSFUL ? 1 : 0);
+        }
+    }
+
+    private void add(LaunchServiceProvider provider, int launches, int successful) {
+
+        int index = completed.add(provider, launches);
+        if (index == successes.length) {
+            successes = Arrays.copyOf(successes, index * 2);
+        }
+        successes[index] += successful;
+    }
+
+    @Override
+    public LaunchAccumulator emptyCopy() {
+
+        return new ProviderOutcomes();
+    }
+
+    @Override
+    public void merge(LaunchAccumulator later) {
+
+        ProviderOutcomes outcomes = (ProviderOutcomes) later;
+        for (int index = 0; index < outcomes.completed.size(); index++) {
+            add(outcomes.completed.keyAt(index), outcomes.completed.countAt(index), outcomes.successes[index]);
+        }
+    }
+
+    public List<LaunchServiceProvider> providers() {
+
+        return completed.keys();
+    }
+
+    public int successes(LaunchServiceProvider provider) {
+
+        int index = completed.indexOf(provider);
+        return index < 0 ? 0 : successes[index];
+    }
+
+    public int failures(LaunchServiceProvider provider) {
+
+        int index = completed.indexOf(provider);
+        return index < 0 ? 0 : completed.countAt(index) - successes[index];
+    }
+
+    /**
+     * @return the k providers with the highest success ratio, or null if no completed
+     * launch was seen.
+     */
+    public List<LaunchServiceProvider> mostReliable(int k) {
+
+        return mostReliable(k, ReliabilityRanking.SUCCESS_RATIO);
+    }
+
+    /**
+     * @return the k most reliable providers under the ranking, most reliable first, or
+     * null if no completed launch was seen. Providers that rank equal keep the order in
+     * which they were first seen.
+     */
+    public List<LaunchServiceProvider> mostReliable(int k, ReliabilityRanking ranking) {
+
+        if (completed.isEmpty()) {
+            return null;
+        }
+
+        TopK<Integer> topK = new TopK<>(k, (a, b) -> ranking.compare(successes[a], completed.countAt(a), successes[b], completed.countAt(b)));
+        for (int index = 0; index < completed.size(); index++) {
+            topK.offer(index);
+        }
+        List<LaunchServiceProvider> result = new ArrayList<>(topK.size());
+        for (int index : topK.toList()) {
+            result.add(completed.keyAt(index));
+        }
+        return result;
+    }
+}
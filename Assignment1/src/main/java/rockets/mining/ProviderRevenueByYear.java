@@ -0,0 +1,214 @@
+package rockets.mining;
+
+import rockets.mining.primitive.IntObjectMap;
+import rockets.mining.primitive.ObjectLongAccumulator;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sums the price of launches per launch service provider and launch year.
+ * <p>
+ * The prices of a year are summed as unscaled longs at the largest scale of the year's
+ * prices, so adding a price and ranking the providers do not allocate. Each sum is
+ * returned with the largest scale of the provider's own prices, which makes it equal,
+ * scale included, to the sum of the prices with {@link BigDecimal#add}. A year whose
+ * sums do not fit in a long any more is summed with BigDecimal from then on.
+ */
+public class ProviderRevenueByYear implements LaunchAccumulator {
+
+    private final IntObjectMap<Revenue> revenueByYear = new IntObjectMap<>();
+
+    @Override
+    public void accept(Launch launch) {
+
+        if (launch.getPrice() != null) {
+            revenueByYear.computeIfAbsent(launch.getLaunchDate().getYear(), year -> new Revenue())
+                    .add(launch.getLaunchServiceProvider(), launch.getPrice());
+        }
+    }
+
+    @Override
+    public LaunchAccumulator emptyCopy() {
+
+        return new ProviderRevenueByYear();
+    }
+
+    @Override
+    public void merge(LaunchAccumulator later) {
+
+        IntObjectMap<Revenue> laterRevenue = ((ProviderRevenueByYear) later).revenueByYear;
+        for (int index = 0; index < laterRevenue.size(); index++) {
+            revenueByYear.computeIfAbsent(laterRevenue.keyAt(index), year -> new Revenue()).addAll(laterRevenue.valueAt(index));
+        }
+    }
+
+    /**
+     * @return the years with a priced launch, in first-seen order.
+     */
+    public int[] years() {
+
+        return revenueByYear.keys();
+    }
+
+    /**
+     * @return the providers with a priced launch in the year, in first-seen order.
+     */
+    public List<LaunchServiceProvider> providers(int year) {
+
+        Revenue revenue = revenueByYear.get(year);
+        return revenue == null ? Collections.emptyList() : revenue.providers();
+    }
+
+    public BigDecimal revenue(LaunchServiceProvider provider, int year) {
+
+        Revenue revenue = revenueByYear.get(year);
+        return revenue == null ? null : revenue.get(provider);
+    }
+
+    /**
+     * @return k providers ranked by their revenue in the year, lowest first, or null if
+     * no priced launch was seen in that year. Providers with the same revenue rank in
+     * first-seen order.
+     */
+    public List<LaunchServiceProvider> ranked(int k, int year) {
+
+        Revenue revenue = revenueByYear.get(year);
+        return revenue == null ? null : revenue.ranked(k);
+    }
+
+    /**
+     * The revenue of one year per provider.
+     */
+    private static final class Revenue {
+
+        private static final long[] POWERS_OF_TEN = new long[19];
+
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+
+        // unscaled sums at the common scale, until one leaves the long range
+        private ObjectLongAccumulator<LaunchServiceProvider> sums = new ObjectLongAccumulator<>();
+        private int scale;
+        // the largest scale of the prices of each provider, by position in the sums
+        private int[] scales = new int[8];
+        // the sums once they are kept as BigDecimal
+        private Map<LaunchServiceProvider, BigDecimal> exact;
+
+        private void add(LaunchServiceProvider provider, BigDecimal price) {
+
+            if (exact == null) {
+                try {
+                    addUnscaled(provider, price.unscaledValue().longValueExact(), price.scale());
+                    return;
+                } catch (ArithmeticException e) {
+                    exact = toBigDecimals();
+                    sums = null;
+                    scales = null;
+                }
+            }
+            exact.merge(provider, price, BigDecimal::add);
+        }
+
+        /**
+         * Adds a price at the common scale, moving the sums to the scale of the price first
+         * if it is finer. Throws an {@link ArithmeticException} without changing any sum if
+         * the price or a sum does not fit at the new scale.
+         */
+        private void addUnscaled(LaunchServiceProvider provider, long unscaled, int priceScale) {
+
+            int newScale = sums.isEmpty() ? priceScale : Math.max(scale, priceScale);
+            long value = Math.multiplyExact(unscaled, powerOfTen(newScale - priceScale));
+            if (newScale != scale && !sums.isEmpty()) {
+                sums.multiplyAll(powerOfTen(newScale - scale));
+            }
+            scale = newScale;
+
+            int known = sums.size();
+            int index = sums.add(provider, value);
+            if (index == known) {
+                if (index == scales.length) {
+                    scales = Arrays.copyOf(scales, index * 2);
+                }
+                scales[index] = priceScale;
+            } else {
+                scales[index] = Math.max(scales[index], priceScale);
+            }
+        }
+
+        private void addAll(Revenue later) {
+
+            for (LaunchServiceProvider provider : later.providers()) {
+                add(provider, later.get(provider));
+            }
+        }
+
+        private List<LaunchServiceProvider> providers() {
+
+            return exact == null ? sums.keys() : Collections.unmodifiableList(new ArrayList<>(exact.keySet()));
+        }
+
+        private BigDecimal get(LaunchServiceProvider provider) {
+
+            if (exact != null) {
+                return exact.get(provider);
+            }
+            int index = sums.indexOf(provider);
+            return index < 0 ? null : sumAt(index);
+        }
+
+        private BigDecimal sumAt(int index) {
+
+            // exact, as every price of the provider has a scale of at most scales[index]
+            return BigDecimal.valueOf(sums.sumAt(index), scale).setScale(scales[index], RoundingMode.UNNECESSARY);
+        }
+
+        private Map<LaunchServiceProvider, BigDecimal> toBigDecimals() {
+
+            Map<LaunchServiceProvider, BigDecimal> result = new LinkedHashMap<>();
+            for (int index = 0; index < sums.size(); index++) {
+                result.put(sums.keyAt(index), sumAt(index));
+            }
+            return result;
+        }
+
+        private List<LaunchServiceProvider> ranked(int k) {
+
+            if (exact != null) {
+                return TopK.select(exact.keySet(), k, Comparator.comparing(exact::get));
+            }
+
+            // the sums share one scale, so they compare as longs
+            TopK<Integer> topK = new TopK<>(k, (a, b) -> Long.compare(sums.sumAt(a), sums.sumAt(b)));
+            for (int index = 0; index < sums.size(); index++) {
+                topK.offer(index);
+            }
+            List<LaunchServiceProvider> result = new ArrayList<>(topK.size());
+            for (int index : topK.toList()) {
+                result.add(sums.keyAt(index));
+            }
+            return result;
+        }
+
+        private static long powerOfTen(int exponent) {
+
+            if (exponent >= POWERS_OF_TEN.length) {
+                throw new ArithmeticException("10^" + exponent + " does not fit in a long.");
+            }
+            return POWERS_OF_TEN[exponent];
+        }
+    }
+}
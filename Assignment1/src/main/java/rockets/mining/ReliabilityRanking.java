@@ -0,0 +1,68 @@
+package rockets.mining;
+
+/**
+ * How launch service providers are ranked by the outcomes of their launches, most
+ * reliable first. Providers that rank equal are ranked by their number of completed
+ * launches, most first.
+ */
+public enum ReliabilityRanking {
+
+    /**
+     * By the ratio of successful to completed launches. Ratios are compared exactly, by
+     * cross-multiplying their terms.
+     */
+    SUCCESS_RATIO {
+        @Override
+        int compareOutcomes(int successesA, int launchesA, int successesB, int launchesB) {
+
+            // a/b > c/d if a*d > c*b; the products of two ints fit in a long
+            return Long.compare((long) successesB * launchesA, (long) successesA * launchesB);
+        }
+    },
+
+    /**
+     * By the lower bound of the Wilson score interval of the success ratio at 95%
+     * confidence, which ranks a provider with few launches below one with a similar ratio
+     * over many launches. A provider with 1 success in 1 launch ranks below one with 95
+     * successes in 100 launches, for example.
+     */
+    WILSON_SCORE {
+        @Override
+        int compareOutcomes(int successesA, int launchesA, int successesB, int launchesB) {
+
+            return Double.compare(wilsonLowerBound(successesB, launchesB), wilsonLowerBound(successesA, launchesA));
+        }
+    };
+
+    private static final double Z = 1.959963984540054;
+
+    /**
+     * Compares the reliability of two providers, given their successful and completed
+     * launches.
+     *
+     * @return a negative number if provider A is more reliable than provider B, zero if
+     * they rank equal and a positive number otherwise.
+     */
+    public int compare(int successesA, int launchesA, int successesB, int launchesB) {
+
+        int result = compareOutcomes(successesA, launchesA, successesB, launchesB);
+        return result != 0 ? result : Integer.compare(launchesB, launchesA);
+    }
+
+    abstract int compareOutcomes(int successesA, int launchesA, int successesB, int launchesB);
+
+    /**
+     * @return the lower bound of the Wilson score interval of the success ratio at 95%
+     * confidence, or 0 if there was no launch.
+     */
+    public static double wilsonLowerBound(int successes, int launches) {
+
+        if (launches == 0) {
+            return 0;
+        }
+        double n = launches;
+        double p = successes / n;
+        double z2 = Z * Z;
+        return (p + z2 / (2 * n) - Z * Math.sqrt(p * (1 - p) / n + z2 / (4 * n * n))) / (1 + z2 / n);
+    }
+}
@@ -0,0 +1,56 @@
+package rockets.mining;
+
+import rockets.mining.primitive.ObjectIntCounter;
+import rockets.model.Launch;
+import rockets.model.Rocket;
+
+import java.util.List;
+
+/**
+ * Counts completed launches, i.e. launches with a known outcome, per rocket.
+ */
+public class RocketLaunchCounts implements LaunchAccumulator {
+
+    private final ObjectIntCounter<Rocket> launchCounts = new ObjectIntCounter<>();
+
+    @Override
+    public void accept(Launch launch) {
+
+        if (launch.getLaunchOutcome() != null) {
+            launchCounts.increment(launch.getLaunchVehicle());
+        }
+    }
+
+    @Override
+    public LaunchAccumulator emptyCopy() {
+
+        return new RocketLaunchCounts();
+    }
+
+    @Override
+    public void merge(LaunchAccumulator later) {
+
+        launchCounts.addAll(((RocketLaunchCounts) later).launchCounts);
+    }
+
+    public List<Rocket> rockets() {
+
+        return launchCounts.keys();
+    }
+
+    public int count(Rocket rocket) {
+
+        return launchCounts.get(rocket);
+    }
+
+    /**
+     * @return the k most launched rockets, or null if no completed launch was seen.
+     */
+    public List<Rocket> mostLaunched(int k) {
+
+        if (launchCounts.isEmpty()) {
+            return null;
+        }
+        return TopK.topKeys(launchCounts, k);
+    }
+}
@@ -1,170 +1,168 @@
 package rockets.mining;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import rockets.dataaccess.AggregationDAO;
 import rockets.dataaccess.DAO;
+import rockets.dataaccess.Pages;
+import rockets.metrics.Metrics;
+import rockets.metrics.OperationMetrics;
+import rockets.metrics.QueryTrace;
+import rockets.metrics.QueryTracer;
+import rockets.mining.primitive.ObjectIntCounter;
 import rockets.model.Launch;
 import rockets.model.LaunchServiceProvider;
 import rockets.model.Rocket;
 
 import java.math.BigDecimal;
-import java.security.Provider;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.commons.lang3.Validate.*;
 
+/**
+ * Answers the mining queries. Launch queries are answered from the materialized views
+ * when the miner has them, in the database when the DAO is an {@link AggregationDAO}
+ * that supports it, and otherwise by a single pass over the loaded or streamed launches.
+ * A miner built with {@link Builder#timeIndex(LaunchTimeIndex)} answers the most recent,
+ * per-year revenue and date range queries from the index instead.
+ * A miner built with {@link Builder#cacheResults(LongSupplier, long)} answers repeated
+ * queries from its cache until the data changes, and one built with
+ * {@link Builder#metrics(Metrics)} records every query as the operation
+ * {@code miner.<query>}. Queries are traced with the miner's {@link QueryTracer}, which by
+ * default logs every call at info level.
+ */
 public class RocketMiner {
 
-    private static Logger logger = LoggerFactory.getLogger(RocketMiner.class);
+    // the most launches read from the database at a time for the most recent launches
+    private static final int RECENT_PAGE_SIZE = 1000;
+
     private DAO dao;
+    private LaunchAggregationPipeline pipeline;
+    private LaunchViews views;
+    private LaunchTimeIndex timeIndex;
+    private MiningResultCache resultCache;
+    private Metrics metrics = Metrics.NOOP;
+    private QueryTracer tracer = QueryTracer.builder(RocketMiner.class).build();
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
 
     public RocketMiner(DAO dao) {
 
         this.dao = dao;
+        this.pipeline = new LaunchAggregationPipeline(dao);
     }
 
     /**
-     * TODO: to be implemented & tested!
-     * Returns the top-k most active rockets, as measured by number of completed launches.
-     *
-     * @param k the number of rockets to be returned.
-     * @return the list of k most active rockets.
+     * Creates a miner that answers the rocket, reliability, revenue and dominant country
+     * queries from materialized views instead of scanning the launches. The views must
+     * be built from the same DAO and kept up to date as one of its listeners.
      */
-    public List<Rocket> mostLaunchedRockets(int k) {
-
-        isTrue(k > 0, "k must be greater than 0.");
+    public RocketMiner(DAO dao, LaunchViews views) {
 
-        logger.info("find most active " + k + " rockets.");
-        Collection<Launch> launches = dao.loadAll(Launch.class);
-        List<Rocket> rockets = new ArrayList<Rocket>();
-
-        if(launches.size() == 0){
-            return null;
-        }
+        this(dao);
+        notNull(views, "views cannot be null.");
+        this.views = views;
+    }
 
-        for(Launch launch : launches){
+    private RocketMiner(Builder builder) {
+
+        this.dao = builder.dao;
+        LaunchAggregationPipeline pipeline = builder.pool == null
+                ? new LaunchAggregationPipeline(builder.dao)
+                : new LaunchAggregationPipeline(builder.dao, builder.pool, builder.threshold);
+        this.pipeline = builder.pageSize == 0 ? pipeline : pipeline.streaming(builder.pageSize);
+        this.views = builder.views;
+        this.timeIndex = builder.timeIndex;
+        this.resultCache = builder.version == null ? null : new MiningResultCache(builder.version, builder.maximumResults);
+        this.metrics = builder.metrics;
+        this.tracer = builder.tracer == null ? tracer : builder.tracer;
+    }
 
-            if(launch.getLaunchOutcome() != null){
+    public static Builder builder(DAO dao) {
 
-                rockets.add(launch.getLaunchVehicle());
-            }
-        }
+        return new Builder(dao);
+    }
 
-        if(rockets.size() == 0){
-            return null;
-        }
+    /**
+     * Starts a batch of launch mining queries that are answered together by a single
+     * pass over the launches.
+     *
+     * @return an empty batch.
+     */
+    public MiningBatch batch() {
 
-        Comparator<Rocket> rocketCountComparator = (a, b) -> -Collections.frequency(rockets, a) + Collections.frequency(rockets, b);
-        List<Rocket> rocketsSorted = rockets.stream().sorted(rocketCountComparator).collect(Collectors.toList());
-        List<Rocket> rocketsResult = new ArrayList<>();
+        return new MiningBatch(pipeline);
+    }
 
-        for(Rocket rocket : rocketsSorted){
+    /**
+     * TODO: to be implemented & tested!
+     * Returns the top-k most active rockets, as measured by number of completed launches.
+     *
+     * @param k the number of rockets to be returned.
+     * @return the list of k most active rockets.
+     */
+    public List<Rocket> mostLaunchedRockets(int k) {
 
-            if (Collections.frequency(rocketsResult, rocket) < 1){
+        MiningArguments.checkK(k);
 
-                rocketsResult.add(rocket);
+        return cached("mostLaunchedRockets", trace -> {
+            if (views != null) {
+                checkViews(trace);
+                return views.mostLaunchedRockets(k);
             }
-        }
-
-        if(rocketsResult.size() < k){
-            k = rocketsResult.size();
-        }
-
-        return rocketsResult.subList(0,k);
+            AggregationDAO aggregation = aggregationDAO();
+            if (aggregation != null) {
+                return nullIfEmpty(aggregation.rocketsByLaunchCount(k));
+            }
+            return single(trace, batch -> batch.mostLaunchedRockets(k));
+        }, k);
     }
 
 
     /**
-     * TODO: to be implemented & tested!
      * <p>
      * Returns the top-k most reliable launch service providers as measured
-     * by percentage of successful launches.
+     * by percentage of successful launches, highest first.
      *
      * @param k the number of launch service providers to be returned.
      * @return the list of k most reliable ones.
      */
     public List<LaunchServiceProvider> mostReliableLaunchServiceProviders(int k) {
 
-        isTrue(k > 0, "k must be greater than 0.");
-
-        logger.info("find most reliable " + k + " launch service providers.");
-        Collection<Launch> launches = dao.loadAll(Launch.class);
-        Map<LaunchServiceProvider, List<Launch.LaunchOutcome>> lspAndLocs = new HashMap<>();
-
-        if(launches.size() == 0){
-            return null;
-        }
-
-        for(Launch launch : launches){
-
-            if(launch.getLaunchOutcome() != null){
-
-                if(lspAndLocs.containsKey(launch.getLaunchServiceProvider())){
-
-                    lspAndLocs.get(launch.getLaunchServiceProvider()).add(launch.getLaunchOutcome());
-                }
-                else{
-
-                    List<Launch.LaunchOutcome> locs = new ArrayList<>();
-                    locs.add(launch.getLaunchOutcome());
-                    lspAndLocs.put(launch.getLaunchServiceProvider(), locs);
-                }
-            }
-        }
-
-        if(lspAndLocs.size() == 0){
-            return null;
-        }
-
-        Set<LaunchServiceProvider> lspList = lspAndLocs.keySet();
-        List<LaunchServiceProvider> lspResult = new ArrayList<>(lspList);
-
-        Comparator<LaunchServiceProvider> lspReliableComparator = (a, b) -> {
-            int aSuccess = 0;
-            int aFail = 0;
-            int bSuccess = 0;
-            int bFail = 0;
-            List<Launch.LaunchOutcome> aList = lspAndLocs.get(a);
-            List<Launch.LaunchOutcome> bList = lspAndLocs.get(b);
-
-            for(Launch.LaunchOutcome loc : aList){
+        return mostReliableLaunchServiceProviders(k, ReliabilityRanking.SUCCESS_RATIO);
+    }
 
-                if(loc == Launch.LaunchOutcome.FAILED){
-                    aFail += 1;
-                }
-                if(loc == Launch.LaunchOutcome.SUCCESSFUL){
-                    aSuccess += 1;
-                }
-            }
+    /**
+     * <p>
+     * Returns the top-k most reliable launch service providers under the ranking. The
+     * database only ranks by {@link ReliabilityRanking#SUCCESS_RATIO}, so other rankings
+     * are computed from the views or the launches.
+     *
+     * @param k       the number of launch service providers to be returned.
+     * @param ranking how the reliability of the providers is compared.
+     * @return the list of k most reliable ones.
+     */
+    public List<LaunchServiceProvider> mostReliableLaunchServiceProviders(int k, ReliabilityRanking ranking) {
 
-            for(Launch.LaunchOutcome loc : bList){
-                if(loc == Launch.LaunchOutcome.FAILED){
-                    bFail += 1;
-                }
-                if(loc == Launch.LaunchOutcome.SUCCESSFUL){
-                    bSuccess += 1;
-                }
-            }
+        MiningArguments.checkK(k);
+        MiningArguments.checkRanking(ranking);
 
-            if(aSuccess/(aSuccess + aFail) > bSuccess/(bSuccess + bFail)){
-                return 1;
-            }
-            else if(aSuccess/(aSuccess + aFail) == bSuccess/(bSuccess + bFail)){
-                return 0;
+        return cached("mostReliableLaunchServiceProviders", trace -> {
+            if (views != null) {
+                checkViews(trace);
+                return views.mostReliableLaunchServiceProviders(k, ranking);
             }
-            else{
-                return -1;
+            AggregationDAO aggregation = ranking == ReliabilityRanking.SUCCESS_RATIO ? aggregationDAO() : null;
+            if (aggregation != null) {
+                return nullIfEmpty(aggregation.providersBySuccessRatio(k));
             }
-        };
-
-        lspResult.sort(lspReliableComparator);
-
-        if(k > lspResult.size()){
-            k = lspResult.size();
-        }
-
-        return lspResult.subList(0,k);
+            return single(trace, batch -> batch.mostReliableLaunchServiceProviders(k, ranking));
+        }, k, ranking);
     }
 
     /**
@@ -176,17 +174,39 @@ public class RocketMiner {
      */
     public List<Launch> mostRecentLaunches(int k) {
 
-        isTrue(k > 0, "k must be greater than 0.");
+        MiningArguments.checkK(k);
+
+        return cached("mostRecentLaunches", trace -> {
+            if (timeIndex != null) {
+                return timeIndex.mostRecent(k);
+            }
+            AggregationDAO aggregation = aggregationDAO();
+            if (aggregation != null) {
+                return mostRecent(aggregation, k, trace);
+            }
+            return single(trace, batch -> batch.mostRecentLaunches(k));
+        }, k);
+    }
 
-        logger.info("find most recent " + k + " launches.");
-        Collection<Launch> launches = dao.loadAll(Launch.class);
-        Comparator<Launch> launchDateComparator = (a, b) -> -a.getLaunchDate().compareTo(b.getLaunchDate());
+    /**
+     * <p>
+     * Returns the launches on or after a date and before another, by launch date.
+     * Launches of the same day are returned in launch order.
+     *
+     * @param from the first day of the range.
+     * @param to   the day after the last day of the range.
+     * @return the list of launches in the range, empty if there is none.
+     */
+    public List<Launch> launchesBetween(LocalDate from, LocalDate to) {
 
-        if(launches == null){
-            return null;
-        }
+        MiningArguments.checkRange(from, to);
 
-        return launches.stream().sorted(launchDateComparator).limit(k).collect(Collectors.toList());
+        return cached("launchesBetween", trace -> {
+            if (timeIndex != null) {
+                return timeIndex.between(from, to);
+            }
+            return single(trace, batch -> batch.launchesBetween(from, to));
+        }, from, to);
     }
 
     /**
@@ -199,36 +219,23 @@ public class RocketMiner {
      */
     public String dominantCountry(String orbit) {
 
-        notBlank(orbit, "orbit cannot be null or empty.");
-        isTrue(orbit.equals(orbit.trim()), "There should be no empty space at the beginning or the end of a orbit.");
-        inclusiveBetween(2,10, orbit.length(), "The length of the orbit must be equal or greater than 2 and equal or smaller than 10.");
-        isTrue("LEO".equals(orbit) || "GTO".equals(orbit) || "Other".equals(orbit), "The orbit must be 'GTO', 'LEO' or 'Other'.");
+        MiningArguments.checkOrbit(orbit);
 
-        logger.info("find the dominant country who has the most launched rockets in " + orbit +".");
-        Collection<Launch> launches = dao.loadAll(Launch.class);
-        List<Launch> launchList = new ArrayList<>();
-        List<String> countryList = new ArrayList<>();
-
-        if(launches.size() == 0){
-            return null;
-        }
-
-        for(Launch launch : launches){
-
-            if(launch.getLaunchOutcome() == Launch.LaunchOutcome.SUCCESSFUL && launch.getOrbit().equals(orbit)){
-                launchList.add(launch);
-                countryList.add(launch.getLaunchVehicle().getCountry());
+        return cached("dominantCountry", trace -> {
+            if (views != null) {
+                checkViews(trace);
+                return views.dominantCountry(orbit);
             }
-        }
-
-        Comparator<String> dominantCountryComparator = (a, b) -> -Collections.frequency(countryList, a) + Collections.frequency(countryList, b);
-        countryList.sort(dominantCountryComparator);
-
-        if(countryList.size() == 0){
-            return "Cannot find any country.";
-        }
-
-        return countryList.get(0);
+            AggregationDAO aggregation = aggregationDAO();
+            if (aggregation != null) {
+                if (aggregation.count(Launch.class) == 0) {
+                    return null;
+                }
+                List<String> countries = aggregation.countriesBySuccessfulLaunches(orbit, 1);
+                return countries.isEmpty() ? "Cannot find any country." : countries.get(0);
+            }
+            return single(trace, batch -> batch.dominantCountry(orbit));
+        }, orbit);
     }
 
     /**
@@ -241,35 +248,9 @@ public class RocketMiner {
      */
     public List<Launch> mostExpensiveLaunches(int k) {
 
-        isTrue(k > 0, "k must be greater than 0.");
-
-        logger.info("find the top " + k + " most expensive launches.");
-        Collection<Launch> launches = dao.loadAll(Launch.class);
-        List<Launch> launchList = new ArrayList<>();
-
-        if(launches.size() == 0){
-            return null;
-        }
-
-        for(Launch launch : launches){
-
-            if(launch.getPrice() != null){
-                launchList.add(launch);
-            }
-        }
-
-        if(launchList.size() == 0){
-            return null;
-        }
-
-        Comparator<Launch> mostExpensiveLaunchesComparator = (a, b) -> -a.getPrice().compareTo(b.getPrice());
-        launchList.sort(mostExpensiveLaunchesComparator);
-
-        if(k > launchList.size()){
-            k = launchList.size();
-        }
+        MiningArguments.checkK(k);
 
-        return launchList.subList(0,k);
+        return cached("mostExpensiveLaunches", trace -> single(trace, batch -> batch.mostExpensiveLaunches(k)), k);
     }
 
     /**
@@ -284,80 +265,118 @@ public class RocketMiner {
      */
     public List<LaunchServiceProvider> highestRevenueLaunchServiceProviders(int k, int year) {
 
-        isTrue(k > 0, "k must be greater than 0.");
-        isTrue(Calendar.getInstance().get(Calendar.YEAR) >= year && year >= 1500, "year must be greater than 1500.");
+        MiningArguments.checkK(k);
+        MiningArguments.checkYear(year);
 
+        return cached("highestRevenueLaunchServiceProviders", trace -> {
+            if (views != null) {
+                checkViews(trace);
+                return views.highestRevenueLaunchServiceProviders(k, year);
+            }
+            if (timeIndex != null) {
+                ProviderRevenueByYear revenue = new ProviderRevenueByYear();
+                trace.scanned(timeIndex.scanYear(year, revenue));
+                return revenue.ranked(k, year);
+            }
+            AggregationDAO aggregation = aggregationDAO();
+            if (aggregation != null) {
+                return nullIfEmpty(aggregation.providersByRevenue(k, year));
+            }
+            return single(trace, batch -> batch.highestRevenueLaunchServiceProviders(k, year));
+        }, k, year);
+    }
 
-        logger.info("find the top " + k + " highest sales revenue in a year.");
-        Collection<Launch> launches = dao.loadAll(Launch.class);
-        List<Launch> launchList = new ArrayList<>();
+    /**
+     * @return the cached result of the query with the given name and arguments, if the
+     * miner caches results and the data has not changed since it was computed. The query
+     * is traced and recorded in the metrics either way.
+     */
+    private <R> R cached(String query, Function<QueryTrace, R> answer, Object... arguments) {
 
-        if(launches.size() == 0){
-            return null;
+        if (resultCache == null) {
+            return traced(query, answer, arguments);
         }
+        List<Object> key = new ArrayList<>(arguments.length + 1);
+        key.add(query);
+        Collections.addAll(key, arguments);
+        return traced(query, trace -> resultCache.get(key, () -> answer.apply(trace)), arguments);
+    }
 
-        for(Launch launch : launches){
+    /**
+     * Answers the query, tracing the call and recording its latency and the number of
+     * rows it returned.
+     */
+    private <R> R traced(String query, Function<QueryTrace, R> answer, Object... arguments) {
 
-            if(launch.getLaunchDate().getYear() == year && launch.getPrice() != null){
-                launchList.add(launch);
-            }
+        OperationMetrics operation = operations.get(query);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(query, name -> metrics.operation("miner." + name));
         }
+        OperationMetrics measured = operation;
+        return tracer.trace(query, trace -> measured.measure(() -> answer.apply(trace), OperationMetrics::rowsOf), arguments);
+    }
 
-        if(launchList.size() == 0){
-            return null;
-        }
-
-        Map<LaunchServiceProvider, List<BigDecimal>> lspRevenue = new HashMap<>();
-
-        for(Launch launch : launchList){
-
-            if(lspRevenue.containsKey(launch.getLaunchServiceProvider())){
+    private <R> R single(QueryTrace trace, Function<MiningBatch, MiningBatch.Result<R>> query) {
 
-                lspRevenue.get(launch.getLaunchServiceProvider()).add(launch.getPrice());
-            }
-            else{
+        MiningBatch batch = batch();
+        MiningBatch.Result<R> result = query.apply(batch);
+        batch.run();
+        trace.scanned(batch.scanned());
+        return result.get();
+    }
 
-                List<BigDecimal> revenue = new ArrayList<>();
-                revenue.add(launch.getPrice());
-                lspRevenue.put(launch.getLaunchServiceProvider(), revenue);
-            }
-        }
+    /**
+     * @return the DAO if it can run the aggregations in the database, null if the
+     * launches have to be aggregated in memory.
+     */
+    private AggregationDAO aggregationDAO() {
 
-        if(lspRevenue.size() == 0){
-            return null;
+        if (dao instanceof AggregationDAO && ((AggregationDAO) dao).supportsAggregation()) {
+            return (AggregationDAO) dao;
         }
+        return null;
+    }
 
-        Set<LaunchServiceProvider> lspList = lspRevenue.keySet();
-
-        Comparator<LaunchServiceProvider> lspRevenueComparator = (a,b) -> {
-
-            BigDecimal aRevenue = new BigDecimal(0);
-            BigDecimal bRevenue = new BigDecimal(0);
+    /**
+     * Reads the launches most recent first from the database, a page at a time, and stops
+     * after k of them, so only the pages holding them are transferred.
+     */
+    private static List<Launch> mostRecent(AggregationDAO aggregation, int k, QueryTrace trace) {
 
-            List<BigDecimal> aPrice = lspRevenue.get(a);
-            List<BigDecimal> bPrice = lspRevenue.get(b);
+        Pages.Loader<Launch> loader = (offset, limit) -> {
+            List<Launch> page = aggregation.launchesByDateDescending(offset, limit);
+            trace.scanned(page.size());
+            return page;
+        };
+        try (Stream<Launch> launches = Pages.stream(loader, Math.min(k, RECENT_PAGE_SIZE), page -> {
+        })) {
+            return launches.limit(k).collect(Collectors.toList());
+        }
+    }
 
-            for(BigDecimal price : aPrice){
-                aRevenue = aRevenue.add(price);
-            }
+    private static <T> List<T> nullIfEmpty(List<T> result) {
 
-            for(BigDecimal price : bPrice){
-                bRevenue = bRevenue.add(price);
-            }
+        return result.isEmpty() ? null : result;
+    }
 
-            return aRevenue.compareTo(bRevenue);
-        };
+    private void checkViews(QueryTrace trace) {
 
-        if(k > lspList.size()){
-            k = lspList.size();
+        if (views.isConsistencyCheck()) {
+            Collection<Launch> launches = dao.loadAll(Launch.class);
+            trace.scanned(launches.size());
+            List<String> differences = views.differences(launches);
+            validState(differences.isEmpty(), "The materialized views differ from a full recompute: %s", differences);
         }
-
-        return lspList.stream().sorted(lspRevenueComparator).limit(k).collect(Collectors.toList());
     }
 
     public List<LaunchServiceProvider> providersWithLongestHistory(int k) {
         isTrue(k > 0, "k must be greater than 0");
+        return traced("providersWithLongestHistory", trace -> longestHistory(k, trace), k);
+    }
+
+    private List<LaunchServiceProvider> longestHistory(int k, QueryTrace trace) {
         Collection<LaunchServiceProvider> providers = dao.loadAll(LaunchServiceProvider.class);
+        trace.scanned(providers.size());
         List<LaunchServiceProvider> providerList = new ArrayList<>();
 
         if (providers.size() == 0) {
@@ -387,33 +406,135 @@ public class RocketMiner {
 
     public List<String> countriesWithTheMostProviders(int k){
         isTrue(k > 0, "k must be greater than 0.");
+        return traced("countriesWithTheMostProviders", trace -> mostProviders(k, trace), k);
+    }
+
+    private List<String> mostProviders(int k, QueryTrace trace){
         Collection<LaunchServiceProvider> providers = dao.loadAll(LaunchServiceProvider.class);
-        ArrayList<String> countries= new ArrayList<String>();
+        trace.scanned(providers.size());
+        ObjectIntCounter<String> countryCounts = new ObjectIntCounter<>();
         for(LaunchServiceProvider provider: providers){
-            countries.add(provider.getCountry());
+            countryCounts.increment(provider.getCountry());
         }
 
 
-        if(countries.size() == 0){
+        if(countryCounts.size() == 0){
             return null;
         }
 
-        Comparator<String> countriesComparator = (a, b) -> -Collections.frequency(countries, a) + Collections.frequency(countries, b);
-        List<String> countriesSorted = countries.stream().sorted(countriesComparator).collect(Collectors.toList());
-        List<String> countryResult = new ArrayList<>();
+        return TopK.topKeys(countryCounts, k);
+    }
 
-        for(String country : countriesSorted){
+    /**
+     * Configures the optional execution modes of a {@link RocketMiner}.
+     */
+    public static class Builder {
+
+        private final DAO dao;
+        private LaunchViews views;
+        private LaunchTimeIndex timeIndex;
+        private ForkJoinPool pool;
+        private int threshold;
+        private int pageSize;
+        private LongSupplier version;
+        private long maximumResults;
+        private Metrics metrics = Metrics.NOOP;
+        private QueryTracer tracer;
+
+        private Builder(DAO dao) {
+
+            notNull(dao, "dao cannot be null.");
+            this.dao = dao;
+        }
 
-            if (Collections.frequency(countryResult, country) < 1){
+        /**
+         * Answers the queries the views support from the views.
+         */
+        public Builder views(LaunchViews views) {
 
-                countryResult.add(country);
-            }
+            notNull(views, "views cannot be null.");
+            this.views = views;
+            return this;
+        }
+
+        /**
+         * Answers the most recent launches, the revenue of a year and the launches of a
+         * date range from the index. The index must be built from the same DAO and kept
+         * up to date as one of its listeners.
+         */
+        public Builder timeIndex(LaunchTimeIndex timeIndex) {
+
+            notNull(timeIndex, "timeIndex cannot be null.");
+            this.timeIndex = timeIndex;
+            return this;
+        }
+
+        /**
+         * Aggregates the launches in parallel on the pool, in slices of at most
+         * threshold launches. Results are identical to the sequential mode, ties included.
+         */
+        public Builder parallel(ForkJoinPool pool, int threshold) {
+
+            notNull(pool, "pool cannot be null.");
+            isTrue(threshold > 0, "threshold must be greater than 0.");
+            this.pool = pool;
+            this.threshold = threshold;
+            return this;
         }
 
-        if(countryResult.size() < k){
-            k = countryResult.size();
+        /**
+         * Reads the launches from the DAO in pages of pageSize launches instead of loading
+         * them all, so the in-memory aggregations run with memory bounded by the page size
+         * and the number of distinct rockets, providers and countries.
+         */
+        public Builder streaming(int pageSize) {
+
+            isTrue(pageSize > 0, "pageSize must be greater than 0.");
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Caches the results of the launch queries by query and arguments. A cached result
+         * is returned only while the version is the one read before it was computed, so
+         * the version must change with every write, e.g. {@code neo4jDAO::getVersion}.
+         * Cached lists are shared and cannot be modified.
+         *
+         * @param maximumResults the largest number of results kept.
+         */
+        public Builder cacheResults(LongSupplier version, long maximumResults) {
+
+            notNull(version, "version cannot be null.");
+            isTrue(maximumResults > 0, "maximumResults must be greater than 0.");
+            this.version = version;
+            this.maximumResults = maximumResults;
+            return this;
+        }
+
+        /**
+         * Records the latency, result rows and errors of every query in the metrics. Wrap
+         * the DAO in a {@link rockets.dataaccess.MeteredDAO} to record its calls as well.
+         */
+        public Builder metrics(Metrics metrics) {
+
+            notNull(metrics, "metrics cannot be null.");
+            this.metrics = metrics;
+            return this;
         }
 
-        return countryResult.subList(0,k);
+        /**
+         * Traces the queries with the tracer instead of logging every call at info level.
+         */
+        public Builder tracer(QueryTracer tracer) {
+
+            notNull(tracer, "tracer cannot be null.");
+            this.tracer = tracer;
+            return this;
+        }
+
+        public RocketMiner build() {
+
+            return new RocketMiner(this);
+        }
     }
 }
@@ -0,0 +1,254 @@
+package rockets.mining;
+
+import rockets.mining.primitive.ObjectIntCounter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notNull;
+
+/**
+ * Bounded top-k selector.
+ * <p>
+ * For small k, keeps at most k elements in a min-heap whose head is the weakest element
+ * kept so far, so offering n elements costs O(n log k) and memory stays bounded by k.
+ * For larger k, where the heap operations dominate, buffers up to 2k candidates and
+ * selects the k best of them in linear time whenever the buffer fills, which costs O(n)
+ * overall and keeps memory bounded by 2k. Either way, an element that does not beat the
+ * weakest element kept is rejected with a single comparison. Elements that rank equal
+ * keep the order in which they were offered, which makes the result deterministic for a
+ * given input order.
+ *
+ * @param <T> the type of the ranked elements.
+ */
+public class TopK<T> {
+
+    // the largest k kept in a heap, measured by TopKBenchmark
+    static final int HEAP_LIMIT = 8;
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final Comparator<Ranked<T>> rank;
+    private final PriorityQueue<Ranked<T>> heap;
+    // for a larger k: the candidates, of which the k best are selected when 2k are buffered
+    private final int capacity;
+    private Ranked<T>[] buffer;
+    private int buffered;
+    private Ranked<T> weakest;
+    private long sequence;
+
+    /**
+     * @param k     the maximum number of elements to keep.
+     * @param order the ranking order, best element first.
+     */
+    public TopK(int k, Comparator<? super T> order) {
+
+        this(k, order, k <= HEAP_LIMIT);
+    }
+
+    TopK(int k, Comparator<? super T> order, boolean useHeap) {
+
+        isTrue(k > 0, "k must be greater than 0.");
+        notNull(order, "order cannot be null.");
+
+        this.k = k;
+        this.order = order;
+        this.rank = (a, b) -> {
+            int result = order.compare(a.element, b.element);
+            return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+        };
+        this.heap = useHeap ? new PriorityQueue<>(Math.min(k, 1024), rank.reversed()) : null;
+        this.capacity = (int) Math.min(2L * k, Integer.MAX_VALUE - 8);
+        this.buffer = useHeap ? null : newBuffer(Math.min(capacity, 1024));
+    }
+
+    public void offer(T element) {
+
+        long position = sequence++;
+        if (heap != null) {
+            if (heap.size() < k) {
+                heap.add(new Ranked<>(element, position));
+            } else if (order.compare(element, heap.peek().element) < 0) {
+                // an equal element offered later never displaces an earlier one
+                heap.poll();
+                heap.add(new Ranked<>(element, position));
+            }
+            return;
+        }
+
+        if (weakest != null && order.compare(element, weakest.element) >= 0) {
+            return;
+        }
+        if (buffered == buffer.length) {
+            if (buffered == capacity) {
+                selectBest();
+            } else {
+                buffer = Arrays.copyOf(buffer, (int) Math.min(capacity, 2L * buffered));
+            }
+        }
+        buffer[buffered++] = new Ranked<>(element, position);
+    }
+
+    public int size() {
+
+        return heap != null ? heap.size() : Math.min(buffered, k);
+    }
+
+    /**
+     * @return the kept elements, best first.
+     */
+    public List<T> toList() {
+
+        List<Ranked<T>> ranked;
+        if (heap != null) {
+            ranked = new ArrayList<>(heap);
+        } else {
+            if (buffered > k) {
+                selectBest();
+            }
+            ranked = new ArrayList<>(Arrays.asList(buffer).subList(0, buffered));
+        }
+        ranked.sort(rank);
+        List<T> result = new ArrayList<>(ranked.size());
+        for (Ranked<T> r : ranked) {
+            result.add(r.element);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the k best elements under the given order; ties keep their encounter order.
+     */
+    public static <T> List<T> select(Iterable<? extends T> elements, int k, Comparator<? super T> order) {
+
+        TopK<T> topK = new TopK<>(k, order);
+        for (T element : elements) {
+            topK.offer(element);
+        }
+        return topK.toList();
+    }
+
+    /**
+     * Returns the k most frequent elements, most frequent first. Elements with the same
+     * frequency are returned in the order they were first encountered.
+     */
+    public static <T> List<T> mostFrequent(Iterable<? extends T> elements, int k) {
+
+        ObjectIntCounter<T> counts = new ObjectIntCounter<>();
+        for (T element : elements) {
+            counts.increment(element);
+        }
+        return topKeys(counts, k);
+    }
+
+    /**
+     * Returns the k keys with the highest counts, highest first. Keys with the same count
+     * are returned in the order they were first counted.
+     */
+    public static <K> List<K> topKeys(ObjectIntCounter<K> counts, int k) {
+
+        if (counts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        TopK<Integer> topK = new TopK<>(k, (a, b) -> Integer.compare(counts.countAt(b), counts.countAt(a)));
+        for (int index = 0; index < counts.size(); index++) {
+            topK.offer(index);
+        }
+        List<K> result = new ArrayList<>(topK.size());
+        for (int index : topK.toList()) {
+            result.add(counts.keyAt(index));
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the k best buffered candidates, and remembers the weakest of them to reject
+     * the elements that cannot be kept without buffering them.
+     */
+    private void selectBest() {
+
+        select(buffer, 0, buffered - 1, k - 1, rank);
+        Arrays.fill(buffer, k, buffered, null);
+        buffered = k;
+        weakest = buffer[k - 1];
+    }
+
+    /**
+     * Moves the element of rank nth within [from, to] to position nth, with better
+     * elements before it and worse ones after it. This is an introselect: a quickselect
+     * on a median-of-three pivot that sorts the remaining range once it has partitioned
+     * more often than a balanced run would, which bounds the worst case by O(n log n).
+     */
+    static <E> void select(E[] elements, int from, int to, int nth, Comparator<? super E> order) {
+
+        int partitions = 2 * (32 - Integer.numberOfLeadingZeros(to - from + 1));
+        while (from < to) {
+            if (partitions-- == 0) {
+                Arrays.sort(elements, from, to + 1, order);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            if (order.compare(elements[middle], elements[from]) < 0) {
+                swap(elements, from, middle);
+            }
+            if (order.compare(elements[to], elements[from]) < 0) {
+                swap(elements, from, to);
+            }
+            if (order.compare(elements[to], elements[middle]) < 0) {
+                swap(elements, middle, to);
+            }
+            E pivot = elements[middle];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (order.compare(elements[i], pivot) < 0) {
+                    i++;
+                }
+                while (order.compare(elements[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(elements, i++, j--);
+                }
+            }
+            // [from, j] rank at most the pivot, [i, to] at least, and in between equal it
+            if (nth <= j) {
+                to = j;
+            } else if (nth >= i) {
+                from = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static <E> void swap(E[] elements, int i, int j) {
+
+        E element = elements[i];
+        elements[i] = elements[j];
+        elements[j] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Ranked<T>[] newBuffer(int length) {
+
+        return (Ranked<T>[]) new Ranked<?>[length];
+    }
+
+    private static final class Ranked<T> {
+
+        private final T element;
+        private final long sequence;
+
+        private Ranked(T element, long sequence) {
+
+            this.element = element;
+            this.sequence = sequence;
+        }
+    }
+}
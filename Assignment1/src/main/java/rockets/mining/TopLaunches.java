@@ -0,0 +1,70 @@
+package rockets.mining;
+
+import rockets.model.Launch;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the k best launches under an order in a bounded heap.
+ */
+public class TopLaunches implements LaunchAccumulator {
+
+    private final int k;
+    private final Comparator<Launch> order;
+    private final Predicate<Launch> filter;
+    private final TopK<Launch> topK;
+
+    public TopLaunches(int k, Comparator<Launch> order, Predicate<Launch> filter) {
+
+        this.k = k;
+        this.order = order;
+        this.filter = filter;
+        this.topK = new TopK<>(k, order);
+    }
+
+    public static TopLaunches mostRecent(int k) {
+
+        return new TopLaunches(k, (a, b) -> -a.getLaunchDate().compareTo(b.getLaunchDate()), launch -> true);
+    }
+
+    public static TopLaunches mostExpensive(int k) {
+
+        return new TopLaunches(k, (a, b) -> -a.getPrice().compareTo(b.getPrice()), launch -> launch.getPrice() != null);
+    }
+
+    @Override
+    public void accept(Launch launch) {
+
+        if (filter.test(launch)) {
+            topK.offer(launch);
+        }
+    }
+
+    @Override
+    public LaunchAccumulator emptyCopy() {
+
+        return new TopLaunches(k, order, filter);
+    }
+
+    /**
+     * Offers the later launches after the kept ones, so that equal launches still rank in
+     * launch order.
+     */
+    @Override
+    public void merge(LaunchAccumulator later) {
+
+        for (Launch launch : ((TopLaunches) later).launches()) {
+            topK.offer(launch);
+        }
+    }
+
+    /**
+     * @return the kept launches, best first.
+     */
+    public List<Launch> launches() {
+
+        return topK.toList();
+    }
+}
@@ -0,0 +1,166 @@
+package rockets.mining.primitive;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+
+/**
+ * A map from int keys to object values that does not box its keys.
+ * <p>
+ * Entries are stored in dense arrays in insertion order, and an open-addressing table of
+ * int slots maps the hash of a key to its position. Entries cannot be removed and values
+ * cannot be null.
+ *
+ * @param <V> the type of the values.
+ */
+public class IntObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int[] keys = new int[DEFAULT_CAPACITY];
+    private Object[] values = new Object[DEFAULT_CAPACITY];
+    // position + 1 of the key hashed to each slot, 0 for an empty slot
+    private int[] slots = new int[DEFAULT_CAPACITY * 2];
+    // 32 - log2(slots.length), so that a slot is taken from the high bits of a hash
+    private int shift = Integer.numberOfLeadingZeros(DEFAULT_CAPACITY * 2) + 1;
+    private int size;
+
+    /**
+     * @return the position of the key, or -1 if it is not mapped.
+     */
+    public int indexOf(int key) {
+
+        int mask = slots.length - 1;
+        for (int slot = slot(key, shift); slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slots[slot] - 1] == key) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the value of the key, or null if it is not mapped.
+     */
+    public V get(int key) {
+
+        int index = indexOf(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    public boolean containsKey(int key) {
+
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * @return the previous value of the key, or null if it was not mapped.
+     */
+    public V put(int key, V value) {
+
+        isTrue(value != null, "value cannot be null.");
+
+        int index = indexOf(key);
+        if (index >= 0) {
+            V previous = valueAt(index);
+            values[index] = value;
+            return previous;
+        }
+        append(key, value);
+        return null;
+    }
+
+    /**
+     * @return the value of the key, which is created and mapped first if the key was not
+     * mapped yet.
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> create) {
+
+        int index = indexOf(key);
+        if (index >= 0) {
+            return valueAt(index);
+        }
+        V value = create.apply(key);
+        isTrue(value != null, "value cannot be null.");
+        append(key, value);
+        return value;
+    }
+
+    private void append(int key, V value) {
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            slots = new int[slots.length * 2];
+            shift--;
+            for (int index = 0; index < size; index++) {
+                place(index);
+            }
+        } else {
+            place(size - 1);
+        }
+    }
+
+    private void place(int index) {
+
+        int mask = slots.length - 1;
+        int slot = slot(keys[index], shift);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index + 1;
+    }
+
+    public int size() {
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    public int keyAt(int index) {
+
+        checkIndex(index);
+        return keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+
+        checkIndex(index);
+        return (V) values[index];
+    }
+
+    /**
+     * @return the keys in insertion order.
+     */
+    public int[] keys() {
+
+        return Arrays.copyOf(keys, size);
+    }
+
+    private void checkIndex(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " is out of bounds for size " + size + ".");
+        }
+    }
+
+    /**
+     * Multiplies the key by the golden ratio and takes the high bits of the product, which
+     * spreads consecutive keys, such as years, over the whole table.
+     */
+    private static int slot(int key, int shift) {
+
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
@@ -0,0 +1,67 @@
+package rockets.mining.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Counts occurrences per key in an unboxed int array.
+ * <p>
+ * Keys keep the order in which they were first counted, so ranking the keys by count and
+ * breaking ties by {@link #keys()} order gives the same result as counting into a
+ * {@link java.util.LinkedHashMap}.
+ *
+ * @param <K> the type of the counted keys.
+ */
+public class ObjectIntCounter<K> extends ObjectKeys<K> {
+
+    private int[] counts = new int[8];
+
+    /**
+     * @return the position of the key.
+     */
+    public int increment(K key) {
+
+        return add(key, 1);
+    }
+
+    /**
+     * @return the position of the key.
+     */
+    public int add(K key, int delta) {
+
+        // insert first, as it may replace the counts array
+        int index = insert(key);
+        counts[index] += delta;
+        return index;
+    }
+
+    /**
+     * Adds the counts of another counter, inserting its new keys in its order.
+     */
+    public void addAll(ObjectIntCounter<? extends K> other) {
+
+        for (int index = 0; index < other.size(); index++) {
+            add(other.keyAt(index), other.counts[index]);
+        }
+    }
+
+    /**
+     * @return the count of the key, or 0 if it was never counted.
+     */
+    public int get(Object key) {
+
+        int index = indexOf(key);
+        return index < 0 ? 0 : counts[index];
+    }
+
+    public int countAt(int index) {
+
+        checkIndex(index);
+        return counts[index];
+    }
+
+    @Override
+    void resizeValues(int capacity) {
+
+        counts = Arrays.copyOf(counts, capacity);
+    }
+}
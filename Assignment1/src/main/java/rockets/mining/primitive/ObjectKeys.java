@@ -0,0 +1,166 @@
+package rockets.mining.primitive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The key index shared by the object-keyed maps of this package.
+ * <p>
+ * Keys are stored in a dense array in insertion order, and an open-addressing table of
+ * int slots maps the hash of a key to its position in that array. A subclass keeps its
+ * values in primitive arrays at the same positions, so an entry costs a reference, a
+ * primitive value and two int slots instead of a map entry and a boxed value. Keys
+ * cannot be removed. Null is a valid key.
+ */
+abstract class ObjectKeys<K> {
+
+    private static final Object NULL_KEY = new Object();
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private Object[] keys;
+    // position + 1 of the key hashed to each slot, 0 for an empty slot
+    private int[] slots;
+    // 32 - log2(slots.length), so that a slot is taken from the high bits of a hash
+    private int shift;
+    private int size;
+
+    ObjectKeys() {
+
+        keys = new Object[DEFAULT_CAPACITY];
+        slots = new int[DEFAULT_CAPACITY * 2];
+        shift = Integer.numberOfLeadingZeros(slots.length) + 1;
+    }
+
+    /**
+     * Called when the key array grows, so that the subclass grows its value arrays to the
+     * same capacity.
+     */
+    abstract void resizeValues(int capacity);
+
+    /**
+     * @return the position of the key, or -1 if it was never added.
+     */
+    public final int indexOf(Object key) {
+
+        Object k = mask(key);
+        int mask = slots.length - 1;
+        for (int slot = slot(k, shift); slots[slot] != 0; slot = (slot + 1) & mask) {
+            Object candidate = keys[slots[slot] - 1];
+            if (candidate == k || candidate.equals(k)) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the position of the key, which is added at the next position if it was not
+     * known yet.
+     */
+    final int insert(K key) {
+
+        Object k = mask(key);
+        int mask = slots.length - 1;
+        int slot = slot(k, shift);
+        for (; slots[slot] != 0; slot = (slot + 1) & mask) {
+            Object candidate = keys[slots[slot] - 1];
+            if (candidate == k || candidate.equals(k)) {
+                return slots[slot] - 1;
+            }
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            resizeValues(size * 2);
+        }
+        int index = size++;
+        keys[index] = k;
+        slots[slot] = index + 1;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+
+        int[] rehashed = new int[capacity];
+        int mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        for (int index = 0; index < size; index++) {
+            int slot = slot(keys[index], shift);
+            while (rehashed[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            rehashed[slot] = index + 1;
+        }
+        slots = rehashed;
+    }
+
+    public final int size() {
+
+        return size;
+    }
+
+    public final boolean isEmpty() {
+
+        return size == 0;
+    }
+
+    public final boolean containsKey(Object key) {
+
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public final K keyAt(int index) {
+
+        checkIndex(index);
+        Object key = keys[index];
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    /**
+     * @return an unmodifiable view of the keys in insertion order.
+     */
+    public final List<K> keys() {
+
+        return new AbstractList<K>() {
+
+            @Override
+            public K get(int index) {
+
+                return keyAt(index);
+            }
+
+            @Override
+            public int size() {
+
+                return size;
+            }
+        };
+    }
+
+    final void checkIndex(int index) {
+
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " is out of bounds for size " + size + ".");
+        }
+    }
+
+    private static Object mask(Object key) {
+
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * Multiplies the hash code by the golden ratio and takes the high bits of the product,
+     * which spreads hash codes that differ only in a few bits, such as those of similar
+     * strings, over the whole table.
+     */
+    private static int slot(Object key, int shift) {
+
+        return (key.hashCode() * 0x9E3779B9) >>> shift;
+    }
+}
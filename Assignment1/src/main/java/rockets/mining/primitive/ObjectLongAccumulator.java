@@ -0,0 +1,72 @@
+package rockets.mining.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Sums long values per key in an unboxed long array.
+ * <p>
+ * Keys keep the order in which they were first added. Sums are exact: an addition that
+ * overflows a long throws an {@link ArithmeticException} and leaves the sum unchanged, so
+ * that a caller can fall back to an arbitrary-precision sum.
+ *
+ * @param <K> the type of the keys.
+ */
+public class ObjectLongAccumulator<K> extends ObjectKeys<K> {
+
+    private long[] sums = new long[8];
+
+    /**
+     * @return the position of the key.
+     */
+    public int add(K key, long value) {
+
+        int index = insert(key);
+        sums[index] = Math.addExact(sums[index], value);
+        return index;
+    }
+
+    /**
+     * Multiplies every sum by the factor, for example to move the sums to a finer scale.
+     * If a product overflows, an {@link ArithmeticException} is thrown and no sum is
+     * changed.
+     */
+    public void multiplyAll(long factor) {
+
+        long[] products = new long[sums.length];
+        for (int index = 0; index < size(); index++) {
+            products[index] = Math.multiplyExact(sums[index], factor);
+        }
+        sums = products;
+    }
+
+    /**
+     * Adds the sums of another accumulator, inserting its new keys in its order.
+     */
+    public void addAll(ObjectLongAccumulator<? extends K> other) {
+
+        for (int index = 0; index < other.size(); index++) {
+            add(other.keyAt(index), other.sums[index]);
+        }
+    }
+
+    /**
+     * @return the sum of the key, or 0 if nothing was added for it.
+     */
+    public long get(Object key) {
+
+        int index = indexOf(key);
+        return index < 0 ? 0 : sums[index];
+    }
+
+    public long sumAt(int index) {
+
+        checkIndex(index);
+        return sums[index];
+    }
+
+    @Override
+    void resizeValues(int capacity) {
+
+        sums = Arrays.copyOf(sums, capacity);
+    }
+}
@@ -1,5 +1,7 @@
 package rockets.model;
 
+import org.neo4j.ogm.annotation.PostLoad;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Objects;
@@ -20,6 +22,8 @@ public class Launch extends Entity {
     private String function;
     private BigDecimal price;
     private LaunchOutcome launchOutcome;
+    // the hash code of the identity fields, 0 until computed or after they change
+    private transient int hash;
 
     public LocalDate getLaunchDate() {
 
@@ -29,6 +33,7 @@ public class Launch extends Entity {
     public void setLaunchDate(LocalDate launchDate) {
 
         this.launchDate = launchDate;
+        hash = 0;
     }
 
     public Rocket getLaunchVehicle() {
@@ -39,6 +44,7 @@ public class Launch extends Entity {
     public void setLaunchVehicle(Rocket launchVehicle) {
 
         this.launchVehicle = launchVehicle;
+        hash = 0;
     }
 
     public LaunchServiceProvider getLaunchServiceProvider() {
@@ -49,6 +55,7 @@ public class Launch extends Entity {
     public void setLaunchServiceProvider(LaunchServiceProvider launchServiceProvider) {
 
         this.launchServiceProvider = launchServiceProvider;
+        hash = 0;
     }
 
     public Set<String> getPayload() { return payload; }
@@ -62,7 +69,7 @@ public class Launch extends Entity {
     }
 
     public void setLaunchSite(String launchSite) {
-        this.launchSite = launchSite;
+        this.launchSite = ValueInterner.LAUNCH_SITES.intern(launchSite);
     }
 
     public String getOrbit() {
@@ -70,7 +77,8 @@ public class Launch extends Entity {
     }
 
     public void setOrbit(String orbit) {
-        this.orbit = orbit;
+        this.orbit = ValueInterner.ORBITS.intern(orbit);
+        hash = 0;
     }
 
     public String getFunction() {
@@ -78,7 +86,7 @@ public class Launch extends Entity {
     }
 
     public void setFunction(String function) {
-        this.function = function;
+        this.function = ValueInterner.FUNCTIONS.intern(function);
     }
 
     public BigDecimal getPrice() {
@@ -98,11 +106,26 @@ public class Launch extends Entity {
         this.launchOutcome = launchOutcome;
     }
 
+    /**
+     * Interns the values the OGM loaded, which are new instances on every load, and
+     * forgets the hash code computed while the OGM was setting them. Public, because the
+     * OGM calls it without making it accessible.
+     */
+    @PostLoad
+    public void afterLoad() {
+
+        launchSite = ValueInterner.LAUNCH_SITES.intern(launchSite);
+        orbit = ValueInterner.ORBITS.intern(orbit);
+        function = ValueInterner.FUNCTIONS.intern(function);
+        hash = 0;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Launch launch = (Launch) o;
+        if (hash != 0 && launch.hash != 0 && hash != launch.hash) return false;
         return Objects.equals(launchDate, launch.launchDate) &&
                 Objects.equals(launchVehicle, launch.launchVehicle) &&
                 Objects.equals(launchServiceProvider, launch.launchServiceProvider) &&
@@ -111,6 +134,15 @@ public class Launch extends Entity {
 
     @Override
     public int hashCode() {
-        return Objects.hash(launchDate, launchVehicle, launchServiceProvider, orbit);
+        // the same value as Objects.hash(launchDate, launchVehicle, launchServiceProvider, orbit), without boxing
+        int h = hash;
+        if (h == 0) {
+            h = 31 + Objects.hashCode(launchDate);
+            h = 31 * h + Objects.hashCode(launchVehicle);
+            h = 31 * h + Objects.hashCode(launchServiceProvider);
+            h = 31 * h + Objects.hashCode(orbit);
+            hash = h;
+        }
+        return h;
     }
 }
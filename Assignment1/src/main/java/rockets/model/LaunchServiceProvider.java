@@ -1,11 +1,11 @@
 package rockets.model;
 
 import com.google.common.collect.Sets;
+import org.neo4j.ogm.annotation.PostLoad;
+import rockets.model.validation.CharacterClasses;
 
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.apache.commons.lang3.Validate.*;
 
@@ -16,7 +16,16 @@ public class LaunchServiceProvider extends Entity {
     private String country;
     private String headquarters;
     private Set<Rocket> rockets;
+    // the hash code of the identity fields, 0 until computed
+    private transient int hash;
 
+    /**
+     * Used by the OGM to instantiate loaded providers.
+     */
+    private LaunchServiceProvider() {
+
+        rockets = Sets.newLinkedHashSet();
+    }
 
     public LaunchServiceProvider(String name, int yearFounded, String country) {
 
@@ -30,12 +39,12 @@ public class LaunchServiceProvider extends Entity {
         inclusiveBetween(1500, 2019, yearFounded, "yearFounder must be equal or greater than 1500 and equal or smaller than current year");
         inclusiveBetween(2,40, country.length(), "The length of the country must be equal or greater than 2 and equal or smaller than 40");
 
-        isTrue(!checkNumber(country) && !checkSpecialCharacter(country), "country cannot have numbers or special characters");
+        isTrue(!CharacterClasses.containsAny(country, CharacterClasses.SPECIAL | CharacterClasses.DIGIT), "country cannot have numbers or special characters");
 
 
-        this.name = name;
+        this.name = ValueInterner.NAMES.intern(name);
         this.yearFounded = yearFounded;
-        this.country = country;
+        this.country = ValueInterner.COUNTRIES.intern(country);
 
         rockets = Sets.newLinkedHashSet();
     }
@@ -65,10 +74,10 @@ public class LaunchServiceProvider extends Entity {
         notBlank(headquarters, "Headquarters cannot be null or empty");
         isTrue(headquarters.trim() == headquarters, "There should be no empty space at the beginning or the end of a headquarters");
         inclusiveBetween(2,20, headquarters.length(), "The length of the headquarters must be equal or greater than 2 and equal or smaller than 20");
-        isTrue(!checkSpecialCharacter(headquarters) && !checkNumber(headquarters), "Headquarters must not contain special characters or numbers");
+        isTrue(!CharacterClasses.containsAny(headquarters, CharacterClasses.SPECIAL | CharacterClasses.DIGIT), "Headquarters must not contain special characters or numbers");
 
 
-        this.headquarters = headquarters;
+        this.headquarters = ValueInterner.NAMES.intern(headquarters);
     }
 
     public void setRockets(Set<Rocket> rockets) {
@@ -84,12 +93,27 @@ public class LaunchServiceProvider extends Entity {
         this.rockets = rockets;
     }
 
+    /**
+     * Interns the values the OGM loaded, which are new instances on every load, and
+     * forgets the hash code computed while the OGM was setting them. Public, because the
+     * OGM calls it without making it accessible.
+     */
+    @PostLoad
+    public void afterLoad() {
+
+        name = ValueInterner.NAMES.intern(name);
+        country = ValueInterner.COUNTRIES.intern(country);
+        headquarters = ValueInterner.NAMES.intern(headquarters);
+        hash = 0;
+    }
+
     @Override
     public boolean equals(Object o) {
 
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         LaunchServiceProvider that = (LaunchServiceProvider) o;
+        if (hash != 0 && that.hash != 0 && hash != that.hash) return false;
 
         return yearFounded == that.yearFounded &&
                 Objects.equals(name, that.name) &&
@@ -99,37 +123,24 @@ public class LaunchServiceProvider extends Entity {
     @Override
     public int hashCode() {
 
-        return Objects.hash(name, yearFounded, country);
+        // the same value as Objects.hash(name, yearFounded, country), without boxing
+        int h = hash;
+        if (h == 0) {
+            h = 31 + Objects.hashCode(name);
+            h = 31 * h + yearFounded;
+            h = 31 * h + Objects.hashCode(country);
+            hash = h;
+        }
+        return h;
     }
 
     public boolean checkNumber(String input)
     {
-        for(int i = 0; i < input.length(); i++)
-        {
-            char c = input.charAt(i);
-            if (Character.isDigit(c))
-            {
-                return true;
-            }
-        }
-        return false;
+        return CharacterClasses.containsDigit(input);
     }
 
     public boolean checkSpecialCharacter(String input){
 
-        Pattern p = Pattern.compile("[^a-z0-9 ]", Pattern.CASE_INSENSITIVE);
-        Matcher m = p.matcher(input);
-        boolean b = m.find();
-
-        if (b){
-
-            //System.out.println("There is a special character in my string");
-            return true;
-        }
-
-        else{
-            return false;
-        }
-
+        return CharacterClasses.containsSpecialCharacter(input);
     }
 }
@@ -1,8 +1,9 @@
 package rockets.model;
 
+import org.neo4j.ogm.annotation.PostLoad;
+import rockets.model.validation.CharacterClasses;
+
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.apache.commons.lang3.Validate.*;
 
@@ -14,6 +15,14 @@ public class Rocket extends Entity {
     private String massToLEO;
     private String massToGTO;
     private String massToOther;
+    // the hash code of the identity fields, 0 until computed
+    private transient int hash;
+
+    /**
+     * Used by the OGM to instantiate loaded rockets.
+     */
+    private Rocket() {
+    }
 
     /**
      * All parameters shouldn't be null.
@@ -37,11 +46,11 @@ public class Rocket extends Entity {
         inclusiveBetween(2,40, country.length(), "The length of the country must be equal or greater than 2 and equal or smaller than 40");
         //inclusiveBetween(2,40, manufacturer.length(), "The length of the manufacturer must be equal or greater than 2 and equal or smaller than 40");
 
-        isTrue(!checkNumber(country) && !checkSpecialCharacter(country), "country cannot have numbers or special characters");
+        isTrue(!CharacterClasses.containsAny(country, CharacterClasses.SPECIAL | CharacterClasses.DIGIT), "country cannot have numbers or special characters");
         //isTrue(country.equals(manufacturer.getCountry()), "The country of this rocket and the country of the manufacturer must be the same");
 
-        this.name = name;
-        this.country = country;
+        this.name = ValueInterner.NAMES.intern(name);
+        this.country = ValueInterner.COUNTRIES.intern(country);
         this.manufacturer = manufacturer;
     }
 
@@ -99,12 +108,26 @@ public class Rocket extends Entity {
         this.massToOther = massToOther;
     }
 
+    /**
+     * Interns the values the OGM loaded, which are new instances on every load, and
+     * forgets the hash code computed while the OGM was setting them. Public, because the
+     * OGM calls it without making it accessible.
+     */
+    @PostLoad
+    public void afterLoad() {
+
+        name = ValueInterner.NAMES.intern(name);
+        country = ValueInterner.COUNTRIES.intern(country);
+        hash = 0;
+    }
+
     @Override
     public boolean equals(Object o) {
 
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Rocket rocket = (Rocket) o;
+        if (hash != 0 && rocket.hash != 0 && hash != rocket.hash) return false;
 
         return Objects.equals(name, rocket.name) &&
                 Objects.equals(country, rocket.country) &&
@@ -114,7 +137,15 @@ public class Rocket extends Entity {
     @Override
     public int hashCode() {
 
-        return Objects.hash(name, country, manufacturer);
+        // the same value as Objects.hash(name, country, manufacturer), without boxing
+        int h = hash;
+        if (h == 0) {
+            h = 31 + Objects.hashCode(name);
+            h = 31 * h + Objects.hashCode(country);
+            h = 31 * h + Objects.hashCode(manufacturer);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -132,32 +163,11 @@ public class Rocket extends Entity {
 
     public boolean checkNumber(String input)
     {
-        for(int i = 0; i < input.length(); i++)
-        {
-            char c = input.charAt(i);
-            if (Character.isDigit(c))
-            {
-                return true;
-            }
-        }
-        return false;
+        return CharacterClasses.containsDigit(input);
     }
 
     public boolean checkSpecialCharacter(String input){
 
-        Pattern p = Pattern.compile("[^a-z0-9 ]", Pattern.CASE_INSENSITIVE);
-        Matcher m = p.matcher(input);
-        boolean b = m.find();
-
-        if (b){
-
-            //System.out.println("There is a special character in my string");
-            return true;
-        }
-
-        else{
-            return false;
-        }
-
+        return CharacterClasses.containsSpecialCharacter(input);
     }
 }
@@ -1,8 +1,9 @@
 package rockets.model;
 
+import rockets.model.validation.CharacterClasses;
+import rockets.model.validation.Patterns;
+
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import static org.apache.commons.lang3.Validate.*;
 
 public class User extends Entity {
@@ -23,7 +24,7 @@ public class User extends Entity {
         notBlank(firstName, "First name cannot be null or empty");
         isTrue(firstName.trim() == firstName, "There should be no empty space at the beginning or the end of a first name");
         inclusiveBetween(2,20, firstName.length(), "The length of the first name must be equal or greater than 2 and equal or smaller than 20");
-        isTrue(!checkSpecialCharacter(firstName) && !checkNumber(firstName), "First name must not contain special characters or numbers");
+        isTrue(!CharacterClasses.containsAny(firstName, CharacterClasses.SPECIAL | CharacterClasses.DIGIT), "First name must not contain special characters or numbers");
 
         this.firstName = firstName;
     }
@@ -38,7 +39,7 @@ public class User extends Entity {
         notBlank(lastName, "Last name cannot be null or empty");
         isTrue(lastName.trim() == lastName, "There should be no empty space at the beginning or the end of a last name");
         inclusiveBetween(2,10, lastName.length(), "The length of the last name must be equal or greater than 2 and equal or smaller than 10");
-        isTrue(!checkSpecialCharacter(lastName) && !checkNumber(lastName), "Last name must not contain special characters or numbers");
+        isTrue(!CharacterClasses.containsAny(lastName, CharacterClasses.SPECIAL | CharacterClasses.DIGIT), "Last name must not contain special characters or numbers");
 
         this.lastName = lastName;
     }
@@ -53,11 +54,7 @@ public class User extends Entity {
         notBlank(email, "email cannot be null or empty");
         isTrue(email.trim() == email, "There should be no empty space at the beginning or the end of a email");
         inclusiveBetween(7,40, email.length(), "The length of email must be equal or greater than 7 and equal or smaller than 40");
-        //其中\w代表可用作标识符的字符,不包括$. \w+表示多个
-        //  \\.\\w表示点.后面有\w 括号{2,3}代表这个\w有2至3个
-        //牵扯到有些邮箱类似com.cn结尾 所以(\\.\\w{2,3})*后面表示可能有另一个2至3位的域名结尾
-        //*表示重复0次或更多次
-        matchesPattern(email,"\\w+@\\w+(\\.\\w{2,10})*\\.\\w{2,3}","email should follow a specific format");
+        isTrue(Patterns.isEmail(email), "email should follow a specific format");
 
         this.email = email;
     }
@@ -111,85 +108,28 @@ public class User extends Entity {
 
     public boolean checkSpecialCharacter(String input){
 
-        Pattern p = Pattern.compile("[^a-z0-9 ]", Pattern.CASE_INSENSITIVE);
-        Matcher m = p.matcher(input);
-        boolean b = m.find();
-
-        if (b){
-
-            //System.out.println("There is a special character in my string");
-            return true;
-        }
-
-        else{
-            return false;
-        }
-
+        return CharacterClasses.containsSpecialCharacter(input);
     }
 
     public boolean checkUppercaseCharacter(String input)
     {
-        for(int i = 0; i < input.length(); i++)
-        {
-            char c = input.charAt(i);
-            if (Character.isUpperCase(c))
-            {
-                return true;
-            }
-        }
-        return false;
+        return CharacterClasses.containsUppercase(input);
     }
 
     public boolean checkLowercaseCharacter(String input)
     {
-        for(int i = 0; i < input.length(); i++)
-        {
-            char c = input.charAt(i);
-            if (Character.isLowerCase(c))
-            {
-                return true;
-            }
-        }
-        return false;
+        return CharacterClasses.containsLowercase(input);
     }
 
     public boolean checkNumber(String input)
     {
-        for(int i = 0; i < input.length(); i++)
-        {
-            char c = input.charAt(i);
-            if (Character.isDigit(c))
-            {
-                return true;
-            }
-        }
-        return false;
+        return CharacterClasses.containsDigit(input);
     }
 
+    // the password must use at least 3 of the 4 classes of characters
     public boolean checkPassword(String input){
 
-        int result = 0;
-
-        if (checkSpecialCharacter(input)){
-            result += 1;
-        }
-        if (checkUppercaseCharacter(input)){
-            result += 1;
-        }
-        if (checkLowercaseCharacter(input)){
-            result += 1;
-        }
-        if (checkNumber(input)){
-            result += 1;
-        }
-
-        if (result >= 3){
-            return true;
-        }
-        else{
-            return false;
-        }
-
+        return Integer.bitCount(CharacterClasses.of(input)) >= 3;
     }
 
     public void changePassword(String oldPassword, String newPassword) {
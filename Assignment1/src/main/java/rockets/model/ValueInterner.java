@@ -0,0 +1,142 @@
+package rockets.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.apache.commons.lang3.Validate.isTrue;
+import static org.apache.commons.lang3.Validate.notBlank;
+
+/**
+ * Keeps one canonical instance of each value of a frequently repeated attribute, such as
+ * a country or an orbit, so that the model objects holding equal values share one String
+ * instead of each holding a copy. Equal interned values are the same instance, so
+ * comparing them with {@link String#equals} returns on its identity check.
+ * <p>
+ * The model classes intern their values when they are constructed or set and when they
+ * are loaded by the OGM. An interner stops adding values once it holds its maximum
+ * number of values and returns further new values as they are, so an attribute that is
+ * unexpectedly unique cannot grow it without bound. Interning can be switched off for
+ * comparison with the system property {@code rockets.model.interning=false}.
+ */
+public final class ValueInterner {
+
+    public static final ValueInterner NAMES = new ValueInterner("names");
+    public static final ValueInterner COUNTRIES = new ValueInterner("countries");
+    public static final ValueInterner LAUNCH_SITES = new ValueInterner("launchSites");
+    public static final ValueInterner ORBITS = new ValueInterner("orbits");
+    public static final ValueInterner FUNCTIONS = new ValueInterner("functions");
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("rockets.model.interning", "true"));
+
+    private final String name;
+    private final int maximumSize;
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    private ValueInterner(String name) {
+
+        this(name, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    ValueInterner(String name, int maximumSize) {
+
+        notBlank(name, "name cannot be null or empty.");
+        isTrue(maximumSize > 0, "maximumSize must be greater than 0.");
+        this.name = name;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the interners the model classes use.
+     */
+    public static List<ValueInterner> all() {
+
+        return Collections.unmodifiableList(Arrays.asList(NAMES, COUNTRIES, LAUNCH_SITES, ORBITS, FUNCTIONS));
+    }
+
+    /**
+     * @return the canonical instance equal to the value, which is the value itself if
+     * it was not known yet, or null if the value is null.
+     */
+    public String intern(String value) {
+
+        if (value == null || !ENABLED) {
+            return value;
+        }
+        lookups.increment();
+        String canonical = values.get(value);
+        if (canonical == null) {
+            if (values.size() >= maximumSize) {
+                return value;
+            }
+            canonical = values.putIfAbsent(value, value);
+            if (canonical == null) {
+                return value;
+            }
+        }
+        if (canonical != value) {
+            hits.increment();
+            bytesSaved.add(sizeOf(value));
+        }
+        return canonical;
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    public int size() {
+
+        return values.size();
+    }
+
+    public long getLookups() {
+
+        return lookups.sum();
+    }
+
+    /**
+     * @return the number of values replaced by an equal canonical instance.
+     */
+    public long getHits() {
+
+        return hits.sum();
+    }
+
+    /**
+     * @return an estimate of the heap freed by the replaced values, assuming that their
+     * callers kept no other reference to them.
+     */
+    public long getEstimatedBytesSaved() {
+
+        return bytesSaved.sum();
+    }
+
+    @Override
+    public String toString() {
+
+        return "ValueInterner{" +
+                "name='" + name + '\'' +
+                ", size=" + size() +
+                ", lookups=" + getLookups() +
+                ", hits=" + getHits() +
+                ", estimatedBytesSaved=" + getEstimatedBytesSaved() +
+                '}';
+    }
+
+    /**
+     * @return the size of a String and its char array on a 64-bit JVM with compressed
+     * references.
+     */
+    static long sizeOf(String value) {
+
+        return 24 + ((16 + 2L * value.length() + 7) & ~7);
+    }
+}
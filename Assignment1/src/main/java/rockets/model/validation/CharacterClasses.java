@@ -0,0 +1,109 @@
+package rockets.model.validation;
+
+/**
+ * Finds the classes of characters a string contains in a single pass and without
+ * allocating, for the validation of the model classes.
+ * <p>
+ * A special character is any character other than an ASCII letter, an ASCII digit or a
+ * space, as matched by {@code [^a-z0-9 ]} ignoring case. Digits, uppercase and lowercase
+ * characters follow {@link Character#isDigit}, {@link Character#isUpperCase} and
+ * {@link Character#isLowerCase}, so they include non-ASCII ones.
+ */
+public final class CharacterClasses {
+
+    public static final int SPECIAL = 1;
+    public static final int UPPERCASE = 1 << 1;
+    public static final int LOWERCASE = 1 << 2;
+    public static final int DIGIT = 1 << 3;
+
+    private static final int ALL = SPECIAL | UPPERCASE | LOWERCASE | DIGIT;
+    private static final byte[] ASCII = new byte[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            if (c >= 'A' && c <= 'Z') {
+                ASCII[c] = UPPERCASE;
+            } else if (c >= 'a' && c <= 'z') {
+                ASCII[c] = LOWERCASE;
+            } else if (c >= '0' && c <= '9') {
+                ASCII[c] = DIGIT;
+            } else if (c != ' ') {
+                ASCII[c] = SPECIAL;
+            }
+        }
+    }
+
+    private CharacterClasses() {
+    }
+
+    /**
+     * @return the classes of the characters in the input, as a combination of
+     * {@link #SPECIAL}, {@link #UPPERCASE}, {@link #LOWERCASE} and {@link #DIGIT}.
+     */
+    public static int of(CharSequence input) {
+
+        return scan(input, ALL);
+    }
+
+    /**
+     * @return true if the input contains a character of any of the classes.
+     */
+    public static boolean containsAny(CharSequence input, int classes) {
+
+        return scan(input, classes) != 0;
+    }
+
+    public static boolean containsSpecialCharacter(CharSequence input) {
+
+        return scan(input, SPECIAL) != 0;
+    }
+
+    public static boolean containsDigit(CharSequence input) {
+
+        return scan(input, DIGIT) != 0;
+    }
+
+    public static boolean containsUppercase(CharSequence input) {
+
+        return scan(input, UPPERCASE) != 0;
+    }
+
+    public static boolean containsLowercase(CharSequence input) {
+
+        return scan(input, LOWERCASE) != 0;
+    }
+
+    /**
+     * @return the classes among the wanted ones that the input contains, stopping as
+     * soon as all of them are found.
+     */
+    private static int scan(CharSequence input, int wanted) {
+
+        int found = 0;
+        for (int i = 0, length = input.length(); i < length; i++) {
+            found |= classOf(input.charAt(i)) & wanted;
+            if (found == wanted) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    private static int classOf(char c) {
+
+        if (c < 128) {
+            return ASCII[c];
+        }
+        int classes = SPECIAL;
+        if (Character.isDigit(c)) {
+            classes |= DIGIT;
+        }
+        if (Character.isUpperCase(c)) {
+            classes |= UPPERCASE;
+        }
+        if (Character.isLowerCase(c)) {
+            classes |= LOWERCASE;
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,24 @@
+package rockets.model.validation;
+
+import java.util.regex.Pattern;
+
+/**
+ * The regular expressions of the model validation, compiled once.
+ */
+public final class Patterns {
+
+    /**
+     * An email address: identifier characters, an @ and a domain ending with a 2 to 3
+     * character label, optionally preceded by further labels of 2 to 10 characters, such
+     * as {@code example.com.cn}.
+     */
+    public static final Pattern EMAIL = Pattern.compile("\\w+@\\w+(\\.\\w{2,10})*\\.\\w{2,3}");
+
+    private Patterns() {
+    }
+
+    public static boolean isEmail(CharSequence input) {
+
+        return EMAIL.matcher(input).matches();
+    }
+}
@@ -0,0 +1,159 @@
+package rockets.dataaccess;
+
+import com.google.common.cache.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CachingDAOUnitTest {
+
+    private DAO delegate;
+    private CachingDAO dao;
+    private LaunchServiceProvider spacex;
+    private Rocket rocket;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(Neo4jDAO.class);
+        dao = CachingDAO.builder(delegate).naturalKeys(Neo4jDAO::naturalKeyOf).build();
+
+        spacex = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        spacex.setId(1L);
+        rocket = new Rocket("F9", "USA", spacex);
+        rocket.setId(2L);
+        when(delegate.load(Rocket.class, 2L)).thenReturn(rocket);
+        when(delegate.load(LaunchServiceProvider.class, 1L)).thenReturn(spacex);
+        when(delegate.createOrUpdate(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @DisplayName("should load an entity from the wrapped DAO only once")
+    @Test
+    public void shouldLoadAnEntityFromTheWrappedDAOOnlyOnce() {
+
+        assertSame(rocket, dao.load(Rocket.class, 2L));
+        assertSame(rocket, dao.load(Rocket.class, 2L));
+        assertSame(rocket, dao.load(Rocket.class, 2L));
+
+        verify(delegate, times(1)).load(Rocket.class, 2L);
+        CacheStats stats = dao.stats(Rocket.class);
+        assertEquals(2, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @DisplayName("should not cache entities that are not found")
+    @Test
+    public void shouldNotCacheEntitiesThatAreNotFound() {
+
+        assertNull(dao.load(Rocket.class, 3L));
+        assertNull(dao.load(Rocket.class, 3L));
+
+        verify(delegate, times(2)).load(Rocket.class, 3L);
+        assertEquals(0, dao.size(Rocket.class));
+    }
+
+    @DisplayName("should reload an entity after it is updated or deleted")
+    @Test
+    public void shouldReloadAnEntityAfterItIsUpdatedOrDeleted() {
+
+        dao.load(LaunchServiceProvider.class, 1L);
+        Rocket updated = new Rocket("F9", "USA", spacex);
+        updated.setId(2L);
+        dao.load(Rocket.class, 2L);
+        dao.createOrUpdate(updated);
+
+        assertSame(updated, dao.load(Rocket.class, 2L));
+
+        dao.delete(updated);
+        assertSame(rocket, dao.load(Rocket.class, 2L));
+        verify(delegate, times(2)).load(Rocket.class, 2L);
+    }
+
+    @DisplayName("should forget an entity deleted without an id")
+    @Test
+    public void shouldForgetAnEntityDeletedWithoutAnId() {
+
+        dao.load(Rocket.class, 2L);
+
+        dao.delete(new Rocket("F9", "USA", spacex));
+        Rocket recreated = new Rocket("F9", "USA", spacex);
+        dao.createOrUpdate(recreated);
+        Rocket recreatedInABatch = new Rocket("F9", "USA", spacex);
+        dao.createOrUpdateAll(Arrays.asList(recreatedInABatch));
+
+        assertNull(recreated.getId());
+        assertNull(recreatedInABatch.getId());
+        assertSame(rocket, dao.load(Rocket.class, 2L));
+        verify(delegate, times(2)).load(Rocket.class, 2L);
+    }
+
+    @DisplayName("should give an entity the id of the cached entity with the same natural key")
+    @Test
+    public void shouldGiveAnEntityTheIdOfTheCachedEntityWithTheSameNaturalKey() {
+
+        dao.load(Rocket.class, 2L);
+        Rocket again = new Rocket("F9", "USA", spacex);
+        Rocket other = new Rocket("Falcon Heavy", "USA", spacex);
+
+        dao.createOrUpdate(again);
+        dao.createOrUpdateAll(Arrays.asList(other));
+
+        assertEquals(Long.valueOf(2L), again.getId());
+        assertNull(other.getId());
+        assertEquals(1, dao.naturalKeyStats(Rocket.class).hitCount());
+    }
+
+    @DisplayName("should forget the natural key an entity had before it changed")
+    @Test
+    public void shouldForgetTheNaturalKeyAnEntityHadBeforeItChanged() {
+
+        dao.load(Rocket.class, 2L);
+        Rocket renamed = new Rocket("Falcon 9", "USA", spacex);
+        renamed.setId(2L);
+        dao.createOrUpdate(renamed);
+
+        Rocket withOldName = new Rocket("F9", "USA", spacex);
+        dao.createOrUpdate(withOldName);
+        Rocket withNewName = new Rocket("Falcon 9", "USA", spacex);
+        dao.createOrUpdate(withNewName);
+
+        assertNull(withOldName.getId());
+        assertEquals(Long.valueOf(2L), withNewName.getId());
+    }
+
+    @DisplayName("should evict the least recently used entities beyond the size of their class")
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedEntitiesBeyondTheSizeOfTheirClass() {
+
+        dao = CachingDAO.builder(delegate).maximumSize(Rocket.class, 1).build();
+        Rocket other = new Rocket("Falcon Heavy", "USA", spacex);
+        other.setId(3L);
+        when(delegate.load(Rocket.class, 3L)).thenReturn(other);
+
+        dao.load(Rocket.class, 2L);
+        dao.load(Rocket.class, 3L);
+        dao.load(LaunchServiceProvider.class, 1L);
+        dao.load(Rocket.class, 2L);
+
+        verify(delegate, times(2)).load(Rocket.class, 2L);
+        assertEquals(1, dao.size(Rocket.class));
+        assertEquals(1, dao.size(LaunchServiceProvider.class));
+        assertEquals(2, dao.stats(Rocket.class).evictionCount());
+    }
+
+    @DisplayName("should throw exception when the maximum size is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenTheMaximumSizeIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> CachingDAO.builder(delegate).maximumSize(Rocket.class, 0));
+        assertEquals("maximumSize must be greater than 0.", exception.getMessage());
+    }
+}
@@ -0,0 +1,175 @@
+package rockets.dataaccess;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ExecutorAsyncDAOUnitTest {
+
+    private DAO dao;
+    private ExecutorAsyncDAO asyncDAO;
+    private LaunchServiceProvider spacex;
+    private Rocket rocket;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        spacex = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        rocket = new Rocket("F9", "USA", spacex);
+        when(dao.load(LaunchServiceProvider.class, 1L)).thenReturn(spacex);
+        when(dao.load(Rocket.class, 2L)).thenReturn(rocket);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (asyncDAO != null) {
+            asyncDAO.close();
+        }
+    }
+
+    @DisplayName("should compose loads that run concurrently")
+    @Test
+    public void shouldComposeLoadsThatRunConcurrently() throws Exception {
+
+        asyncDAO = new ExecutorAsyncDAO(dao, 2, 10);
+
+        CompletableFuture<LaunchServiceProvider> provider = asyncDAO.load(LaunchServiceProvider.class, 1L);
+        CompletableFuture<Rocket> vehicle = asyncDAO.load(Rocket.class, 2L);
+
+        assertTrue(provider.thenCombine(vehicle, (p, r) -> r.getManufacturer() == p).get(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("should complete exceptionally when the DAO fails")
+    @Test
+    public void shouldCompleteExceptionallyWhenTheDAOFails() {
+
+        asyncDAO = new ExecutorAsyncDAO(dao, 1, 1);
+        doThrow(new IllegalArgumentException("Cannot find the entity.")).when(dao).delete(rocket);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> asyncDAO.delete(rocket).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+        assertEquals("Cannot find the entity.", exception.getCause().getMessage());
+    }
+
+    @DisplayName("should run an operation on the calling thread when the queue is full")
+    @Test
+    public void shouldRunAnOperationOnTheCallingThreadWhenTheQueueIsFull() throws Exception {
+
+        asyncDAO = new ExecutorAsyncDAO(dao, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runningNow = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        Thread[] loadedOn = new Thread[3];
+        when(dao.load(eq(Rocket.class), anyLong())).thenAnswer(invocation -> {
+            int id = ((Long) invocation.getArguments()[1]).intValue();
+            mostRunning.accumulateAndGet(runningNow.incrementAndGet(), Math::max);
+            try {
+                loadedOn[id - 1] = Thread.currentThread();
+                if (id == 1) {
+                    started.countDown();
+                    release.await();
+                }
+                return rocket;
+            } finally {
+                runningNow.decrementAndGet();
+            }
+        });
+
+        CompletableFuture<Rocket> running = asyncDAO.load(Rocket.class, 1L);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Rocket> queued = asyncDAO.load(Rocket.class, 2L);
+        List<CompletableFuture<Rocket>> overflow = new CopyOnWriteArrayList<>();
+        Thread caller = new Thread(() -> overflow.add(asyncDAO.load(Rocket.class, 3L)));
+        caller.start();
+
+        // the operation waits on the calling thread until the running one finishes
+        caller.join(200);
+        assertTrue(caller.isAlive());
+        assertNull(loadedOn[2]);
+        assertFalse(queued.isDone());
+
+        release.countDown();
+        caller.join(5000);
+        assertFalse(caller.isAlive());
+        assertSame(caller, loadedOn[2]);
+        assertNotSame(caller, loadedOn[0]);
+        assertSame(rocket, overflow.get(0).get(5, TimeUnit.SECONDS));
+        assertSame(rocket, running.get(5, TimeUnit.SECONDS));
+        assertSame(rocket, queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, mostRunning.get());
+    }
+
+    @DisplayName("should restore the interrupt status when interrupted while closing")
+    @Test
+    public void shouldRestoreTheInterruptStatusWhenInterruptedWhileClosing() throws Exception {
+
+        asyncDAO = new ExecutorAsyncDAO(dao, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dao.load(Rocket.class, 1L)).thenAnswer(invocation -> {
+            release.await();
+            return rocket;
+        });
+        CompletableFuture<Rocket> running = asyncDAO.load(Rocket.class, 1L);
+
+        Thread.currentThread().interrupt();
+        asyncDAO.close();
+
+        assertTrue(Thread.interrupted());
+        release.countDown();
+        assertSame(rocket, running.get(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("should reject operations once closed, even when the queue is full")
+    @Test
+    public void shouldRejectOperationsOnceClosedEvenWhenTheQueueIsFull() throws Exception {
+
+        asyncDAO = new ExecutorAsyncDAO(dao, 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dao.load(Rocket.class, 1L)).thenAnswer(invocation -> {
+            release.await();
+            return rocket;
+        });
+        CompletableFuture<Rocket> running = asyncDAO.load(Rocket.class, 1L);
+        // returns at once, leaving the running operation to finish
+        Thread.currentThread().interrupt();
+        asyncDAO.close();
+        Thread.interrupted();
+
+        try {
+            CompletableFuture<Rocket> rejected = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> asyncDAO.load(Rocket.class, 2L));
+
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof RejectedExecutionException);
+            verify(dao, never()).load(Rocket.class, 2L);
+        } finally {
+            release.countDown();
+        }
+        assertSame(rocket, running.get(5, TimeUnit.SECONDS));
+    }
+
+    @DisplayName("should throw exception when the concurrency is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenTheConcurrencyIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new ExecutorAsyncDAO(dao, 0, 1));
+        assertEquals("concurrency must be greater than 0.", exception.getMessage());
+    }
+}
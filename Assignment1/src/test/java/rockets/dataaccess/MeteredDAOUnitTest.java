@@ -0,0 +1,162 @@
+package rockets.dataaccess;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.metrics.HdrMetrics;
+import rockets.metrics.OperationSnapshot;
+import rockets.mining.RocketMiner;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MeteredDAOUnitTest {
+
+    private Neo4jDAO delegate;
+    private HdrMetrics metrics;
+    private MeteredDAO dao;
+    private Rocket rocket;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(Neo4jDAO.class);
+        metrics = new HdrMetrics();
+        dao = new MeteredDAO(delegate, metrics);
+
+        LaunchServiceProvider spacex = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        rocket = new Rocket("F9", "USA", spacex);
+        rocket.setId(2L);
+        launches = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(2017, 1 + i, 1));
+            launch.setLaunchVehicle(rocket);
+            launch.setLaunchServiceProvider(spacex);
+            launch.setOrbit("LEO");
+            launch.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+            launches.add(launch);
+        }
+        when(delegate.load(Rocket.class, 2L)).thenReturn(rocket);
+        when(delegate.loadAll(Launch.class)).thenReturn(launches);
+        when(delegate.createOrUpdate(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @DisplayName("should record every call by method and entity class")
+    @Test
+    public void shouldRecordEveryCallByMethodAndEntityClass() {
+
+        assertSame(rocket, dao.load(Rocket.class, 2L));
+        assertNull(dao.load(Rocket.class, 3L));
+        assertEquals(launches, dao.loadAll(Launch.class));
+        assertSame(rocket, dao.createOrUpdate(rocket));
+        dao.delete(launches.get(0));
+
+        Map<String, OperationSnapshot> snapshot = metrics.snapshot();
+        assertEquals(Arrays.asList("dao.createOrUpdate.Rocket", "dao.delete.Launch", "dao.load.Rocket", "dao.loadAll.Launch"), new ArrayList<>(snapshot.keySet()));
+        assertEquals(2, snapshot.get("dao.load.Rocket").getCount());
+        assertEquals(1, snapshot.get("dao.load.Rocket").getRows());
+        assertEquals(3, snapshot.get("dao.loadAll.Launch").getRows());
+        assertEquals(1, snapshot.get("dao.createOrUpdate.Rocket").getRows());
+        assertEquals(1, snapshot.get("dao.delete.Launch").getRows());
+        verify(delegate).delete(launches.get(0));
+    }
+
+    @DisplayName("should record a failed call as an error and rethrow its exception")
+    @Test
+    public void shouldRecordAFailedCallAsAnErrorAndRethrowItsException() {
+
+        when(delegate.loadAll(Rocket.class)).thenThrow(new IllegalStateException("unavailable"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> dao.loadAll(Rocket.class));
+        assertEquals("unavailable", exception.getMessage());
+
+        OperationSnapshot snapshot = metrics.snapshot().get("dao.loadAll.Rocket");
+        assertEquals(1, snapshot.getCount());
+        assertEquals(1, snapshot.getErrors());
+    }
+
+    @DisplayName("should record a stream with the entities consumed when it is closed")
+    @Test
+    public void shouldRecordAStreamWithTheEntitiesConsumedWhenItIsClosed() {
+
+        when(delegate.streamAll(Launch.class, 2)).thenReturn(launches.stream());
+
+        try (Stream<Launch> stream = dao.streamAll(Launch.class, 2)) {
+            assertEquals(2, stream.limit(2).count());
+            assertEquals(0, metrics.snapshot().get("dao.streamAll.Launch").getCount());
+        }
+
+        OperationSnapshot snapshot = metrics.snapshot().get("dao.streamAll.Launch");
+        assertEquals(1, snapshot.getCount());
+        assertEquals(2, snapshot.getRows());
+    }
+
+    @DisplayName("should count every entity of a parallel stream")
+    @Test
+    public void shouldCountEveryEntityOfAParallelStream() {
+
+        List<Launch> many = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            many.add(new Launch());
+        }
+        when(delegate.streamAll(Launch.class, 2)).thenReturn(many.stream());
+
+        try (Stream<Launch> stream = dao.streamAll(Launch.class, 2)) {
+            assertEquals(many.size(), stream.parallel().mapToInt(launch -> 1).sum());
+        }
+
+        assertEquals(many.size(), metrics.snapshot().get("dao.streamAll.Launch").getRows());
+    }
+
+    @DisplayName("should pass aggregations and bulk inserts to the wrapped DAO when it supports them")
+    @Test
+    public void shouldPassAggregationsAndBulkInsertsToTheWrappedDAOWhenItSupportsThem() {
+
+        assertFalse(dao.supportsAggregation());
+        assertFalse(dao.supportsBulkInsert());
+        assertThrows(IllegalStateException.class, () -> dao.rocketsByLaunchCount(1));
+
+        when(delegate.supportsAggregation()).thenReturn(true);
+        when(delegate.supportsBulkInsert()).thenReturn(true);
+        when(delegate.rocketsByLaunchCount(1)).thenReturn(Arrays.asList(rocket));
+        when(delegate.insertLaunches(launches)).thenReturn(new BatchWriteReport());
+
+        assertEquals(Arrays.asList(rocket), dao.rocketsByLaunchCount(1));
+        dao.insertLaunches(launches);
+
+        Map<String, OperationSnapshot> snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.get("dao.rocketsByLaunchCount.Launch").getRows());
+        assertEquals(3, snapshot.get("dao.insertLaunches.Launch").getRows());
+    }
+
+    @DisplayName("should record the miner queries together with the DAO calls they make")
+    @Test
+    public void shouldRecordTheMinerQueriesTogetherWithTheDAOCallsTheyMake() {
+
+        RocketMiner miner = RocketMiner.builder(dao).metrics(metrics).build();
+
+        assertEquals(Arrays.asList(rocket), miner.mostLaunchedRockets(2));
+        assertEquals(2, miner.mostRecentLaunches(2).size());
+        assertThrows(IllegalArgumentException.class, () -> miner.mostRecentLaunches(0));
+
+        Map<String, OperationSnapshot> snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.get("miner.mostLaunchedRockets").getRows());
+        assertEquals(1, snapshot.get("miner.mostRecentLaunches").getCount());
+        assertEquals(2, snapshot.get("miner.mostRecentLaunches").getRows());
+        assertEquals(2, snapshot.get("dao.loadAll.Launch").getCount());
+        assertEquals(6, snapshot.get("dao.loadAll.Launch").getRows());
+    }
+}
@@ -0,0 +1,176 @@
+package rockets.dataaccess.neo4j;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import rockets.dataaccess.DAO;
+import rockets.mining.ProviderOutcomes;
+import rockets.mining.ReliabilityRanking;
+import rockets.mining.RocketMiner;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+import rockets.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that the mining aggregations pushed down to Cypher agree with the in-memory
+ * miner on the same launches.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class Neo4jAggregationUnitTest {
+
+    private ServerControls server;
+    private Session session;
+    private Neo4jDAO dao;
+    private RocketMiner databaseMiner;
+    private RocketMiner memoryMiner;
+
+    @BeforeAll
+    public void initializeNeo4j() {
+
+        server = TestServerBuilders.newInProcessBuilder().newServer();
+        SessionFactory sessionFactory = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName());
+        session = sessionFactory.openSession();
+        dao = new Neo4jDAO(session);
+
+        List<LaunchServiceProvider> lsps = Arrays.asList(
+                new LaunchServiceProvider("ULA", 1990, "USA"),
+                new LaunchServiceProvider("SpaceX", 2002, "USA"),
+                new LaunchServiceProvider("ESA", 1975, "Europe")
+        );
+        List<Rocket> rockets = Arrays.asList(
+                new Rocket("Atlas V", "USA", lsps.get(0)),
+                new Rocket("Delta IV", "USA", lsps.get(0)),
+                new Rocket("Falcon 9", "USA", lsps.get(1)),
+                new Rocket("Ariane", "Europe", lsps.get(2))
+        );
+
+        Launch.LaunchOutcome[] outcomes = {Launch.LaunchOutcome.SUCCESSFUL, Launch.LaunchOutcome.FAILED, null};
+        int[] rocketIndex = {0, 0, 0, 0, 1, 1, 1, 2, 2, 3, 3, 2};
+        int[] outcomeIndex = {0, 1, 0, 1, 0, 1, 0, 1, 2, 0, 0, 0};
+        int[] years = {2017, 2017, 2017, 2018, 2017, 2017, 2018, 2017, 2017, 2017, 2016, 2017};
+        String[] prices = {null, "0.10", "300", "4000", "500.25", null, "7", "100.5", null, "1000", "12", "0.15"};
+        String[] orbits = {"LEO", "LEO", "GTO", "LEO", "LEO", "GTO", "LEO", "LEO", "LEO", "LEO", "GTO", "LEO"};
+
+        for (int i = 0; i < rocketIndex.length; i++) {
+            Rocket rocket = rockets.get(rocketIndex[i]);
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(years[i], 1 + i, 1));
+            launch.setLaunchVehicle(rocket);
+            launch.setLaunchServiceProvider(rocket.getManufacturer());
+            launch.setLaunchSite("Site " + i);
+            launch.setOrbit(orbits[i]);
+            launch.setLaunchOutcome(outcomes[outcomeIndex[i]]);
+            launch.setPrice(prices[i] == null ? null : new BigDecimal(prices[i]));
+            dao.createOrUpdate(launch);
+        }
+
+        databaseMiner = new RocketMiner(dao);
+
+        DAO memory = mock(DAO.class);
+        Collection<Launch> launches = dao.loadAll(Launch.class);
+        when(memory.loadAll(Launch.class)).thenReturn(launches);
+        memoryMiner = new RocketMiner(memory);
+    }
+
+    @AfterAll
+    public void closeNeo4j() {
+
+        server.close();
+    }
+
+    @DisplayName("should rank the most launched rockets like the in-memory miner")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 10})
+    public void shouldRankTheMostLaunchedRocketsLikeTheInMemoryMiner(int k) {
+
+        assertEquals(memoryMiner.mostLaunchedRockets(k), databaseMiner.mostLaunchedRockets(k));
+    }
+
+    @DisplayName("should rank the highest revenue providers like the in-memory miner")
+    @ParameterizedTest
+    @ValueSource(ints = {2016, 2017, 2018, 2019})
+    public void shouldRankTheHighestRevenueProvidersLikeTheInMemoryMiner(int year) {
+
+        for (int k = 1; k <= 4; k++) {
+            assertEquals(memoryMiner.highestRevenueLaunchServiceProviders(k, year), databaseMiner.highestRevenueLaunchServiceProviders(k, year));
+        }
+    }
+
+    @DisplayName("should find the dominant country like the in-memory miner")
+    @ParameterizedTest
+    @ValueSource(strings = {"LEO", "GTO", "Other"})
+    public void shouldFindTheDominantCountryLikeTheInMemoryMiner(String orbit) {
+
+        assertEquals(memoryMiner.dominantCountry(orbit), databaseMiner.dominantCountry(orbit));
+    }
+
+    @DisplayName("should return the most recent launches like the in-memory miner")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 12, 20})
+    public void shouldReturnTheMostRecentLaunchesLikeTheInMemoryMiner(int k) {
+
+        assertEquals(memoryMiner.mostRecentLaunches(k), databaseMiner.mostRecentLaunches(k));
+    }
+
+    @DisplayName("should page the launches most recent first")
+    @Test
+    public void shouldPageTheLaunchesMostRecentFirst() {
+
+        List<Launch> all = dao.launchesByDateDescending(0, 100);
+        assertEquals(12, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertFalse(all.get(i).getLaunchDate().isAfter(all.get(i - 1).getLaunchDate()));
+        }
+        assertEquals(all.subList(5, 9), dao.launchesByDateDescending(5, 4));
+        assertTrue(dao.launchesByDateDescending(12, 4).isEmpty());
+    }
+
+    @DisplayName("should rank the most reliable providers by their success ratio")
+    @Test
+    public void shouldRankTheMostReliableProvidersByTheirSuccessRatio() {
+
+        ProviderOutcomes outcomes = new ProviderOutcomes();
+        dao.loadAll(Launch.class).forEach(outcomes::accept);
+        List<LaunchServiceProvider> result = databaseMiner.mostReliableLaunchServiceProviders(10);
+
+        // equal rankings are ordered differently in memory, so only the ranking is compared
+        assertEquals(new HashSet<>(outcomes.providers()), new HashSet<>(result));
+        for (int i = 1; i < result.size(); i++) {
+            LaunchServiceProvider a = result.get(i - 1);
+            LaunchServiceProvider b = result.get(i);
+            assertTrue(ReliabilityRanking.SUCCESS_RATIO.compare(
+                    outcomes.successes(a), outcomes.successes(a) + outcomes.failures(a),
+                    outcomes.successes(b), outcomes.successes(b) + outcomes.failures(b)) <= 0);
+        }
+        assertEquals(2, databaseMiner.mostReliableLaunchServiceProviders(2).size());
+    }
+
+    @DisplayName("should count the stored entities")
+    @Test
+    public void shouldCountTheStoredEntities() {
+
+        assertEquals(12, dao.count(Launch.class));
+        assertEquals(4, dao.count(Rocket.class));
+        assertEquals(3, dao.count(LaunchServiceProvider.class));
+    }
+}
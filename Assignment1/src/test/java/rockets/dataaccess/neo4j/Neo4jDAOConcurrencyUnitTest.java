@@ -0,0 +1,170 @@
+package rockets.dataaccess.neo4j;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
+import org.neo4j.ogm.session.Session;
+import org.neo4j.ogm.session.SessionFactory;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+import rockets.model.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class Neo4jDAOConcurrencyUnitTest {
+
+    private static final int THREADS = 8;
+    private static final int LAUNCHES_PER_THREAD = 10;
+
+    private ServerControls server;
+    private SessionFactory sessionFactory;
+    private Neo4jDAO dao;
+
+    @BeforeAll
+    public void initializeNeo4j() {
+        server = TestServerBuilders.newInProcessBuilder().newServer();
+        sessionFactory = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName());
+        dao = new Neo4jDAO(sessionFactory, 3);
+    }
+
+    @AfterAll
+    public void closeNeo4j() {
+        server.close();
+    }
+
+    @DisplayName("should keep the entities of concurrent writers and readers apart")
+    @Test
+    public void shouldKeepTheEntitiesOfConcurrentWritersAndReadersApart() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                start.await();
+                return writeAndReadBack(thread);
+            }));
+        }
+        start.countDown();
+
+        List<Long> launchIds = new ArrayList<>();
+        for (Future<List<Long>> writer : writers) {
+            launchIds.addAll(writer.get(2, TimeUnit.MINUTES));
+        }
+
+        List<Future<Boolean>> readers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            readers.add(executor.submit((Callable<Boolean>) () -> {
+                for (int i = 0; i < launchIds.size(); i++) {
+                    Long id = launchIds.get((i + thread * 7) % launchIds.size());
+                    Launch launch = dao.load(Launch.class, id);
+                    int owner = ownerOf(launch);
+                    assertEquals("provider_" + owner, launch.getLaunchServiceProvider().getName());
+                    assertEquals("rocket_" + owner, launch.getLaunchVehicle().getName());
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> reader : readers) {
+            assertTrue(reader.get(2, TimeUnit.MINUTES));
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * LAUNCHES_PER_THREAD, dao.count(Launch.class));
+        assertEquals(THREADS, dao.count(Rocket.class));
+        assertEquals(THREADS, dao.count(LaunchServiceProvider.class));
+        assertEquals(THREADS * LAUNCHES_PER_THREAD, countRelationships("LAUNCH_VEHICLE"));
+        assertEquals(THREADS * LAUNCHES_PER_THREAD, countRelationships("LAUNCH_SERVICE_PROVIDER"));
+    }
+
+    @DisplayName("should update an entity loaded by another session without duplicating its relationships")
+    @Test
+    public void shouldUpdateAnEntityLoadedByAnotherSessionWithoutDuplicatingItsRelationships() {
+
+        List<Long> ids = writeAndReadBack(0);
+
+        Launch launch = dao.load(Launch.class, ids.get(0));
+        launch.setFunction("updated");
+        dao.createOrUpdate(launch);
+
+        assertEquals("updated", dao.load(Launch.class, ids.get(0)).getFunction());
+        assertEquals(LAUNCHES_PER_THREAD, countRelationships("LAUNCH_VEHICLE"));
+    }
+
+    @DisplayName("should throw exception when the number of sessions is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenTheNumberOfSessionsIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new Neo4jDAO(sessionFactory, 0));
+        assertEquals("maxSessions must be greater than 0.", exception.getMessage());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionFactory.openSession().purgeDatabase();
+    }
+
+    /**
+     * Writes the launches of one thread, each checked right away through a fresh load.
+     *
+     * @return the ids of the launches written.
+     */
+    private List<Long> writeAndReadBack(int thread) {
+
+        LaunchServiceProvider provider = new LaunchServiceProvider("provider_" + thread, 1950 + thread, "USA");
+        Rocket rocket = new Rocket("rocket_" + thread, "USA", provider);
+        dao.createOrUpdate(rocket);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < LAUNCHES_PER_THREAD; i++) {
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(2000 + thread, 1 + i, 1));
+            launch.setLaunchVehicle(rocket);
+            launch.setLaunchServiceProvider(provider);
+            launch.setLaunchSite("site_" + thread);
+            launch.setOrbit("LEO");
+            dao.createOrUpdate(launch);
+            ids.add(launch.getId());
+
+            Launch loaded = dao.load(Launch.class, launch.getId());
+            assertNotSame(launch, loaded);
+            assertEquals(launch.getLaunchDate(), loaded.getLaunchDate());
+            assertEquals(rocket.getId(), loaded.getLaunchVehicle().getId());
+        }
+        return ids;
+    }
+
+    private static int ownerOf(Launch launch) {
+
+        return Integer.parseInt(launch.getLaunchSite().substring("site_".length()));
+    }
+
+    private long countRelationships(String type) {
+
+        Session session = sessionFactory.openSession();
+        Map<String, Object> row = session.query("MATCH ()-[r:" + type + "]->() RETURN count(r) AS relationships", Collections.emptyMap()).queryResults().iterator().next();
+        return ((Number) row.get("relationships")).longValue();
+    }
+}
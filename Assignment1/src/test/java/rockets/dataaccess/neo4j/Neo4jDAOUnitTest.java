@@ -12,15 +12,26 @@ import org.neo4j.harness.TestServerBuilders;
 import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
 import org.neo4j.ogm.session.Session;
 import org.neo4j.ogm.session.SessionFactory;
+import rockets.dataaccess.BatchWriteReport;
 import rockets.dataaccess.DAO;
+import rockets.dataaccess.DAOListener;
+import rockets.model.Entity;
 import rockets.model.Launch;
 import rockets.model.LaunchServiceProvider;
 import rockets.model.Rocket;
 import rockets.model.User;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -227,25 +238,88 @@ public class Neo4jDAOUnitTest {
         assertTrue(dao.loadAll(Rocket.class).isEmpty());
     }
 
-//    @DisplayName("should not throw exception when the Launch entity can be found")
-//    @Test
-//    public void shouldNotThrowExceptionWhenTheLaunchEntityCanBeFound() {
-//
-//        Launch entity = new Launch();
-//        entity.setLaunchDate(LocalDate.of(2017, 1, 1));
-//        entity.setLaunchVehicle(rocket);
-//        entity.setLaunchSite("VAFB");
-//        entity.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
-//        entity.setOrbit("LEO");
-//        dao.createOrUpdate(entity);
-//
-//        assertNotNull(entity.getId());
-//        assertFalse(dao.loadAll(Launch.class).isEmpty());
-//        assertDoesNotThrow(() -> {
-//            dao.delete(entity);
-//        });
-//        assertTrue(dao.loadAll(Launch.class).isEmpty());
-//    }
+    @DisplayName("should not throw exception when the Launch entity can be found")
+    @Test
+    public void shouldNotThrowExceptionWhenTheLaunchEntityCanBeFound() {
+
+        Launch entity = new Launch();
+        entity.setLaunchDate(LocalDate.of(2017, 1, 1));
+        entity.setLaunchVehicle(rocket);
+        entity.setLaunchSite("VAFB");
+        entity.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+        entity.setOrbit("LEO");
+        dao.createOrUpdate(entity);
+
+        assertNotNull(entity.getId());
+        assertFalse(dao.loadAll(Launch.class).isEmpty());
+        assertDoesNotThrow(() -> {
+            dao.delete(entity);
+        });
+        assertTrue(dao.loadAll(Launch.class).isEmpty());
+    }
+
+    @DisplayName("should update a stored launch when an equal launch without an id is saved or deleted")
+    @Test
+    public void shouldUpdateAStoredLaunchWhenAnEqualLaunchWithoutAnIdIsSavedOrDeleted() {
+
+        dao.createOrUpdate(launch("VAFB", null));
+        session.clear();
+
+        Launch again = launch("VAFB", "experimental");
+        dao.createOrUpdate(again);
+
+        assertEquals(1, dao.loadAll(Launch.class).size());
+        assertEquals("experimental", dao.load(Launch.class, again.getId()).getFunction());
+        session.clear();
+
+        dao.delete(launch("VAFB", null));
+        assertTrue(dao.loadAll(Launch.class).isEmpty());
+    }
+
+    @DisplayName("should save equal entities of one batch once, like saving them one at a time")
+    @Test
+    public void shouldSaveEqualEntitiesOfOneBatchOnce() {
+
+        Neo4jDAO neo4jDAO = (Neo4jDAO) dao;
+        Rocket rocketAgain = new Rocket("F9", "USA", new LaunchServiceProvider("SpaceX", 2002, "USA"));
+        Launch first = launch("VAFB", "first");
+        Launch second = launch("VAFB", "second");
+        User user = new User();
+        user.setFirstName("first");
+        user.setLastName("user");
+        user.setEmail("same@test.com");
+        user.setPassword("TESTtest1");
+        User userAgain = new User();
+        userAgain.setFirstName("second");
+        userAgain.setLastName("user");
+        userAgain.setEmail("same@test.com");
+        userAgain.setPassword("TESTtest1");
+
+        BatchWriteReport report = dao.createOrUpdateAll(Arrays.asList(rocket, rocketAgain, first, second, user, userAgain));
+
+        assertEquals(0, report.getBatches().get(0).getExisting());
+        assertEquals(rocket.getId(), rocketAgain.getId());
+        assertEquals(first.getId(), second.getId());
+        assertEquals(user.getId(), userAgain.getId());
+        assertEquals(1, dao.loadAll(Rocket.class).size());
+        assertEquals(1, dao.loadAll(Launch.class).size());
+        assertEquals(1, dao.loadAll(User.class).size());
+        session.clear();
+        assertEquals("second", dao.load(Launch.class, first.getId()).getFunction());
+        assertEquals("second", dao.load(User.class, user.getId()).getFirstName());
+
+        Launch third = launch("VAFB", "third");
+        Launch fourth = launch("VAFB", "fourth");
+        Launch other = launch("KSC", "other");
+        report = neo4jDAO.insertLaunches(Arrays.asList(third, other, fourth));
+
+        assertEquals(2, report.getBatches().get(0).getExisting());
+        assertEquals(first.getId(), third.getId());
+        assertEquals(first.getId(), fourth.getId());
+        assertEquals(2, dao.loadAll(Launch.class).size());
+        session.clear();
+        assertEquals("fourth", dao.load(Launch.class, first.getId()).getFunction());
+    }
 
     @DisplayName("should not throw exception when the Launch service provider entity can be found")
     @Test
@@ -262,6 +336,339 @@ public class Neo4jDAOUnitTest {
         assertTrue(dao.loadAll(LaunchServiceProvider.class).isEmpty());
     }
 
+    @DisplayName("should notify listeners after a launch is saved and deleted")
+    @Test
+    public void shouldNotifyListenersAfterALaunchIsSavedAndDeleted() {
+
+        Neo4jDAO neo4jDAO = (Neo4jDAO) dao;
+        List<Entity> saved = new ArrayList<>();
+        List<Entity> deleted = new ArrayList<>();
+        DAOListener listener = new DAOListener() {
+            @Override
+            public void entitySaved(Entity entity) {
+                saved.add(entity);
+            }
+
+            @Override
+            public void entityDeleted(Entity entity) {
+                deleted.add(entity);
+            }
+        };
+        neo4jDAO.addListener(listener);
+
+        try {
+            dao.createOrUpdate(rocket);
+            dao.delete(rocket);
+        } finally {
+            neo4jDAO.removeListener(listener);
+        }
+
+        assertEquals(Arrays.asList(rocket), saved);
+        assertEquals(Arrays.asList(rocket), deleted);
+    }
+
+    @DisplayName("should write entities in batches of the batch size")
+    @Test
+    public void shouldWriteEntitiesInBatchesOfTheBatchSize() {
+
+        Neo4jDAO neo4jDAO = (Neo4jDAO) dao;
+        List<Rocket> rockets = Arrays.asList(
+                new Rocket("F1", "USA", spacex),
+                new Rocket("F9", "USA", spacex),
+                new Rocket("Heavy", "USA", spacex),
+                new Rocket("Ariane4", "France", esa),
+                new Rocket("Ariane5", "France", esa)
+        );
+
+        neo4jDAO.setBatchSize(2);
+        try {
+            BatchWriteReport report = dao.createOrUpdateAll(rockets);
+
+            assertEquals(3, report.getBatches().size());
+            assertEquals(2, report.getBatches().get(0).getSize());
+            assertEquals(1, report.getBatches().get(2).getSize());
+            assertEquals(5, report.getEntities());
+        } finally {
+            neo4jDAO.setBatchSize(1000);
+        }
+        for (Rocket r : rockets) {
+            assertNotNull(r.getId());
+        }
+        assertEquals(5, dao.loadAll(Rocket.class).size());
+        assertEquals(2, dao.loadAll(LaunchServiceProvider.class).size());
+    }
+
+    @DisplayName("should update already stored entities when writing in batches")
+    @Test
+    public void shouldUpdateAlreadyStoredEntitiesWhenWritingInBatches() {
+
+        dao.createOrUpdate(rocket);
+        Launch launch = new Launch();
+        launch.setLaunchDate(LocalDate.of(2017, 1, 1));
+        launch.setLaunchVehicle(rocket);
+        launch.setLaunchSite("VAFB");
+        launch.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+        dao.createOrUpdate(launch);
+        session.clear();
+
+        LaunchServiceProvider spacexAgain = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        spacexAgain.setHeadquarters("Hawthorne");
+        Rocket rocketAgain = new Rocket("F9", "USA", spacexAgain);
+        Launch launchAgain = new Launch();
+        launchAgain.setLaunchDate(LocalDate.of(2017, 1, 1));
+        launchAgain.setLaunchVehicle(rocketAgain);
+        launchAgain.setLaunchSite("VAFB");
+        launchAgain.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+        launchAgain.setFunction("experimental");
+        Launch otherLaunch = new Launch();
+        otherLaunch.setLaunchDate(LocalDate.of(2018, 1, 1));
+        otherLaunch.setLaunchVehicle(rocketAgain);
+        otherLaunch.setLaunchSite("VAFB");
+
+        BatchWriteReport report = dao.createOrUpdateAll(Arrays.asList(spacexAgain, rocketAgain, launchAgain, otherLaunch));
+
+        assertEquals(3, report.getBatches().get(0).getExisting());
+        assertEquals(spacex.getId(), spacexAgain.getId());
+        assertEquals(rocket.getId(), rocketAgain.getId());
+        assertEquals(launch.getId(), launchAgain.getId());
+        assertEquals(2, dao.loadAll(Launch.class).size());
+        assertEquals(1, dao.loadAll(Rocket.class).size());
+        assertEquals(1, dao.loadAll(LaunchServiceProvider.class).size());
+        assertEquals("experimental", dao.load(Launch.class, launch.getId()).getFunction());
+        assertEquals("Hawthorne", dao.load(LaunchServiceProvider.class, spacex.getId()).getHeadquarters());
+    }
+
+    @DisplayName("should insert new launches and update stored ones in bulk")
+    @Test
+    public void shouldInsertNewLaunchesAndUpdateStoredOnesInBulk() {
+
+        dao.createOrUpdate(rocket);
+        Launch stored = new Launch();
+        stored.setLaunchDate(LocalDate.of(2017, 1, 1));
+        stored.setLaunchVehicle(rocket);
+        stored.setLaunchSite("VAFB");
+        stored.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+        dao.createOrUpdate(stored);
+        session.clear();
+
+        Launch storedAgain = new Launch();
+        storedAgain.setLaunchDate(LocalDate.of(2017, 1, 1));
+        storedAgain.setLaunchVehicle(rocket);
+        storedAgain.setLaunchSite("VAFB");
+        storedAgain.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+        storedAgain.setFunction("experimental");
+        Launch created = new Launch();
+        created.setLaunchDate(LocalDate.of(2018, 2, 3));
+        created.setLaunchVehicle(rocket);
+        created.setLaunchServiceProvider(spacex);
+        created.setLaunchSite("KSC");
+        created.setPrice(new BigDecimal("12.50"));
+        created.setLaunchOutcome(Launch.LaunchOutcome.FAILED);
+        created.setPayload(Sets.newHashSet("satellite", "crew"));
+
+        BatchWriteReport report = ((Neo4jDAO) dao).insertLaunches(Arrays.asList(storedAgain, created));
+        session.clear();
+
+        assertEquals(1, report.getBatches().get(0).getExisting());
+        assertEquals(stored.getId(), storedAgain.getId());
+        assertNotNull(created.getId());
+        assertEquals(2, dao.loadAll(Launch.class).size());
+        assertEquals("experimental", dao.load(Launch.class, stored.getId()).getFunction());
+        Launch loaded = dao.load(Launch.class, created.getId());
+        assertEquals(LocalDate.of(2018, 2, 3), loaded.getLaunchDate());
+        assertEquals(new BigDecimal("12.50"), loaded.getPrice());
+        assertEquals(Launch.LaunchOutcome.FAILED, loaded.getLaunchOutcome());
+        assertEquals(Sets.newHashSet("satellite", "crew"), loaded.getPayload());
+        assertEquals(rocket.getId(), loaded.getLaunchVehicle().getId());
+        assertEquals(spacex.getId(), loaded.getLaunchServiceProvider().getId());
+    }
+
+    @DisplayName("should throw exception when a launch vehicle is not stored before a bulk insert")
+    @Test
+    public void shouldThrowExceptionWhenALaunchVehicleIsNotStoredBeforeABulkInsert() {
+
+        Launch launch = new Launch();
+        launch.setLaunchVehicle(rocket);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> ((Neo4jDAO) dao).insertLaunches(Collections.singletonList(launch)));
+        assertEquals("launchVehicle must be stored before its launches.", exception.getMessage());
+    }
+
+    @DisplayName("should intern the values of loaded entities")
+    @Test
+    public void shouldInternTheValuesOfLoadedEntities() {
+
+        Launch launch = new Launch();
+        launch.setLaunchDate(LocalDate.of(2017, 1, 1));
+        launch.setLaunchVehicle(rocket);
+        launch.setLaunchSite("VAFB");
+        launch.setOrbit("LEO");
+        dao.createOrUpdate(launch);
+        session.clear();
+
+        Launch loaded = dao.load(Launch.class, launch.getId());
+        assertNotSame(launch, loaded);
+        assertSame(launch.getLaunchSite(), loaded.getLaunchSite());
+        assertSame(launch.getOrbit(), loaded.getOrbit());
+        assertSame(rocket.getName(), loaded.getLaunchVehicle().getName());
+        assertSame(rocket.getCountry(), loaded.getLaunchVehicle().getCountry());
+        assertSame(spacex.getName(), dao.load(LaunchServiceProvider.class, spacex.getId()).getName());
+    }
+
+    @DisplayName("should throw exception when the batch size is smaller or equal to 0")
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0})
+    public void shouldThrowExceptionWhenTheBatchSizeIsSmallerOrEqualTo0(int batchSize) {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> ((Neo4jDAO) dao).setBatchSize(batchSize));
+        assertEquals("batchSize must be greater than 0.", exception.getMessage());
+    }
+
+    @DisplayName("should load consecutive pages without overlap")
+    @Test
+    public void shouldLoadConsecutivePagesWithoutOverlap() {
+
+        List<LaunchServiceProvider> providers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            providers.add(new LaunchServiceProvider("provider_" + i, 1950 + i, "USA"));
+        }
+        dao.createOrUpdateAll(providers);
+
+        Set<String> names = new HashSet<>();
+        for (int offset = 0; offset < 7; offset += 3) {
+            List<LaunchServiceProvider> page = dao.loadPage(LaunchServiceProvider.class, offset, 3);
+            assertEquals(Math.min(3, 7 - offset), page.size());
+            for (LaunchServiceProvider provider : page) {
+                assertTrue(names.add(provider.getName()));
+            }
+        }
+        assertEquals(7, names.size());
+        assertTrue(dao.loadPage(LaunchServiceProvider.class, 7, 3).isEmpty());
+    }
+
+    @DisplayName("should page the entities by id while they are updated")
+    @Test
+    public void shouldPageTheEntitiesByIdWhileTheyAreUpdated() {
+
+        List<LaunchServiceProvider> providers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            providers.add(new LaunchServiceProvider("provider_" + i, 1950 + i, "USA"));
+        }
+        dao.createOrUpdateAll(providers);
+        List<Long> ids = providers.stream().map(LaunchServiceProvider::getId).sorted().collect(Collectors.toList());
+        session.clear();
+
+        List<Long> paged = new ArrayList<>();
+        for (int offset = 0; offset < 10; offset += 3) {
+            for (LaunchServiceProvider provider : dao.loadPage(LaunchServiceProvider.class, offset, 3)) {
+                paged.add(provider.getId());
+                provider.setHeadquarters("updated");
+                dao.createOrUpdate(provider);
+            }
+        }
+
+        assertEquals(ids, paged);
+    }
+
+    @DisplayName("should stream every entity once and detach the consumed pages")
+    @Test
+    public void shouldStreamEveryEntityOnceAndDetachTheConsumedPages() {
+
+        List<LaunchServiceProvider> providers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            providers.add(new LaunchServiceProvider("provider_" + i, 1950 + i, "USA"));
+        }
+        dao.createOrUpdateAll(providers);
+        session.clear();
+
+        List<LaunchServiceProvider> streamed = dao.streamAll(LaunchServiceProvider.class, 4).collect(Collectors.toList());
+
+        assertEquals(10, streamed.stream().map(LaunchServiceProvider::getName).distinct().count());
+        for (LaunchServiceProvider provider : streamed) {
+            assertNotSame(provider, session.load(LaunchServiceProvider.class, provider.getId(), 0));
+        }
+    }
+
+    @DisplayName("should throw exception when the page is invalid")
+    @Test
+    public void shouldThrowExceptionWhenThePageIsInvalid() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> dao.loadPage(Launch.class, -1, 10));
+        assertEquals("offset must not be negative.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> dao.loadPage(Launch.class, 0, 0));
+        assertEquals("limit must be greater than 0.", exception.getMessage());
+    }
+
+    @DisplayName("should change the version with every write and delete")
+    @Test
+    public void shouldChangeTheVersionWithEveryWriteAndDelete() {
+
+        Neo4jDAO neo4jDAO = (Neo4jDAO) dao;
+        long before = neo4jDAO.getVersion();
+
+        dao.createOrUpdate(spacex);
+        long saved = neo4jDAO.getVersion();
+        dao.createOrUpdateAll(Arrays.asList(esa, rocket));
+        long savedAll = neo4jDAO.getVersion();
+        dao.delete(rocket);
+
+        assertTrue(before < saved);
+        assertTrue(saved < savedAll);
+        assertTrue(savedAll < neo4jDAO.getVersion());
+    }
+
+    @DisplayName("should create the natural key indexes and constraints idempotently")
+    @Test
+    public void shouldCreateTheNaturalKeyIndexesAndConstraintsIdempotently() {
+
+        assertDoesNotThrow(() -> new Neo4jDAO(session));
+
+        Set<String> indexes = new HashSet<>();
+        for (Map<String, Object> row : session.query("CALL db.indexes()", Collections.emptyMap()).queryResults()) {
+            indexes.add((String) row.get("description"));
+        }
+        assertTrue(indexes.contains("INDEX ON :Rocket(name, country)"));
+        assertTrue(indexes.contains("INDEX ON :LaunchServiceProvider(name, yearFounded, country)"));
+        assertTrue(indexes.contains("INDEX ON :Launch(launchDate, launchSite, launchOutcome)"));
+
+        Set<String> constraints = new HashSet<>();
+        for (Map<String, Object> row : session.query("CALL db.constraints()", Collections.emptyMap()).queryResults()) {
+            constraints.add((String) row.get("description"));
+        }
+        assertTrue(constraints.contains("CONSTRAINT ON ( user:User ) ASSERT user.email IS UNIQUE"));
+    }
+
+    @DisplayName("should open a store whose users already share an email")
+    @Test
+    public void shouldOpenAStoreWhoseUsersAlreadyShareAnEmail() {
+
+        try (ServerControls server = TestServerBuilders.newInProcessBuilder().newServer()) {
+            server.graph().execute("CREATE (:User {email: 'same@test.com'}), (:User {email: 'same@test.com'})").close();
+            Session other = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName()).openSession();
+
+            Neo4jDAO neo4jDAO = assertDoesNotThrow(() -> new Neo4jDAO(other));
+
+            Set<String> indexes = new HashSet<>();
+            for (Map<String, Object> row : other.query("CALL db.indexes()", Collections.emptyMap()).queryResults()) {
+                indexes.add((String) row.get("description"));
+            }
+            assertTrue(indexes.contains("INDEX ON :User(email)"));
+            assertFalse(other.query("CALL db.constraints()", Collections.emptyMap()).queryResults().iterator().hasNext());
+            assertEquals(2, neo4jDAO.loadAll(User.class).size());
+        }
+    }
+
+    private Launch launch(String launchSite, String function) {
+
+        Launch launch = new Launch();
+        launch.setLaunchDate(LocalDate.of(2017, 1, 1));
+        launch.setLaunchVehicle(rocket);
+        launch.setLaunchSite(launchSite);
+        launch.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+        launch.setFunction(function);
+        return launch;
+    }
+
     @AfterEach
     public void tearDown() {
         session.purgeDatabase();
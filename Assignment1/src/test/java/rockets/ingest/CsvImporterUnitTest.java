@@ -0,0 +1,204 @@
+package rockets.ingest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.neo4j.harness.ServerControls;
+import org.neo4j.harness.TestServerBuilders;
+import org.neo4j.ogm.drivers.embedded.driver.EmbeddedDriver;
+import org.neo4j.ogm.session.SessionFactory;
+import rockets.dataaccess.BatchWriteReport;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Entity;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+import rockets.model.User;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CsvImporterUnitTest {
+
+    private static final String PROVIDERS = "name,yearFounded,country,headquarters\n" +
+            "SpaceX,2002,USA,Hawthorne\n" +
+            "ESA,1975,Europe,\n";
+    private static final String ROCKETS = "name,country,manufacturer,massToLEO\n" +
+            "F9,USA,SpaceX,22800\n" +
+            "Ariane 5,Europe,ESA,\n";
+
+    private ServerControls server;
+    private DAO dao;
+    private List<List<Entity>> written;
+
+    @BeforeAll
+    public void initializeNeo4j() {
+        server = TestServerBuilders.newInProcessBuilder().newServer();
+    }
+
+    @AfterAll
+    public void closeNeo4j() {
+        server.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        written = new ArrayList<>();
+        when(dao.createOrUpdateAll(any())).thenAnswer(invocation -> {
+            written.add(new ArrayList<>(invocation.<Collection<Entity>>getArgument(0)));
+            return new BatchWriteReport();
+        });
+    }
+
+    @DisplayName("should write providers, rockets and launches in batches with resolved references")
+    @Test
+    public void shouldWriteProvidersRocketsAndLaunchesInBatchesWithResolvedReferences() throws Exception {
+
+        List<Long> progress = new ArrayList<>();
+        CsvImporter importer = CsvImporter.builder(dao).batchSize(3).queueCapacity(1).progress((launches, elapsed) -> progress.add(launches)).build();
+
+        ImportReport report = importer.importAll(new StringReader(PROVIDERS), new StringReader(ROCKETS), new StringReader(launches(10)));
+
+        assertEquals(2, report.getProviders());
+        assertEquals(2, report.getRockets());
+        assertEquals(10, report.getLaunches());
+        assertEquals(0, report.getRejected());
+        assertEquals(Arrays.asList(3L, 6L, 9L, 10L), progress);
+
+        assertEquals(6, written.size());
+        LaunchServiceProvider spacex = (LaunchServiceProvider) written.get(0).get(0);
+        assertEquals("Hawthorne", spacex.getHeadquarters());
+        Rocket falcon = (Rocket) written.get(1).get(0);
+        assertSame(spacex, falcon.getManufacturer());
+        assertEquals("22800", falcon.getMassToLEO());
+
+        Launch first = (Launch) written.get(2).get(0);
+        assertSame(falcon, first.getLaunchVehicle());
+        assertSame(spacex, first.getLaunchServiceProvider());
+        assertEquals(LocalDate.of(2010, 1, 1), first.getLaunchDate());
+        assertEquals(new BigDecimal("100.50"), first.getPrice());
+        assertEquals(Launch.LaunchOutcome.SUCCESSFUL, first.getLaunchOutcome());
+        assertEquals(2, first.getPayload().size());
+    }
+
+    @DisplayName("should skip and report invalid rows")
+    @Test
+    public void shouldSkipAndReportInvalidRows() throws Exception {
+
+        String providers = PROVIDERS + "SpaceX,2002,USA,\n" + "Bad,1200,USA,\n";
+        String launches = "launchDate,launchVehicle,launchSite,launchOutcome\n" +
+                "2017-01-01,F9,VAFB,SUCCESSFUL\n" +
+                "2017-13-01,F9,VAFB,SUCCESSFUL\n" +
+                "2017-01-02,Saturn V,VAFB,SUCCESSFUL\n" +
+                "2017-01-03,F9,VAFB,EXPLODED\n" +
+                "2017-01-04,F9,,FAILED\n";
+
+        ImportReport report = CsvImporter.builder(dao).build().importAll(new StringReader(providers), new StringReader(ROCKETS), new StringReader(launches));
+
+        assertEquals(2, report.getProviders());
+        assertEquals(1, report.getLaunches());
+        assertEquals(6, report.getRejected());
+        assertEquals(Arrays.asList(
+                "providers line 3: duplicate provider 'SpaceX'.",
+                "providers line 4: yearFounder must be equal or greater than 1500 and equal or smaller than current year",
+                "launches line 2: launchDate must be an ISO date: '2017-13-01'.",
+                "launches line 3: unknown launch vehicle 'Saturn V'.",
+                "launches line 4: launchOutcome must be FAILED or SUCCESSFUL: 'EXPLODED'.",
+                "launches line 5: launchSite cannot be empty."), report.getRejections());
+    }
+
+    @DisplayName("should stop the import when a write fails")
+    @Test
+    public void shouldStopTheImportWhenAWriteFails() {
+
+        doAnswer(invocation -> {
+            Collection<Entity> entities = invocation.getArgument(0);
+            if (entities.iterator().next() instanceof Launch) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return new BatchWriteReport();
+        }).when(dao).createOrUpdateAll(any());
+        CsvImporter importer = CsvImporter.builder(dao).batchSize(1).queueCapacity(1).build();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> importer.importAll(new StringReader(PROVIDERS), new StringReader(ROCKETS), new StringReader(launches(100))));
+        assertEquals("database unavailable", exception.getMessage());
+    }
+
+    @DisplayName("should stop the import when a launch cannot be mapped")
+    @Test
+    public void shouldStopTheImportWhenALaunchCannotBeMapped() {
+
+        AtomicInteger mapped = new AtomicInteger();
+        CsvImporter importer = CsvImporter.builder(dao).batchSize(1).queueCapacity(1).launchMapper((record, rockets, providers) -> {
+            if (mapped.incrementAndGet() == 3) {
+                throw new IllegalStateException("unexpected row");
+            }
+            return RecordMapper.launch(record, rockets, providers);
+        }).build();
+
+        IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(IllegalStateException.class,
+                () -> importer.importAll(new StringReader(PROVIDERS), new StringReader(ROCKETS), new StringReader(launches(100)))));
+        assertEquals("The import failed.", exception.getMessage());
+        assertEquals("unexpected row", exception.getCause().getMessage());
+    }
+
+    @DisplayName("should import into Neo4j")
+    @Test
+    public void shouldImportIntoNeo4j() throws Exception {
+
+        SessionFactory sessionFactory = new SessionFactory(new EmbeddedDriver(server.graph()), User.class.getPackage().getName());
+        Neo4jDAO neo4jDAO = new Neo4jDAO(sessionFactory, 2);
+
+        ImportReport report = CsvImporter.builder(neo4jDAO).batchSize(4).build().importAll(new StringReader(PROVIDERS), new StringReader(ROCKETS), new StringReader(launches(10)));
+
+        assertEquals(10, report.getLaunches());
+        assertEquals(10, neo4jDAO.count(Launch.class));
+        assertEquals(2, neo4jDAO.count(Rocket.class));
+        assertEquals(2, neo4jDAO.count(LaunchServiceProvider.class));
+        for (Launch launch : neo4jDAO.loadAll(Launch.class)) {
+            String provider = "F9".equals(launch.getLaunchVehicle().getName()) ? "SpaceX" : "ESA";
+            assertEquals(provider, launch.getLaunchServiceProvider().getName());
+        }
+        sessionFactory.openSession().purgeDatabase();
+    }
+
+    @DisplayName("should throw exception when the batch size is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenTheBatchSizeIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> CsvImporter.builder(dao).batchSize(0));
+        assertEquals("batchSize must be greater than 0.", exception.getMessage());
+    }
+
+    private static String launches(int count) {
+
+        StringBuilder csv = new StringBuilder("launchDate,launchVehicle,launchServiceProvider,launchSite,orbit,function,price,launchOutcome,payload\n");
+        for (int i = 0; i < count; i++) {
+            boolean falcon = i % 2 == 0;
+            csv.append(LocalDate.of(2010, 1, 1).plusDays(i)).append(',')
+                    .append(falcon ? "F9" : "Ariane 5").append(',')
+                    .append(falcon ? "SpaceX" : "").append(',')
+                    .append(falcon ? "VAFB" : "Kourou").append(",LEO,commercial,")
+                    .append(new BigDecimal("100.50").add(BigDecimal.valueOf(i))).append(',')
+                    .append(i % 3 == 0 ? "SUCCESSFUL" : "FAILED").append(",\"satellite; crew\"\n");
+        }
+        return csv.toString();
+    }
+}
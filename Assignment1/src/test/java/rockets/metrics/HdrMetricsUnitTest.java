@@ -0,0 +1,149 @@
+package rockets.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HdrMetricsUnitTest {
+
+    @DisplayName("should report the percentiles of the recorded latencies")
+    @Test
+    public void shouldReportThePercentilesOfTheRecordedLatencies() {
+
+        HdrMetrics metrics = new HdrMetrics();
+        OperationMetrics operation = metrics.operation("query");
+        for (int micros = 1; micros <= 1000; micros++) {
+            operation.record(TimeUnit.MICROSECONDS.toNanos(micros), 2, 0, false);
+        }
+
+        OperationSnapshot snapshot = metrics.snapshot().get("query");
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(2000, snapshot.getRows());
+        assertEquals(0, snapshot.getErrors());
+        // two significant digits keep the values within 1%
+        assertEquals(500_000, snapshot.getP50(), 5_000);
+        assertEquals(990_000, snapshot.getP99(), 9_900);
+        assertEquals(999_000, snapshot.getP999(), 9_990);
+        assertEquals(1_000_000, snapshot.getMaxLatency(), 10_000);
+        assertSame(operation, metrics.operation("query"));
+    }
+
+    @DisplayName("should record a failed call as an error and rethrow its exception")
+    @Test
+    public void shouldRecordAFailedCallAsAnErrorAndRethrowItsException() {
+
+        HdrMetrics metrics = new HdrMetrics();
+        OperationMetrics operation = metrics.operation("query");
+
+        assertEquals("result", operation.measure(() -> "result", OperationMetrics::rowsOf));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> operation.measure(() -> {
+            throw new IllegalStateException("failed");
+        }, OperationMetrics::rowsOf));
+        assertEquals("failed", exception.getMessage());
+
+        OperationSnapshot snapshot = metrics.snapshot().get("query");
+        assertEquals(2, snapshot.getCount());
+        assertEquals(1, snapshot.getErrors());
+        assertEquals(1, snapshot.getRows());
+    }
+
+    @DisplayName("should discard what was recorded on reset and keep recording")
+    @Test
+    public void shouldDiscardWhatWasRecordedOnResetAndKeepRecording() {
+
+        HdrMetrics metrics = new HdrMetrics();
+        OperationMetrics operation = metrics.operation("query");
+        operation.record(1_000_000, 10, 100, true);
+        assertEquals(1, metrics.snapshot().get("query").getCount());
+
+        metrics.reset();
+        OperationSnapshot empty = metrics.snapshot().get("query");
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getErrors());
+        assertEquals(0, empty.getRows());
+        assertEquals(0, empty.getAllocatedBytes());
+        assertEquals(0, empty.getP99());
+
+        operation.record(2_000, 1, 0, false);
+        OperationSnapshot snapshot = metrics.snapshot().get("query");
+        assertEquals(1, snapshot.getCount());
+        assertEquals(2_000, snapshot.getMaxLatency(), 20);
+    }
+
+    @DisplayName("should measure the bytes allocated during a call when enabled")
+    @Test
+    public void shouldMeasureTheBytesAllocatedDuringACallWhenEnabled() {
+
+        HdrMetrics measured = HdrMetrics.builder().measureAllocations().build();
+        HdrMetrics unmeasured = new HdrMetrics();
+
+        measured.operation("query").measure(() -> new byte[1 << 20], array -> 1);
+        unmeasured.operation("query").measure(() -> new byte[1 << 20], array -> 1);
+
+        assertTrue(measured.snapshot().get("query").getAllocatedBytes() >= 1 << 20);
+        assertEquals(0, unmeasured.snapshot().get("query").getAllocatedBytes());
+    }
+
+    @DisplayName("should not lose calls recorded while snapshots are taken")
+    @Test
+    public void shouldNotLoseCallsRecordedWhileSnapshotsAreTaken() throws Exception {
+
+        HdrMetrics metrics = new HdrMetrics();
+        OperationMetrics operation = metrics.operation("query");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        operation.record(i, 1, 0, false);
+                    }
+                }));
+            }
+            long previous = 0;
+            while (!writers.stream().allMatch(Future::isDone)) {
+                long count = metrics.snapshot().get("query").getCount();
+                assertTrue(count >= previous);
+                previous = count;
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        OperationSnapshot snapshot = metrics.snapshot().get("query");
+        assertEquals(400_000, snapshot.getCount());
+        assertEquals(400_000, snapshot.getRows());
+    }
+
+    @DisplayName("should record nothing with the no-op metrics")
+    @Test
+    public void shouldRecordNothingWithTheNoOpMetrics() {
+
+        OperationMetrics operation = Metrics.NOOP.operation("query");
+        assertEquals("result", operation.measure(() -> "result", OperationMetrics::rowsOf));
+        operation.record(1, 1, 1, true);
+
+        Map<String, OperationSnapshot> snapshot = Metrics.NOOP.snapshot();
+        assertTrue(snapshot.isEmpty());
+    }
+
+    @DisplayName("should throw exception when significant digits are out of range")
+    @Test
+    public void shouldThrowExceptionWhenSignificantDigitsAreOutOfRange() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> HdrMetrics.builder().significantDigits(0));
+        assertEquals("significantDigits must be between 1 and 5.", exception.getMessage());
+    }
+}
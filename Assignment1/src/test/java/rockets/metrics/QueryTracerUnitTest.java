@@ -0,0 +1,138 @@
+package rockets.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.mining.RocketMiner;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class QueryTracerUnitTest {
+
+    @DisplayName("should publish the fields of every call at a sample rate of 1")
+    @Test
+    public void shouldPublishTheFieldsOfEveryCallAtASampleRateOf1() {
+
+        List<QueryTrace> traces = new ArrayList<>();
+        QueryTracer tracer = QueryTracer.builder(QueryTracerUnitTest.class).sink(traces::add).build();
+
+        List<String> result = tracer.trace("query", trace -> {
+            trace.scanned(40);
+            trace.scanned(2);
+            return Arrays.asList("a", "b", "c");
+        }, 3, "LEO");
+
+        assertEquals(Arrays.asList("a", "b", "c"), result);
+        assertEquals(1, traces.size());
+        QueryTrace trace = traces.get(0);
+        assertEquals("query", trace.getQuery());
+        assertEquals(Arrays.asList(3, "LEO"), trace.getArguments());
+        assertEquals(3, trace.getRows());
+        assertEquals(42, trace.getScanned());
+        assertTrue(trace.getElapsedNanos() >= 0);
+        assertNull(trace.getFailure());
+    }
+
+    @DisplayName("should publish a failed call with its exception and rethrow it")
+    @Test
+    public void shouldPublishAFailedCallWithItsExceptionAndRethrowIt() {
+
+        List<QueryTrace> traces = new ArrayList<>();
+        QueryTracer tracer = QueryTracer.builder(QueryTracerUnitTest.class).sink(traces::add).build();
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> tracer.trace("query", trace -> {
+            throw failure;
+        })));
+        assertEquals(1, traces.size());
+        assertSame(failure, traces.get(0).getFailure());
+        assertEquals(Collections.emptyList(), traces.get(0).getArguments());
+    }
+
+    @DisplayName("should sample the given fraction of the calls")
+    @Test
+    public void shouldSampleTheGivenFractionOfTheCalls() {
+
+        List<QueryTrace> traces = new ArrayList<>();
+        QueryTracer none = QueryTracer.builder(QueryTracerUnitTest.class).sampleRate(0).sink(traces::add).build();
+        QueryTracer quarter = QueryTracer.builder(QueryTracerUnitTest.class).sampleRate(0.25).sink(traces::add).build();
+
+        for (int i = 0; i < 10_000; i++) {
+            Integer call = i;
+            assertEquals(call, none.trace("query", trace -> call, call));
+        }
+        assertTrue(traces.isEmpty());
+
+        for (int i = 0; i < 10_000; i++) {
+            Integer call = i;
+            quarter.trace("query", trace -> call, call);
+        }
+        assertTrue(traces.size() > 2_000 && traces.size() < 3_000, "sampled " + traces.size());
+    }
+
+    @DisplayName("should not sample calls when the level is disabled")
+    @Test
+    public void shouldNotSampleCallsWhenTheLevelIsDisabled() {
+
+        QueryTracer tracer = QueryTracer.builder(QueryTracerUnitTest.class).level(Level.TRACE).build();
+
+        QueryTrace trace = tracer.start("query", 1);
+        assertFalse(trace.isSampled());
+        trace.scanned(10);
+        assertEquals(0, trace.getScanned());
+    }
+
+    @DisplayName("should trace the miner queries with the launches they scanned")
+    @Test
+    public void shouldTraceTheMinerQueriesWithTheLaunchesTheyScanned() {
+
+        LaunchServiceProvider spacex = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        Rocket rocket = new Rocket("F9", "USA", spacex);
+        List<Launch> launches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(2017, 1 + i, 1));
+            launch.setLaunchVehicle(rocket);
+            launch.setLaunchServiceProvider(spacex);
+            launch.setOrbit("LEO");
+            launch.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+            launches.add(launch);
+        }
+        DAO dao = mock(Neo4jDAO.class);
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+        List<QueryTrace> traces = new ArrayList<>();
+        RocketMiner miner = RocketMiner.builder(dao).tracer(QueryTracer.builder(RocketMiner.class).sink(traces::add).build()).build();
+
+        assertEquals(3, miner.mostRecentLaunches(3).size());
+        assertEquals("USA", miner.dominantCountry("LEO"));
+
+        assertEquals(2, traces.size());
+        assertEquals("mostRecentLaunches", traces.get(0).getQuery());
+        assertEquals(Collections.singletonList(3), traces.get(0).getArguments());
+        assertEquals(3, traces.get(0).getRows());
+        assertEquals(5, traces.get(0).getScanned());
+        assertEquals("dominantCountry", traces.get(1).getQuery());
+        assertEquals(Collections.singletonList("LEO"), traces.get(1).getArguments());
+        assertEquals(1, traces.get(1).getRows());
+    }
+
+    @DisplayName("should throw exception when sample rate is out of range")
+    @Test
+    public void shouldThrowExceptionWhenSampleRateIsOutOfRange() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> QueryTracer.builder(QueryTracerUnitTest.class).sampleRate(1.5));
+        assertEquals("sampleRate must be between 0 and 1.", exception.getMessage());
+    }
+}
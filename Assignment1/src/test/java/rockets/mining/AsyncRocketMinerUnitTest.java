@@ -0,0 +1,90 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AsyncRocketMinerUnitTest {
+
+    private DAO dao;
+    private ExecutorService executor;
+    private RocketMiner miner;
+    private AsyncRocketMiner asyncMiner;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        executor = Executors.newFixedThreadPool(4);
+        miner = new RocketMiner(dao);
+        asyncMiner = new AsyncRocketMiner(miner, executor);
+
+        LaunchServiceProvider spacex = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        LaunchServiceProvider esa = new LaunchServiceProvider("ESA", 1975, "Europe");
+        List<Launch> launches = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            LaunchServiceProvider lsp = i % 3 == 0 ? esa : spacex;
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(2016 + i % 3, 1 + i % 12, 1));
+            launch.setLaunchVehicle(new Rocket("rocket_" + i % 5, lsp.getCountry(), lsp));
+            launch.setLaunchServiceProvider(lsp);
+            launch.setLaunchSite("VAFB");
+            launch.setOrbit(i % 2 == 0 ? "LEO" : "GTO");
+            launch.setLaunchOutcome(i % 4 == 0 ? Launch.LaunchOutcome.FAILED : Launch.LaunchOutcome.SUCCESSFUL);
+            launch.setPrice(new BigDecimal(100 * i));
+            launches.add(launch);
+        }
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @DisplayName("should give the results of the blocking miner when queries run together")
+    @Test
+    public void shouldGiveTheResultsOfTheBlockingMinerWhenQueriesRunTogether() throws Exception {
+
+        CompletableFuture<List<Rocket>> rockets = asyncMiner.mostLaunchedRockets(3);
+        CompletableFuture<List<LaunchServiceProvider>> reliable = asyncMiner.mostReliableLaunchServiceProviders(2);
+        CompletableFuture<List<Launch>> recent = asyncMiner.mostRecentLaunches(5);
+        CompletableFuture<String> country = asyncMiner.dominantCountry("LEO");
+        CompletableFuture<List<Launch>> expensive = asyncMiner.mostExpensiveLaunches(5);
+        CompletableFuture<List<LaunchServiceProvider>> revenue = asyncMiner.highestRevenueLaunchServiceProviders(2, 2017);
+
+        CompletableFuture.allOf(rockets, reliable, recent, country, expensive, revenue).get(10, TimeUnit.SECONDS);
+
+        assertEquals(miner.mostLaunchedRockets(3), rockets.get());
+        assertEquals(miner.mostReliableLaunchServiceProviders(2), reliable.get());
+        assertEquals(miner.mostRecentLaunches(5), recent.get());
+        assertEquals(miner.dominantCountry("LEO"), country.get());
+        assertEquals(miner.mostExpensiveLaunches(5), expensive.get());
+        assertEquals(miner.highestRevenueLaunchServiceProviders(2, 2017), revenue.get());
+    }
+
+    @DisplayName("should throw exception on the calling thread when k is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionOnTheCallingThreadWhenKIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> asyncMiner.mostRecentLaunches(0));
+        assertEquals("k must be greater than 0.", exception.getMessage());
+    }
+}
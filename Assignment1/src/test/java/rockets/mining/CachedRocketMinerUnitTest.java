@@ -0,0 +1,116 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CachedRocketMinerUnitTest {
+
+    private DAO dao;
+    private AtomicLong version;
+    private RocketMiner miner;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        version = new AtomicLong();
+        miner = RocketMiner.builder(dao).cacheResults(version::get, 100).build();
+
+        LaunchServiceProvider spacex = new LaunchServiceProvider("SpaceX", 2002, "USA");
+        LaunchServiceProvider esa = new LaunchServiceProvider("ESA", 1975, "Europe");
+        Rocket falcon = new Rocket("F9", "USA", spacex);
+        Rocket ariane = new Rocket("Ariane 5", "Europe", esa);
+        launches = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Rocket rocket = i % 3 == 0 ? ariane : falcon;
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(2017, 1 + i, 1));
+            launch.setLaunchVehicle(rocket);
+            launch.setLaunchServiceProvider(rocket.getManufacturer());
+            launch.setLaunchSite("VAFB");
+            launch.setOrbit("LEO");
+            launch.setLaunchOutcome(Launch.LaunchOutcome.SUCCESSFUL);
+            launch.setPrice(new BigDecimal(100 * i));
+            launches.add(launch);
+        }
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+    }
+
+    @DisplayName("should answer repeated queries from the cache while the version is unchanged")
+    @Test
+    public void shouldAnswerRepeatedQueriesFromTheCacheWhileTheVersionIsUnchanged() {
+
+        List<Launch> first = miner.mostRecentLaunches(3);
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, miner.mostRecentLaunches(3));
+            assertEquals("USA", miner.dominantCountry("LEO"));
+        }
+
+        verify(dao, times(2)).loadAll(Launch.class);
+    }
+
+    @DisplayName("should cache the results of different arguments separately")
+    @Test
+    public void shouldCacheTheResultsOfDifferentArgumentsSeparately() {
+
+        assertEquals(3, miner.mostRecentLaunches(3).size());
+        assertEquals(5, miner.mostRecentLaunches(5).size());
+        assertEquals(1, miner.highestRevenueLaunchServiceProviders(1, 2017).size());
+        assertEquals(2, miner.highestRevenueLaunchServiceProviders(2, 2017).size());
+        assertNull(miner.highestRevenueLaunchServiceProviders(2, 2016));
+        assertNull(miner.highestRevenueLaunchServiceProviders(2, 2016));
+
+        verify(dao, times(5)).loadAll(Launch.class);
+    }
+
+    @DisplayName("should recompute a result after the version changes")
+    @Test
+    public void shouldRecomputeAResultAfterTheVersionChanges() {
+
+        assertEquals(launches.get(5), miner.mostRecentLaunches(1).get(0));
+
+        Launch later = new Launch();
+        later.setLaunchDate(LocalDate.of(2018, 1, 1));
+        later.setLaunchVehicle(launches.get(0).getLaunchVehicle());
+        later.setLaunchServiceProvider(launches.get(0).getLaunchServiceProvider());
+        later.setLaunchSite("VAFB");
+        launches.add(later);
+        version.incrementAndGet();
+
+        assertEquals(later, miner.mostRecentLaunches(1).get(0));
+        assertEquals(later, miner.mostRecentLaunches(1).get(0));
+        verify(dao, times(2)).loadAll(Launch.class);
+    }
+
+    @DisplayName("should not let callers modify a cached result")
+    @Test
+    public void shouldNotLetCallersModifyACachedResult() {
+
+        List<Launch> result = miner.mostExpensiveLaunches(2);
+
+        assertThrows(UnsupportedOperationException.class, () -> result.clear());
+    }
+
+    @DisplayName("should throw exception when the maximum number of results is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenTheMaximumNumberOfResultsIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> RocketMiner.builder(dao).cacheResults(version::get, 0));
+        assertEquals("maximumResults must be greater than 0.", exception.getMessage());
+    }
+}
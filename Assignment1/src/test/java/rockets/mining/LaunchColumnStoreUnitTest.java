@@ -0,0 +1,156 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LaunchColumnStoreUnitTest {
+
+    private DAO dao;
+    private List<Rocket> rockets;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+
+        RandomLaunches randomLaunches = new RandomLaunches(5171, 4, 12);
+        rockets = randomLaunches.rockets();
+        launches = randomLaunches.next(2000);
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+    }
+
+    @DisplayName("should store every launch as one row of columns")
+    @Test
+    public void shouldStoreEveryLaunchAsOneRowOfColumns() {
+
+        LaunchColumnStore store = LaunchColumnStore.load(dao);
+
+        assertEquals(launches.size(), store.size());
+        for (int row = 0; row < store.size(); row++) {
+            Launch launch = launches.get(row);
+            assertEquals(launch.getLaunchDate(), LocalDate.ofEpochDay(store.launchDay(row)));
+            assertEquals(launch.getLaunchVehicle(), store.rockets().decode(store.rocketId(row)));
+            assertEquals(launch.getLaunchServiceProvider(), store.providers().decode(store.providerId(row)));
+            assertEquals(launch.getOrbit(), store.orbits().decode(store.orbitId(row)));
+            assertEquals(launch.getLaunchSite(), store.sites().decode(store.siteId(row)));
+            assertEquals(launch.getLaunchVehicle().getCountry(), store.countries().decode(store.countryId(row)));
+            if (launch.getPrice() == null) {
+                assertEquals(LaunchColumnStore.NO_PRICE, store.unscaledPrice(row));
+                assertNull(store.price(row));
+            } else {
+                assertEquals(0, launch.getPrice().compareTo(BigDecimal.valueOf(store.unscaledPrice(row), store.priceScale())));
+                assertEquals(0, launch.getPrice().compareTo(store.price(row)));
+            }
+        }
+        assertEquals(rockets.size(), store.rockets().size());
+    }
+
+    @DisplayName("should store prices finer than a cent at the largest scale")
+    @Test
+    public void shouldStorePricesFinerThanACentAtTheLargestScale() {
+
+        launches.get(0).setPrice(new BigDecimal("0.001"));
+        launches.get(1).setPrice(new BigDecimal("10.5"));
+
+        LaunchColumnStore store = LaunchColumnStore.load(dao);
+
+        assertEquals(3, store.priceScale());
+        assertEquals(1, store.unscaledPrice(0));
+        assertEquals(new BigDecimal("0.001"), store.price(0));
+        assertEquals(10500, store.unscaledPrice(1));
+        for (int year = 2015; year <= 2018; year++) {
+            assertEquals(new RocketMiner(dao).highestRevenueLaunchServiceProviders(10, year), new ColumnarRocketMiner(store).highestRevenueLaunchServiceProviders(10, year));
+        }
+    }
+
+    @DisplayName("should rank the same revenue as the scanning miner when the sums do not fit in a long")
+    @Test
+    public void shouldRankTheSameRevenueAsTheScanningMinerWhenTheSumsDoNotFitInALong() {
+
+        Launch first = launches.get(0);
+        int year = first.getLaunchDate().getYear();
+        List<Launch> ofYear = launches.stream().filter(launch -> launch.getLaunchDate().getYear() == year).collect(Collectors.toList());
+        // these prices fit in a long, but their sum does not
+        ofYear.stream().filter(launch -> launch.getLaunchServiceProvider().equals(first.getLaunchServiceProvider()))
+                .forEach(launch -> launch.setPrice(BigDecimal.valueOf(Long.MAX_VALUE / 2, 2)));
+        // and this one does not fit at all
+        Launch last = ofYear.get(ofYear.size() - 1);
+        last.setPrice(new BigDecimal("123456789012345678901234567890.25"));
+        int lastRow = IntStream.range(0, launches.size()).filter(row -> launches.get(row) == last).findFirst().getAsInt();
+
+        LaunchColumnStore store = LaunchColumnStore.load(dao);
+
+        assertEquals(LaunchColumnStore.EXACT_PRICE, store.unscaledPrice(lastRow));
+        assertEquals(new BigDecimal("123456789012345678901234567890.25"), store.price(lastRow));
+        assertEquals(new RocketMiner(dao).highestRevenueLaunchServiceProviders(10, year), new ColumnarRocketMiner(store).highestRevenueLaunchServiceProviders(10, year));
+    }
+
+    @DisplayName("should find the same most launched rockets as the scanning miner")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 12, 20})
+    public void shouldFindTheSameMostLaunchedRocketsAsTheScanningMiner(int k) {
+
+        ColumnarRocketMiner columnarMiner = new ColumnarRocketMiner(LaunchColumnStore.load(dao));
+
+        assertEquals(new RocketMiner(dao).mostLaunchedRockets(k), columnarMiner.mostLaunchedRockets(k));
+    }
+
+    @DisplayName("should find the same dominant country as the scanning miner")
+    @ParameterizedTest
+    @ValueSource(strings = {"LEO", "GTO", "Other"})
+    public void shouldFindTheSameDominantCountryAsTheScanningMiner(String orbit) {
+
+        ColumnarRocketMiner columnarMiner = new ColumnarRocketMiner(LaunchColumnStore.load(dao));
+
+        assertEquals(new RocketMiner(dao).dominantCountry(orbit), columnarMiner.dominantCountry(orbit));
+    }
+
+    @DisplayName("should rank the same revenue as the scanning miner")
+    @ParameterizedTest
+    @ValueSource(ints = {2015, 2016, 2017, 2018})
+    public void shouldRankTheSameRevenueAsTheScanningMiner(int year) {
+
+        ColumnarRocketMiner columnarMiner = new ColumnarRocketMiner(LaunchColumnStore.load(dao));
+
+        assertEquals(new RocketMiner(dao).highestRevenueLaunchServiceProviders(10, year), columnarMiner.highestRevenueLaunchServiceProviders(10, year));
+        assertNull(columnarMiner.highestRevenueLaunchServiceProviders(10, 2000));
+    }
+
+    @DisplayName("should find the same reliable providers as the scanning miner")
+    @Test
+    public void shouldFindTheSameReliableProvidersAsTheScanningMiner() {
+
+        ColumnarRocketMiner columnarMiner = new ColumnarRocketMiner(LaunchColumnStore.load(dao));
+
+        assertEquals(new HashSet<>(new RocketMiner(dao).mostReliableLaunchServiceProviders(10)), new HashSet<>(columnarMiner.mostReliableLaunchServiceProviders(10)));
+    }
+
+    @DisplayName("should return null when there is no launch")
+    @Test
+    public void shouldReturnNullWhenThereIsNoLaunch() {
+
+        ColumnarRocketMiner columnarMiner = new ColumnarRocketMiner(new LaunchColumnStore(Collections.emptyList()));
+
+        assertNull(columnarMiner.mostLaunchedRockets(1));
+        assertNull(columnarMiner.mostReliableLaunchServiceProviders(1));
+        assertNull(columnarMiner.dominantCountry("LEO"));
+    }
+}
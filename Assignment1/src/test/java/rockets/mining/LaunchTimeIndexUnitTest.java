@@ -0,0 +1,133 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LaunchTimeIndexUnitTest {
+
+    private DAO dao;
+    private LaunchTimeIndex index;
+    private RandomLaunches randomLaunches;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        index = new LaunchTimeIndex();
+
+        // few distinct days, so that many launches share a day
+        randomLaunches = new RandomLaunches(2024, 3, 3)
+                .dates(random -> LocalDate.of(2016 + random.nextInt(3), 1 + random.nextInt(12), 1 + random.nextInt(2)));
+        launches = randomLaunches.next(80);
+        when(dao.loadAll(Launch.class)).thenAnswer(invocation -> new ArrayList<>(launches));
+        index.rebuild(dao);
+    }
+
+    @DisplayName("should answer the miner's queries like a scan after a rebuild")
+    @Test
+    public void shouldAnswerTheMinersQueriesLikeAScanAfterARebuild() {
+
+        assertEquals(launches.size(), index.size());
+        assertAgreesWithAScan(new Random(1));
+    }
+
+    @DisplayName("should stay consistent with a scan through saves, updates and deletes")
+    @Test
+    public void shouldStayConsistentWithAScanThroughSavesUpdatesAndDeletes() {
+
+        Random random = new Random(75);
+        for (int i = 0; i < 200; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || launches.isEmpty()) {
+                Launch launch = randomLaunches.next();
+                launches.add(launch);
+                index.entitySaved(launch);
+            } else if (operation == 1) {
+                Launch launch = launches.get(random.nextInt(launches.size()));
+                Launch changed = randomLaunches.next();
+                launch.setLaunchDate(changed.getLaunchDate());
+                launch.setLaunchServiceProvider(changed.getLaunchServiceProvider());
+                launch.setPrice(changed.getPrice());
+                index.entitySaved(launch);
+            } else {
+                Launch launch = launches.remove(random.nextInt(launches.size()));
+                index.entityDeleted(launch);
+            }
+            if (i % 10 == 0) {
+                assertAgreesWithAScan(random);
+            }
+        }
+        assertEquals(launches.size(), index.size());
+        assertAgreesWithAScan(random);
+    }
+
+    @DisplayName("should include the first day and exclude the last day of a range")
+    @Test
+    public void shouldIncludeTheFirstDayAndExcludeTheLastDayOfARange() {
+
+        List<Launch> between = index.between(LocalDate.of(2017, 1, 1), LocalDate.of(2018, 1, 1));
+
+        assertFalse(between.isEmpty());
+        assertTrue(between.stream().allMatch(launch -> launch.getLaunchDate().getYear() == 2017));
+        assertEquals(launches.stream().filter(launch -> launch.getLaunchDate().getYear() == 2017).count(), between.size());
+        assertTrue(index.between(LocalDate.of(2017, 3, 2), LocalDate.of(2017, 3, 2)).isEmpty());
+        assertTrue(index.between(LocalDate.of(1990, 1, 1), LocalDate.of(2000, 1, 1)).isEmpty());
+        assertEquals(launches.size(), index.between(LocalDate.of(1990, 1, 1), LocalDate.of(2100, 1, 1)).size());
+    }
+
+    @DisplayName("should not load the launches once built")
+    @Test
+    public void shouldNotLoadTheLaunchesOnceBuilt() {
+
+        RocketMiner miner = RocketMiner.builder(dao).timeIndex(index).build();
+        clearInvocations(dao);
+
+        miner.mostRecentLaunches(5);
+        miner.launchesBetween(LocalDate.of(2016, 1, 1), LocalDate.of(2017, 1, 1));
+        miner.highestRevenueLaunchServiceProviders(2, 2017);
+
+        verify(dao, never()).loadAll(Launch.class);
+    }
+
+    @DisplayName("should throw exception when a range is invalid")
+    @Test
+    public void shouldThrowExceptionWhenARangeIsInvalid() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> index.between(null, LocalDate.of(2017, 1, 1)));
+        assertEquals("from cannot be null.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> index.between(LocalDate.of(2017, 1, 1), null));
+        assertEquals("to cannot be null.", exception.getMessage());
+        exception = assertThrows(IllegalArgumentException.class, () -> new RocketMiner(dao).launchesBetween(LocalDate.of(2017, 1, 2), LocalDate.of(2017, 1, 1)));
+        assertEquals("to cannot be before from.", exception.getMessage());
+    }
+
+    private void assertAgreesWithAScan(Random random) {
+
+        RocketMiner indexMiner = RocketMiner.builder(dao).timeIndex(index).build();
+        RocketMiner scanningMiner = new RocketMiner(dao);
+
+        for (int k : new int[]{1, 7, 40, 1000}) {
+            assertEquals(scanningMiner.mostRecentLaunches(k), indexMiner.mostRecentLaunches(k), "k = " + k);
+        }
+        for (int year = 2015; year <= 2019; year++) {
+            assertEquals(scanningMiner.highestRevenueLaunchServiceProviders(3, year), indexMiner.highestRevenueLaunchServiceProviders(3, year), "year = " + year);
+        }
+        for (int i = 0; i < 5; i++) {
+            LocalDate from = LocalDate.of(2016, 1, 1).plusDays(random.nextInt(3 * 365));
+            LocalDate to = from.plusDays(random.nextInt(400));
+            assertEquals(scanningMiner.launchesBetween(from, to), indexMiner.launchesBetween(from, to), from + " to " + to);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LaunchViewsUnitTest {
+
+    private DAO dao;
+    private LaunchViews views;
+    private RandomLaunches randomLaunches;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        views = new LaunchViews();
+        views.setConsistencyCheck(true);
+
+        randomLaunches = new RandomLaunches(5171, 3, 3);
+        launches = randomLaunches.next(50);
+        when(dao.loadAll(Launch.class)).thenAnswer(invocation -> new ArrayList<>(launches));
+        views.rebuild(dao);
+    }
+
+    @DisplayName("should agree with a full recompute after a rebuild")
+    @Test
+    public void shouldAgreeWithAFullRecomputeAfterARebuild() {
+
+        assertTrue(views.differences(launches).isEmpty());
+    }
+
+    @DisplayName("should stay consistent through saves, updates and deletes")
+    @Test
+    public void shouldStayConsistentThroughSavesUpdatesAndDeletes() {
+
+        Random random = new Random(75);
+        for (int i = 0; i < 200; i++) {
+            int operation = random.nextInt(3);
+            if (operation == 0 || launches.isEmpty()) {
+                Launch launch = randomLaunches.next();
+                launches.add(launch);
+                views.entitySaved(launch);
+            } else if (operation == 1) {
+                Launch launch = launches.get(random.nextInt(launches.size()));
+                Launch changed = randomLaunches.next();
+                launch.setLaunchVehicle(changed.getLaunchVehicle());
+                launch.setLaunchServiceProvider(changed.getLaunchServiceProvider());
+                launch.setLaunchOutcome(changed.getLaunchOutcome());
+                launch.setPrice(changed.getPrice());
+                launch.setOrbit(changed.getOrbit());
+                views.entitySaved(launch);
+            } else {
+                Launch launch = launches.remove(random.nextInt(launches.size()));
+                views.entityDeleted(launch);
+            }
+            assertEquals(Arrays.asList(), views.differences(launches));
+        }
+    }
+
+    @DisplayName("should answer the miner's queries like a full recompute")
+    @Test
+    public void shouldAnswerTheMinersQueriesLikeAFullRecompute() {
+
+        RocketMiner viewMiner = new RocketMiner(dao, views);
+        RocketMiner scanningMiner = new RocketMiner(dao);
+
+        assertEquals(scanningMiner.mostLaunchedRockets(3), viewMiner.mostLaunchedRockets(3));
+        assertEquals(scanningMiner.dominantCountry("LEO"), viewMiner.dominantCountry("LEO"));
+        assertEquals(scanningMiner.dominantCountry("Other"), viewMiner.dominantCountry("Other"));
+        assertEquals(scanningMiner.highestRevenueLaunchServiceProviders(3, 2017).size(), viewMiner.highestRevenueLaunchServiceProviders(3, 2017).size());
+        assertNull(viewMiner.highestRevenueLaunchServiceProviders(3, 2000));
+    }
+
+    @DisplayName("should not scan the launches when the consistency check is off")
+    @Test
+    public void shouldNotScanTheLaunchesWhenTheConsistencyCheckIsOff() {
+
+        views.setConsistencyCheck(false);
+        RocketMiner viewMiner = new RocketMiner(dao, views);
+        clearInvocations(dao);
+
+        viewMiner.mostLaunchedRockets(3);
+        viewMiner.mostReliableLaunchServiceProviders(3);
+        viewMiner.dominantCountry("LEO");
+        viewMiner.highestRevenueLaunchServiceProviders(3, 2017);
+
+        verify(dao, never()).loadAll(Launch.class);
+    }
+
+    @DisplayName("should fail the consistency check when a write bypassed the views")
+    @Test
+    public void shouldFailTheConsistencyCheckWhenAWriteBypassedTheViews() {
+
+        launches.add(randomLaunches.next());
+        RocketMiner viewMiner = new RocketMiner(dao, views);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> viewMiner.mostLaunchedRockets(1));
+        assertTrue(exception.getMessage().startsWith("The materialized views differ from a full recompute"));
+    }
+}
@@ -0,0 +1,158 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MiningBatchUnitTest {
+
+    private DAO dao;
+    private RocketMiner miner;
+    private List<Rocket> rockets;
+    private List<LaunchServiceProvider> lsps;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        miner = new RocketMiner(dao);
+        rockets = new ArrayList<>();
+
+        lsps = Arrays.asList(
+                new LaunchServiceProvider("ULA", 1990, "USA"),
+                new LaunchServiceProvider("SpaceX", 2002, "USA"),
+                new LaunchServiceProvider("ESA", 1975, "Europe")
+        );
+
+        Launch.LaunchOutcome[] launchOutcomes = new Launch.LaunchOutcome[]{Launch.LaunchOutcome.SUCCESSFUL, Launch.LaunchOutcome.FAILED, null};
+        int[] lspIndex = new int[]{0, 0, 0, 1, 1};
+        int[] lspLaunchIndex = new int[]{0, 0, 0, 1, 2, 1, 0, 0, 0, 0};
+        for (int i = 0; i < 5; i++) {
+            rockets.add(new Rocket("rocket_" + i, "USA", lsps.get(lspIndex[i])));
+        }
+        int[] months = new int[]{1, 6, 4, 3, 4, 11, 6, 5, 12, 5};
+        int[] rocketIndex = new int[]{0, 0, 0, 0, 1, 1, 1, 2, 2, 3};
+        int[] launchOutcomeIndex = new int[]{0, 1, 0, 1, 0, 1, 0, 1, 2, 1};
+        BigDecimal[] prices = new BigDecimal[]{null, null, new BigDecimal(300), new BigDecimal(4000), new BigDecimal(500), null, null, null, null, new BigDecimal(1000)};
+
+        launches = IntStream.range(0, 10).mapToObj(i -> {
+            Launch l = new Launch();
+            l.setLaunchDate(LocalDate.of(2017, months[i], 1));
+            l.setLaunchVehicle(rockets.get(rocketIndex[i]));
+            l.setLaunchSite("VAFB");
+            l.setOrbit("LEO");
+            l.setLaunchOutcome(launchOutcomes[launchOutcomeIndex[i]]);
+            l.setPrice(prices[i]);
+            l.setLaunchServiceProvider(lsps.get(lspLaunchIndex[i]));
+            return l;
+        }).collect(Collectors.toList());
+
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+    }
+
+    @DisplayName("should load the launches only once for a batch of queries")
+    @Test
+    public void shouldLoadTheLaunchesOnlyOnceForABatchOfQueries() {
+
+        MiningBatch batch = miner.batch();
+        MiningBatch.Result<List<Rocket>> mostLaunched = batch.mostLaunchedRockets(2);
+        MiningBatch.Result<List<LaunchServiceProvider>> mostReliable = batch.mostReliableLaunchServiceProviders(3);
+        MiningBatch.Result<List<Launch>> mostRecent = batch.mostRecentLaunches(3);
+        MiningBatch.Result<String> dominantCountry = batch.dominantCountry("LEO");
+        MiningBatch.Result<List<Launch>> mostExpensive = batch.mostExpensiveLaunches(2);
+        MiningBatch.Result<List<LaunchServiceProvider>> highestRevenue = batch.highestRevenueLaunchServiceProviders(3, 2017);
+        batch.run();
+
+        verify(dao, times(1)).loadAll(Launch.class);
+        assertEquals(rockets.subList(0, 2), mostLaunched.get());
+        assertEquals(3, mostReliable.get().size());
+        assertEquals(Arrays.asList(launches.get(8), launches.get(5), launches.get(1)), mostRecent.get());
+        assertEquals("USA", dominantCountry.get());
+        assertEquals(Arrays.asList(launches.get(3), launches.get(9)), mostExpensive.get());
+        assertEquals(Arrays.asList(lsps.get(2), lsps.get(0), lsps.get(1)), highestRevenue.get());
+    }
+
+    @DisplayName("should give the same answers as the single query methods")
+    @Test
+    public void shouldGiveTheSameAnswersAsTheSingleQueryMethods() {
+
+        MiningBatch batch = miner.batch();
+        MiningBatch.Result<List<Rocket>> mostLaunched = batch.mostLaunchedRockets(10);
+        MiningBatch.Result<List<LaunchServiceProvider>> mostReliable = batch.mostReliableLaunchServiceProviders(10);
+        MiningBatch.Result<List<Launch>> mostRecent = batch.mostRecentLaunches(10);
+        MiningBatch.Result<String> dominantCountry = batch.dominantCountry("GTO");
+        MiningBatch.Result<List<Launch>> mostExpensive = batch.mostExpensiveLaunches(10);
+        MiningBatch.Result<List<LaunchServiceProvider>> highestRevenue = batch.highestRevenueLaunchServiceProviders(10, 2018);
+        batch.run();
+
+        assertEquals(miner.mostLaunchedRockets(10), mostLaunched.get());
+        assertEquals(miner.mostReliableLaunchServiceProviders(10), mostReliable.get());
+        assertEquals(miner.mostRecentLaunches(10), mostRecent.get());
+        assertEquals(miner.dominantCountry("GTO"), dominantCountry.get());
+        assertEquals(miner.mostExpensiveLaunches(10), mostExpensive.get());
+        assertEquals(miner.highestRevenueLaunchServiceProviders(10, 2018), highestRevenue.get());
+    }
+
+    @DisplayName("should share one tally between queries of the same kind")
+    @Test
+    public void shouldShareOneTallyBetweenQueriesOfTheSameKind() {
+
+        MiningBatch batch = miner.batch();
+        MiningBatch.Result<List<Rocket>> top1 = batch.mostLaunchedRockets(1);
+        MiningBatch.Result<List<Rocket>> top3 = batch.mostLaunchedRockets(3);
+        batch.run();
+
+        assertEquals(rockets.subList(0, 1), top1.get());
+        assertEquals(rockets.subList(0, 3), top3.get());
+    }
+
+    @DisplayName("should throw exception when reading a result before the batch is run")
+    @Test
+    public void shouldThrowExceptionWhenReadingAResultBeforeTheBatchIsRun() {
+
+        MiningBatch.Result<List<Rocket>> result = miner.batch().mostLaunchedRockets(1);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, result::get);
+        assertEquals("The batch has not been run yet.", exception.getMessage());
+        verify(dao, never()).loadAll(Launch.class);
+    }
+
+    @DisplayName("should throw exception when running a batch twice")
+    @Test
+    public void shouldThrowExceptionWhenRunningABatchTwice() {
+
+        MiningBatch batch = miner.batch();
+        batch.mostLaunchedRockets(1);
+        batch.run();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, batch::run);
+        assertEquals("The batch has already been run.", exception.getMessage());
+    }
+
+    @DisplayName("should validate the query arguments when they are registered")
+    @Test
+    public void shouldValidateTheQueryArgumentsWhenTheyAreRegistered() {
+
+        MiningBatch batch = miner.batch();
+
+        assertThrows(IllegalArgumentException.class, () -> batch.mostLaunchedRockets(0));
+        assertThrows(IllegalArgumentException.class, () -> batch.dominantCountry("MEO"));
+        assertThrows(IllegalArgumentException.class, () -> batch.highestRevenueLaunchServiceProviders(1, 1499));
+    }
+}
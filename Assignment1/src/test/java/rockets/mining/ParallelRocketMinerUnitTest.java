@@ -0,0 +1,121 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ParallelRocketMinerUnitTest {
+
+    private DAO dao;
+    private ForkJoinPool pool;
+    private RocketMiner sequentialMiner;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        pool = new ForkJoinPool(4);
+        sequentialMiner = new RocketMiner(dao);
+
+        // few distinct dates and prices, so that the rankings are full of ties
+        launches = new RandomLaunches(5171, 30, 60)
+                .dates(random -> LocalDate.of(2015 + random.nextInt(3), 1 + random.nextInt(2), 1))
+                .prices(random -> random.nextInt(4) == 0 ? null : new BigDecimal(random.nextInt(20) * 100).movePointLeft(random.nextInt(3)))
+                .next(5000);
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @DisplayName("should give exactly the sequential results, ties included")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 100, 1000, 10000})
+    public void shouldGiveExactlyTheSequentialResultsTiesIncluded(int threshold) {
+
+        RocketMiner parallelMiner = RocketMiner.builder(dao).parallel(pool, threshold).build();
+
+        for (int k : new int[]{1, 5, 50, 500}) {
+            assertEquals(sequentialMiner.mostLaunchedRockets(k), parallelMiner.mostLaunchedRockets(k));
+            assertEquals(sequentialMiner.mostReliableLaunchServiceProviders(k), parallelMiner.mostReliableLaunchServiceProviders(k));
+            assertEquals(sequentialMiner.mostRecentLaunches(k), parallelMiner.mostRecentLaunches(k));
+            assertEquals(sequentialMiner.mostExpensiveLaunches(k), parallelMiner.mostExpensiveLaunches(k));
+            assertEquals(sequentialMiner.highestRevenueLaunchServiceProviders(k, 2016), parallelMiner.highestRevenueLaunchServiceProviders(k, 2016));
+        }
+        for (String orbit : new String[]{"LEO", "GTO", "Other"}) {
+            assertEquals(sequentialMiner.dominantCountry(orbit), parallelMiner.dominantCountry(orbit));
+        }
+    }
+
+    @DisplayName("should sum revenue exactly in parallel")
+    @Test
+    public void shouldSumRevenueExactlyInParallel() {
+
+        ProviderRevenueByYear sequential = new ProviderRevenueByYear();
+        ProviderRevenueByYear parallel = new ProviderRevenueByYear();
+        new LaunchAggregationPipeline(dao).run(sequential);
+        new LaunchAggregationPipeline(dao, pool, 3).run(parallel);
+
+        for (int year : sequential.years()) {
+            for (LaunchServiceProvider lsp : sequential.providers(year)) {
+                assertEquals(sequential.revenue(lsp, year), parallel.revenue(lsp, year));
+            }
+        }
+    }
+
+    @DisplayName("should give exactly the sequential results when streaming pages")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 100, 5000, 10000})
+    public void shouldGiveExactlyTheSequentialResultsWhenStreamingPages(int pageSize) {
+
+        when(dao.streamAll(Launch.class, pageSize)).thenAnswer(invocation -> launches.stream());
+        RocketMiner streamingMiner = RocketMiner.builder(dao).streaming(pageSize).build();
+        RocketMiner parallelStreamingMiner = RocketMiner.builder(dao).parallel(pool, 3).streaming(pageSize).build();
+
+        for (int k : new int[]{1, 5, 50, 500}) {
+            assertEquals(sequentialMiner.mostLaunchedRockets(k), streamingMiner.mostLaunchedRockets(k));
+            assertEquals(sequentialMiner.mostReliableLaunchServiceProviders(k), streamingMiner.mostReliableLaunchServiceProviders(k));
+            assertEquals(sequentialMiner.mostRecentLaunches(k), parallelStreamingMiner.mostRecentLaunches(k));
+            assertEquals(sequentialMiner.mostExpensiveLaunches(k), parallelStreamingMiner.mostExpensiveLaunches(k));
+            assertEquals(sequentialMiner.highestRevenueLaunchServiceProviders(k, 2016), parallelStreamingMiner.highestRevenueLaunchServiceProviders(k, 2016));
+        }
+        for (String orbit : new String[]{"LEO", "GTO", "Other"}) {
+            assertEquals(sequentialMiner.dominantCountry(orbit), streamingMiner.dominantCountry(orbit));
+        }
+        // only the sequential miner loads the launches
+        verify(dao, times(4 * 5 + 3)).loadAll(Launch.class);
+    }
+
+    @DisplayName("should throw exception when the page size is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenThePageSizeIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> RocketMiner.builder(dao).streaming(0));
+        assertEquals("pageSize must be greater than 0.", exception.getMessage());
+    }
+
+    @DisplayName("should throw exception when the threshold is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenTheThresholdIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> RocketMiner.builder(dao).parallel(pool, 0));
+        assertEquals("threshold must be greater than 0.", exception.getMessage());
+    }
+}
@@ -0,0 +1,159 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProviderRevenueByYearUnitTest {
+
+    private List<LaunchServiceProvider> lsps;
+    private List<Rocket> rockets;
+
+    @BeforeEach
+    public void setUp() {
+
+        lsps = new ArrayList<>();
+        rockets = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            LaunchServiceProvider lsp = new LaunchServiceProvider("Provider " + i, 1950 + i, "USA");
+            lsps.add(lsp);
+            rockets.add(new Rocket("Rocket " + i, "USA", lsp));
+        }
+    }
+
+    @DisplayName("should sum prices of mixed scales exactly like BigDecimal add")
+    @Test
+    public void shouldSumPricesOfMixedScalesExactlyLikeBigDecimalAdd() {
+
+        Random random = new Random(20);
+        List<Launch> launches = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            // mostly cents, with some whole, tenths, thousandths and negative-scale prices
+            int scale = random.nextInt(10) < 7 ? 2 : random.nextInt(5) - 1;
+            launches.add(launch(random, BigDecimal.valueOf(random.nextInt(100_000_000), scale)));
+        }
+
+        assertSameAsBigDecimalSums(launches);
+    }
+
+    @DisplayName("should fall back to BigDecimal when a sum leaves the long range")
+    @Test
+    public void shouldFallBackToBigDecimalWhenASumLeavesTheLongRange() {
+
+        Random random = new Random(20);
+        List<Launch> launches = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            BigDecimal price = i % 500 == 499
+                    ? new BigDecimal(Long.MAX_VALUE).movePointLeft(2)
+                    : BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            launches.add(launch(random, price));
+        }
+        // a scale too fine to move the other sums to
+        launches.add(launch(random, new BigDecimal("0.00000000000000000000001")));
+        launches.add(launch(random, BigDecimal.valueOf(random.nextInt(1_000_000), 2)));
+
+        assertSameAsBigDecimalSums(launches);
+    }
+
+    @DisplayName("should give the sequential sums when merging partials")
+    @Test
+    public void shouldGiveTheSequentialSumsWhenMergingPartials() {
+
+        Random random = new Random(20);
+        List<Launch> launches = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            launches.add(launch(random, BigDecimal.valueOf(random.nextInt(1_000_000), random.nextInt(4))));
+        }
+
+        ProviderRevenueByYear sequential = feed(launches);
+        ProviderRevenueByYear merged = feed(launches.subList(0, 1_000));
+        merged.merge(feed(launches.subList(1_000, 2_500)));
+        merged.merge(feed(launches.subList(2_500, 3_000)));
+
+        assertArrayEquals(sequential.years(), merged.years());
+        for (int year : sequential.years()) {
+            assertEquals(sequential.providers(year), merged.providers(year));
+            for (LaunchServiceProvider lsp : sequential.providers(year)) {
+                assertEquals(sequential.revenue(lsp, year), merged.revenue(lsp, year));
+            }
+            assertEquals(sequential.ranked(20, year), merged.ranked(20, year));
+        }
+    }
+
+    @DisplayName("should rank providers with the same revenue in first-seen order")
+    @Test
+    public void shouldRankProvidersWithTheSameRevenueInFirstSeenOrder() {
+
+        ProviderRevenueByYear revenue = new ProviderRevenueByYear();
+        BigDecimal[] prices = {new BigDecimal("300"), new BigDecimal("100.00"), new BigDecimal("300.0"), new BigDecimal("50")};
+        for (int i = 0; i < prices.length; i++) {
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(2017, 1, 1));
+            launch.setLaunchServiceProvider(lsps.get(i));
+            launch.setPrice(prices[i]);
+            revenue.accept(launch);
+        }
+
+        assertEquals(Arrays.asList(lsps.get(3), lsps.get(1), lsps.get(0)), revenue.ranked(3, 2017));
+        assertEquals(new BigDecimal("300.0"), revenue.revenue(lsps.get(2), 2017));
+        assertNull(revenue.ranked(3, 2018));
+    }
+
+    private void assertSameAsBigDecimalSums(List<Launch> launches) {
+
+        ProviderRevenueByYear revenue = feed(launches);
+        Map<Integer, Map<LaunchServiceProvider, BigDecimal>> expected = new LinkedHashMap<>();
+        for (Launch launch : launches) {
+            expected.computeIfAbsent(launch.getLaunchDate().getYear(), year -> new LinkedHashMap<>())
+                    .merge(launch.getLaunchServiceProvider(), launch.getPrice(), BigDecimal::add);
+        }
+
+        assertEquals(new ArrayList<>(expected.keySet()), Arrays.stream(revenue.years()).boxed().collect(Collectors.toList()));
+        for (Map.Entry<Integer, Map<LaunchServiceProvider, BigDecimal>> year : expected.entrySet()) {
+            Map<LaunchServiceProvider, BigDecimal> sums = year.getValue();
+            assertEquals(new ArrayList<>(sums.keySet()), revenue.providers(year.getKey()));
+            for (Map.Entry<LaunchServiceProvider, BigDecimal> entry : sums.entrySet()) {
+                // equals compares the scale as well as the value
+                assertEquals(entry.getValue(), revenue.revenue(entry.getKey(), year.getKey()));
+            }
+            List<LaunchServiceProvider> ranked = sums.keySet().stream().sorted(Comparator.comparing(sums::get)).limit(5).collect(Collectors.toList());
+            assertEquals(ranked, revenue.ranked(5, year.getKey()));
+        }
+    }
+
+    private static ProviderRevenueByYear feed(List<Launch> launches) {
+
+        ProviderRevenueByYear revenue = new ProviderRevenueByYear();
+        for (Launch launch : launches) {
+            revenue.accept(launch);
+        }
+        return revenue;
+    }
+
+    private Launch launch(Random random, BigDecimal price) {
+
+        int index = random.nextInt(rockets.size());
+        Launch launch = new Launch();
+        launch.setLaunchDate(LocalDate.of(2010 + random.nextInt(3), 1 + random.nextInt(12), 1));
+        launch.setLaunchVehicle(rockets.get(index));
+        launch.setLaunchServiceProvider(lsps.get(index));
+        launch.setPrice(price);
+        return launch;
+    }
+}
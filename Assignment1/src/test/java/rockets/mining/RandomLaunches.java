@@ -0,0 +1,96 @@
+package rockets.mining;
+
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Generates the same random launches for a given seed, for tests that compare a miner, view
+ * or index with a scan of the launches. Each rocket is made by one provider, which launches
+ * it; some rockets are launched more often than others.
+ */
+class RandomLaunches {
+
+    private static final String[] COUNTRIES = {"USA", "Europe", "China", "Russia", "India"};
+    private static final String[] ORBITS = {"LEO", "GTO", "Other"};
+    private static final Launch.LaunchOutcome[] OUTCOMES = {Launch.LaunchOutcome.SUCCESSFUL, Launch.LaunchOutcome.FAILED, null};
+
+    private final Random random;
+    private final List<LaunchServiceProvider> providers = new ArrayList<>();
+    private final List<Rocket> rockets = new ArrayList<>();
+    private Function<Random, LocalDate> dates = random -> LocalDate.of(2015 + random.nextInt(4), 1 + random.nextInt(12), 1 + random.nextInt(28));
+    private Function<Random, BigDecimal> prices = random -> random.nextInt(3) == 0 ? null : new BigDecimal(random.nextInt(1000000)).movePointLeft(2);
+    private long nextId;
+
+    RandomLaunches(long seed, int providers, int rockets) {
+
+        this.random = new Random(seed);
+        for (int i = 0; i < providers; i++) {
+            this.providers.add(new LaunchServiceProvider("provider_" + i, 1950 + i, COUNTRIES[i % COUNTRIES.length]));
+        }
+        for (int i = 0; i < rockets; i++) {
+            LaunchServiceProvider provider = this.providers.get(i % providers);
+            this.rockets.add(new Rocket("rocket_" + i, provider.getCountry(), provider));
+        }
+    }
+
+    /**
+     * Replaces the launch dates, by default any day from 2015 to 2018.
+     */
+    RandomLaunches dates(Function<Random, LocalDate> dates) {
+
+        this.dates = dates;
+        return this;
+    }
+
+    /**
+     * Replaces the prices, by default null for a third of the launches and whole cents below
+     * 10000 otherwise.
+     */
+    RandomLaunches prices(Function<Random, BigDecimal> prices) {
+
+        this.prices = prices;
+        return this;
+    }
+
+    List<LaunchServiceProvider> providers() {
+
+        return providers;
+    }
+
+    List<Rocket> rockets() {
+
+        return rockets;
+    }
+
+    Launch next() {
+
+        Rocket rocket = rockets.get(Math.min(random.nextInt(rockets.size()), random.nextInt(rockets.size())));
+        Launch launch = new Launch();
+        launch.setId(nextId++);
+        launch.setLaunchDate(dates.apply(random));
+        launch.setLaunchVehicle(rocket);
+        launch.setLaunchServiceProvider(rocket.getManufacturer());
+        launch.setLaunchSite(random.nextBoolean() ? "VAFB" : "KSC");
+        launch.setOrbit(ORBITS[random.nextInt(ORBITS.length)]);
+        launch.setLaunchOutcome(OUTCOMES[random.nextInt(OUTCOMES.length)]);
+        launch.setPrice(prices.apply(random));
+        return launch;
+    }
+
+    List<Launch> next(int count) {
+
+        List<Launch> launches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            launches.add(next());
+        }
+        return launches;
+    }
+}
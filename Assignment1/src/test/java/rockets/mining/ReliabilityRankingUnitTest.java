@@ -0,0 +1,174 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import rockets.dataaccess.DAO;
+import rockets.dataaccess.neo4j.Neo4jDAO;
+import rockets.model.Launch;
+import rockets.model.LaunchServiceProvider;
+import rockets.model.Rocket;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReliabilityRankingUnitTest {
+
+    private DAO dao;
+    private ForkJoinPool pool;
+    private List<Launch> launches;
+
+    @BeforeEach
+    public void setUp() {
+        dao = mock(Neo4jDAO.class);
+        pool = new ForkJoinPool(4);
+
+        List<Rocket> rockets = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            LaunchServiceProvider lsp = new LaunchServiceProvider("provider_" + i, 1950 + i % 60, "USA");
+            rockets.add(new Rocket("rocket_" + i, "USA", lsp));
+        }
+
+        // providers with few launches and providers with many, so that ratios tie and
+        // small samples compete with large ones
+        Launch.LaunchOutcome[] outcomes = {Launch.LaunchOutcome.SUCCESSFUL, Launch.LaunchOutcome.FAILED, null};
+        Random random = new Random(21);
+        launches = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Rocket rocket = rockets.get(Math.min(random.nextInt(rockets.size()), random.nextInt(rockets.size())));
+            int reliability = rocket.getName().hashCode() & 7;
+            Launch launch = new Launch();
+            launch.setLaunchDate(LocalDate.of(2015 + random.nextInt(3), 1 + random.nextInt(12), 1));
+            launch.setLaunchVehicle(rocket);
+            launch.setLaunchServiceProvider(rocket.getManufacturer());
+            launch.setOrbit("LEO");
+            launch.setLaunchOutcome(random.nextInt(20) == 0 ? outcomes[2] : random.nextInt(8) < reliability ? outcomes[1] : outcomes[0]);
+            launches.add(launch);
+        }
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @DisplayName("should rank ratios exactly where their doubles are equal")
+    @Test
+    public void shouldRankRatiosExactlyWhereTheirDoublesAreEqual() {
+
+        int n = 1_000_000_000;
+        assertEquals((double) n / (n + 1), (double) (n + 1) / (n + 2));
+
+        assertTrue(ReliabilityRanking.SUCCESS_RATIO.compare(n + 1, n + 2, n, n + 1) < 0);
+        assertTrue(ReliabilityRanking.SUCCESS_RATIO.compare(n, n + 1, n + 1, n + 2) > 0);
+        assertTrue(ReliabilityRanking.SUCCESS_RATIO.compare(Integer.MAX_VALUE, Integer.MAX_VALUE, 1, 1) < 0);
+        assertEquals(0, ReliabilityRanking.SUCCESS_RATIO.compare(3, 6, 3, 6));
+    }
+
+    @DisplayName("should compare success ratios like exact decimal division")
+    @Test
+    public void shouldCompareSuccessRatiosLikeExactDecimalDivision() {
+
+        Random random = new Random(21);
+        for (int i = 0; i < 100_000; i++) {
+            int launchesA = 1 + random.nextInt(i % 2 == 0 ? 20 : Integer.MAX_VALUE - 1);
+            int launchesB = 1 + random.nextInt(i % 2 == 0 ? 20 : Integer.MAX_VALUE - 1);
+            int successesA = random.nextInt(launchesA + 1);
+            int successesB = random.nextInt(launchesB + 1);
+
+            int expected = ratio(successesB, launchesB).compareTo(ratio(successesA, launchesA));
+            if (expected == 0) {
+                expected = Integer.compare(launchesB, launchesA);
+            }
+            assertEquals(Integer.signum(expected), Integer.signum(ReliabilityRanking.SUCCESS_RATIO.compare(successesA, launchesA, successesB, launchesB)));
+        }
+    }
+
+    @DisplayName("should rank a few successes below many successes of a similar ratio by Wilson score")
+    @Test
+    public void shouldRankAFewSuccessesBelowManySuccessesOfASimilarRatioByWilsonScore() {
+
+        assertEquals(0.2065, ReliabilityRanking.wilsonLowerBound(1, 1), 1e-4);
+        assertEquals(0.8883, ReliabilityRanking.wilsonLowerBound(95, 100), 1e-4);
+        assertEquals(0, ReliabilityRanking.wilsonLowerBound(0, 0));
+
+        assertTrue(ReliabilityRanking.SUCCESS_RATIO.compare(1, 1, 95, 100) < 0);
+        assertTrue(ReliabilityRanking.WILSON_SCORE.compare(1, 1, 95, 100) > 0);
+        assertTrue(ReliabilityRanking.WILSON_SCORE.compare(950, 1000, 95, 100) < 0);
+    }
+
+    @DisplayName("should give the reference ranking on every way of answering the query")
+    @ParameterizedTest
+    @EnumSource(ReliabilityRanking.class)
+    public void shouldGiveTheReferenceRankingOnEveryWayOfAnsweringTheQuery(ReliabilityRanking ranking) {
+
+        List<LaunchServiceProvider> expected = reference(ranking);
+        LaunchViews views = new LaunchViews();
+        views.rebuild(dao);
+        RocketMiner sequentialMiner = new RocketMiner(dao);
+        RocketMiner parallelMiner = RocketMiner.builder(dao).parallel(pool, 1000).build();
+        RocketMiner viewsMiner = new RocketMiner(dao, views);
+
+        for (int k : new int[]{1, 5, 50, 500}) {
+            List<LaunchServiceProvider> top = expected.subList(0, Math.min(k, expected.size()));
+            assertEquals(top, sequentialMiner.mostReliableLaunchServiceProviders(k, ranking));
+            assertEquals(top, parallelMiner.mostReliableLaunchServiceProviders(k, ranking));
+            assertEquals(top, viewsMiner.mostReliableLaunchServiceProviders(k, ranking));
+            if (ranking == ReliabilityRanking.SUCCESS_RATIO) {
+                assertEquals(top, sequentialMiner.mostReliableLaunchServiceProviders(k));
+                assertEquals(top, new ColumnarRocketMiner(LaunchColumnStore.load(dao)).mostReliableLaunchServiceProviders(k));
+            }
+        }
+    }
+
+    @DisplayName("should throw exception when ranking is null")
+    @Test
+    public void shouldThrowExceptionWhenRankingIsNull() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new RocketMiner(dao).mostReliableLaunchServiceProviders(1, null));
+        assertEquals("ranking cannot be null.", exception.getMessage());
+    }
+
+    /**
+     * Sorts the providers in the order they first completed a launch with a stable sort,
+     * comparing their ratios by exact decimal division.
+     */
+    private List<LaunchServiceProvider> reference(ReliabilityRanking ranking) {
+
+        Map<LaunchServiceProvider, int[]> tallies = new LinkedHashMap<>();
+        for (Launch launch : launches) {
+            if (launch.getLaunchOutcome() != null) {
+                int[] tally = tallies.computeIfAbsent(launch.getLaunchServiceProvider(), lsp -> new int[2]);
+                tally[0] += launch.getLaunchOutcome() == Launch.LaunchOutcome.SUCCESSFUL ? 1 : 0;
+                tally[1]++;
+            }
+        }
+
+        Comparator<int[]> order = ranking == ReliabilityRanking.SUCCESS_RATIO
+                ? Comparator.comparing((int[] tally) -> ratio(tally[0], tally[1])).reversed()
+                : Comparator.comparingDouble((int[] tally) -> ReliabilityRanking.wilsonLowerBound(tally[0], tally[1])).reversed();
+        List<LaunchServiceProvider> providers = new ArrayList<>(tallies.keySet());
+        providers.sort(Comparator.comparing(tallies::get, order.thenComparing(Comparator.comparingInt((int[] tally) -> tally[1]).reversed())));
+        return providers;
+    }
+
+    private static BigDecimal ratio(int successes, int launches) {
+
+        return new BigDecimal(successes).divide(new BigDecimal(launches), new MathContext(40));
+    }
+}
@@ -223,24 +223,25 @@ public class RocketMinerUnitTest {
             default: assertEquals(3, lsp.size()); break;
         }
 
+        // ESA succeeded in 1 of 1 launches, ULA in 3 of 6 and SpaceX in 0 of 2
         switch (k){
             case 1: {
-                lspActual.add(lsps.get(1));
+                lspActual.add(lsps.get(2));
                 assertEquals(lsp, lspActual);
                 break;
             }
             case 2: {
 
-                lspActual.add(lsps.get(1));
+                lspActual.add(lsps.get(2));
                 lspActual.add(lsps.get(0));
                 assertEquals(lsp, lspActual);
                 break;
 
             }
             default:{
-                lspActual.add(lsps.get(1));
-                lspActual.add(lsps.get(0));
                 lspActual.add(lsps.get(2));
+                lspActual.add(lsps.get(0));
+                lspActual.add(lsps.get(1));
                 assertEquals(lsp, lspActual);
                 break;
             }
@@ -722,4 +723,46 @@ public class RocketMinerUnitTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> miner.countriesWithTheMostProviders(k));
         assertEquals("k must be greater than 0.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @DisplayName("should aggregate in the database when the DAO supports it")
+    @Test
+    public void shouldAggregateInTheDatabaseWhenTheDAOSupportsIt() {
+
+        when(((Neo4jDAO) dao).supportsAggregation()).thenReturn(true);
+        when(((Neo4jDAO) dao).rocketsByLaunchCount(2)).thenReturn(Arrays.asList(rockets.get(0), rockets.get(1)));
+        when(((Neo4jDAO) dao).providersBySuccessRatio(2)).thenReturn(new ArrayList<>());
+        when(((Neo4jDAO) dao).count(Launch.class)).thenReturn(10L);
+        when(((Neo4jDAO) dao).countriesBySuccessfulLaunches("LEO", 1)).thenReturn(new ArrayList<>());
+
+        assertEquals(Arrays.asList(rockets.get(0), rockets.get(1)), miner.mostLaunchedRockets(2));
+        assertNull(miner.mostReliableLaunchServiceProviders(2));
+        assertEquals("Cannot find any country.", miner.dominantCountry("LEO"));
+        verify(dao, never()).loadAll(Launch.class);
+    }
+
+    @DisplayName("should read the most recent launches from the database until it has k of them")
+    @Test
+    public void shouldReadTheMostRecentLaunchesFromTheDatabaseUntilItHasKOfThem() {
+
+        when(((Neo4jDAO) dao).supportsAggregation()).thenReturn(true);
+        when(((Neo4jDAO) dao).launchesByDateDescending(0, 2)).thenReturn(Arrays.asList(launches.get(0), launches.get(1)));
+        when(((Neo4jDAO) dao).launchesByDateDescending(0, 5)).thenReturn(Arrays.asList(launches.get(0), launches.get(1), launches.get(2)));
+
+        assertEquals(Arrays.asList(launches.get(0), launches.get(1)), miner.mostRecentLaunches(2));
+        assertEquals(Arrays.asList(launches.get(0), launches.get(1), launches.get(2)), miner.mostRecentLaunches(5));
+        verify((Neo4jDAO) dao, times(2)).launchesByDateDescending(anyInt(), anyInt());
+        verify(dao, never()).loadAll(Launch.class);
+    }
+
+    @DisplayName("should aggregate in memory when the DAO does not support aggregation")
+    @Test
+    public void shouldAggregateInMemoryWhenTheDAODoesNotSupportAggregation() {
+
+        when(dao.loadAll(Launch.class)).thenReturn(launches);
+
+        miner.mostLaunchedRockets(2);
+
+        verify((Neo4jDAO) dao, never()).rocketsByLaunchCount(anyInt());
+        verify(dao, times(1)).loadAll(Launch.class);
+    }
+}
@@ -0,0 +1,129 @@
+package rockets.mining;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopKTest {
+
+    @DisplayName("should throw exception when k is smaller or equal to 0")
+    @ParameterizedTest
+    @ValueSource(ints = {-2, -1, 0})
+    public void shouldThrowExceptionWhenKisSmallerOrEqualTo0(int k) {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new TopK<Integer>(k, Comparator.naturalOrder()));
+        assertEquals("k must be greater than 0.", exception.getMessage());
+    }
+
+    @DisplayName("should return the k best elements best first")
+    @Test
+    public void shouldReturnTheKBestElementsBestFirst() {
+
+        List<Integer> result = TopK.select(Arrays.asList(5, 1, 9, 3, 7), 3, Comparator.<Integer>reverseOrder());
+
+        assertEquals(Arrays.asList(9, 7, 5), result);
+    }
+
+    @DisplayName("should return every element when k is greater than the input size")
+    @Test
+    public void shouldReturnEveryElementWhenKIsGreaterThanTheInputSize() {
+
+        List<Integer> result = TopK.select(Arrays.asList(2, 3, 1), 10, Comparator.<Integer>naturalOrder());
+
+        assertEquals(Arrays.asList(1, 2, 3), result);
+    }
+
+    @DisplayName("should keep the encounter order of equally ranked elements")
+    @Test
+    public void shouldKeepTheEncounterOrderOfEquallyRankedElements() {
+
+        List<String> result = TopK.select(Arrays.asList("bb", "a", "cc", "dd", "e"), 3, Comparator.comparingInt(String::length).reversed());
+
+        assertEquals(Arrays.asList("bb", "cc", "dd"), result);
+    }
+
+    @DisplayName("should return the most frequent elements with ties in first-seen order")
+    @Test
+    public void shouldReturnTheMostFrequentElementsWithTiesInFirstSeenOrder() {
+
+        List<String> input = Arrays.asList("LEO", "GTO", "GTO", "SSO", "LEO", "MEO", "GTO", "SSO");
+
+        assertEquals(Arrays.asList("GTO", "LEO", "SSO", "MEO"), TopK.mostFrequent(input, 10));
+        assertEquals(Arrays.asList("GTO", "LEO"), TopK.mostFrequent(input, 2));
+    }
+
+    @DisplayName("should return an empty list when there is nothing to rank")
+    @Test
+    public void shouldReturnAnEmptyListWhenThereIsNothingToRank() {
+
+        assertTrue(TopK.mostFrequent(Collections.<String>emptyList(), 3).isEmpty());
+    }
+
+    @DisplayName("should agree with a stable full sort")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 50, 1000})
+    public void shouldAgreeWithAStableFullSort(int k) {
+
+        Random random = new Random(k);
+        List<Integer> input = IntStream.range(0, 1000).mapToObj(i -> random.nextInt(100)).collect(Collectors.toList());
+        Comparator<Integer> byTens = Comparator.comparingInt(i -> -(i / 10));
+
+        List<Integer> expected = input.stream().sorted(byTens).limit(k).collect(Collectors.toList());
+
+        assertEquals(expected, TopK.select(input, k, byTens));
+    }
+
+    @DisplayName("should agree with a stable full sort when keeping the elements in a heap or selecting them from a buffer")
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 129, 700, 5000})
+    public void shouldAgreeWithAStableFullSortInEitherMode(int k) {
+
+        Random random = new Random(k);
+        List<Integer> input = IntStream.range(0, 20_000).mapToObj(i -> random.nextInt(3000)).collect(Collectors.toList());
+        Comparator<Integer> byTens = Comparator.comparingInt(i -> -(i / 10));
+        List<Integer> expected = input.stream().sorted(byTens).limit(k).collect(Collectors.toList());
+
+        for (boolean useHeap : new boolean[]{true, false}) {
+            TopK<Integer> topK = new TopK<>(k, byTens, useHeap);
+            input.forEach(topK::offer);
+            assertEquals(Math.min(k, input.size()), topK.size());
+            assertEquals(expected, topK.toList(), "useHeap = " + useHeap);
+        }
+    }
+
+    @DisplayName("should move the element of each rank to its sorted position")
+    @Test
+    public void shouldMoveTheElementOfEachRankToItsSortedPosition() {
+
+        Random random = new Random(7);
+        Integer[][] inputs = {
+                IntStream.range(0, 500).boxed().toArray(Integer[]::new),
+                IntStream.range(0, 500).map(i -> 500 - i).boxed().toArray(Integer[]::new),
+                IntStream.range(0, 500).map(i -> 4).boxed().toArray(Integer[]::new),
+                IntStream.range(0, 500).map(i -> random.nextInt(20)).boxed().toArray(Integer[]::new)
+        };
+        for (Integer[] input : inputs) {
+            Integer[] sorted = input.clone();
+            Arrays.sort(sorted);
+            for (int nth : new int[]{0, 1, 250, 498, 499}) {
+                Integer[] selected = input.clone();
+                TopK.select(selected, 0, selected.length - 1, nth, Comparator.<Integer>naturalOrder());
+                assertEquals(sorted[nth], selected[nth]);
+                for (int i = 0; i < selected.length; i++) {
+                    assertTrue(i < nth ? selected[i] <= selected[nth] : selected[i] >= selected[nth]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package rockets.mining.primitive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntObjectMapUnitTest {
+
+    @DisplayName("should map keys like a linked hash map and keep insertion order")
+    @Test
+    public void shouldMapKeysLikeALinkedHashMapAndKeepInsertionOrder() {
+
+        Random random = new Random(19);
+        IntObjectMap<String> map = new IntObjectMap<>();
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            // negative keys and keys that differ only in their high bits
+            int key = (random.nextInt(2_000) - 1_000) << (random.nextBoolean() ? 16 : 0);
+            String value = "value " + i;
+            assertEquals(expected.put(key, value), map.put(key, value));
+        }
+
+        assertEquals(expected.size(), map.size());
+        int[] keys = map.keys();
+        int index = 0;
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals((int) entry.getKey(), keys[index]);
+            assertEquals(entry.getValue(), map.valueAt(index));
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+            index++;
+        }
+        assertNull(map.get(Integer.MIN_VALUE));
+        assertFalse(map.containsKey(Integer.MIN_VALUE));
+    }
+
+    @DisplayName("should create a value only for a key that is not mapped")
+    @Test
+    public void shouldCreateAValueOnlyForAKeyThatIsNotMapped() {
+
+        IntObjectMap<StringBuilder> map = new IntObjectMap<>();
+        map.computeIfAbsent(2016, year -> new StringBuilder()).append("a");
+        map.computeIfAbsent(2016, year -> new StringBuilder()).append("b");
+        map.computeIfAbsent(0, year -> new StringBuilder(String.valueOf(year)));
+
+        assertEquals(2, map.size());
+        assertEquals("ab", map.get(2016).toString());
+        assertEquals("0", map.get(0).toString());
+        assertEquals(0, map.keyAt(1));
+    }
+
+    @DisplayName("should throw exception when value is null")
+    @Test
+    public void shouldThrowExceptionWhenValueIsNull() {
+
+        IntObjectMap<String> map = new IntObjectMap<>();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+        assertEquals("value cannot be null.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> map.computeIfAbsent(1, year -> null));
+        assertTrue(map.isEmpty());
+    }
+}
@@ -0,0 +1,86 @@
+package rockets.mining.primitive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectIntCounterUnitTest {
+
+    @DisplayName("should count like a linked hash map and keep first-seen order")
+    @Test
+    public void shouldCountLikeALinkedHashMapAndKeepFirstSeenOrder() {
+
+        Random random = new Random(19);
+        ObjectIntCounter<String> counter = new ObjectIntCounter<>();
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            String key = "key " + random.nextInt(5_000);
+            counter.increment(key);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        assertEquals(expected.size(), counter.size());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(counter.keys()));
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), counter.get(entry.getKey()));
+            assertEquals((int) entry.getValue(), counter.countAt(counter.indexOf(entry.getKey())));
+        }
+        assertEquals(0, counter.get("unknown"));
+        assertEquals(-1, counter.indexOf("unknown"));
+    }
+
+    @DisplayName("should count keys whose hash codes collide and the null key")
+    @Test
+    public void shouldCountKeysWhoseHashCodesCollideAndTheNullKey() {
+
+        ObjectIntCounter<String> counter = new ObjectIntCounter<>();
+        // "Aa" and "BB" have the same hash code
+        counter.increment("Aa");
+        counter.increment("BB");
+        counter.increment(null);
+        counter.add("Aa", 4);
+
+        assertEquals(Arrays.asList("Aa", "BB", null), counter.keys());
+        assertEquals(5, counter.get("Aa"));
+        assertEquals(1, counter.get("BB"));
+        assertEquals(1, counter.get(null));
+        assertTrue(counter.containsKey(null));
+    }
+
+    @DisplayName("should add the counts of another counter after its own keys")
+    @Test
+    public void shouldAddTheCountsOfAnotherCounterAfterItsOwnKeys() {
+
+        ObjectIntCounter<String> counter = new ObjectIntCounter<>();
+        counter.increment("LEO");
+        counter.increment("GTO");
+        ObjectIntCounter<String> later = new ObjectIntCounter<>();
+        later.increment("SSO");
+        later.add("LEO", 2);
+
+        counter.addAll(later);
+
+        assertEquals(Arrays.asList("LEO", "GTO", "SSO"), counter.keys());
+        assertEquals(3, counter.get("LEO"));
+        assertEquals(1, counter.get("SSO"));
+    }
+
+    @DisplayName("should throw exception when an index is out of bounds")
+    @Test
+    public void shouldThrowExceptionWhenAnIndexIsOutOfBounds() {
+
+        ObjectIntCounter<String> counter = new ObjectIntCounter<>();
+        counter.increment("LEO");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> counter.countAt(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> counter.keyAt(-1));
+        assertThrows(UnsupportedOperationException.class, () -> counter.keys().add("GTO"));
+    }
+}
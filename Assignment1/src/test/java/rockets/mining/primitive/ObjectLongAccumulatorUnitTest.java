@@ -0,0 +1,61 @@
+package rockets.mining.primitive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObjectLongAccumulatorUnitTest {
+
+    @DisplayName("should sum values per key in first-seen order")
+    @Test
+    public void shouldSumValuesPerKeyInFirstSeenOrder() {
+
+        ObjectLongAccumulator<String> sums = new ObjectLongAccumulator<>();
+        for (int i = 0; i < 1000; i++) {
+            sums.add("provider " + i % 10, 6_200_000_000L);
+        }
+        ObjectLongAccumulator<String> later = new ObjectLongAccumulator<>();
+        later.add("provider 10", 1);
+        later.add("provider 0", -200_000_000L);
+        sums.addAll(later);
+
+        assertEquals(11, sums.size());
+        assertEquals("provider 10", sums.keyAt(10));
+        assertEquals(100 * 6_200_000_000L - 200_000_000L, sums.get("provider 0"));
+        assertEquals(100 * 6_200_000_000L, sums.sumAt(1));
+        assertEquals(0, sums.get("unknown"));
+    }
+
+    @DisplayName("should throw exception and keep the sum when an addition overflows")
+    @Test
+    public void shouldThrowExceptionAndKeepTheSumWhenAnAdditionOverflows() {
+
+        ObjectLongAccumulator<String> sums = new ObjectLongAccumulator<>();
+        sums.add("ESA", Long.MAX_VALUE - 1);
+
+        assertThrows(ArithmeticException.class, () -> sums.add("ESA", 2));
+        assertEquals(Long.MAX_VALUE - 1, sums.get("ESA"));
+        assertEquals(Arrays.asList("ESA"), sums.keys());
+    }
+
+    @DisplayName("should multiply every sum or none when a product overflows")
+    @Test
+    public void shouldMultiplyEverySumOrNoneWhenAProductOverflows() {
+
+        ObjectLongAccumulator<String> sums = new ObjectLongAccumulator<>();
+        assertEquals(0, sums.add("SpaceX", 150));
+        assertEquals(1, sums.add("ESA", Long.MAX_VALUE / 200));
+        assertEquals(0, sums.add("SpaceX", -25));
+
+        sums.multiplyAll(100);
+        assertEquals(12_500, sums.get("SpaceX"));
+        assertEquals(Long.MAX_VALUE / 200 * 100, sums.get("ESA"));
+
+        assertThrows(ArithmeticException.class, () -> sums.multiplyAll(10));
+        assertEquals(12_500, sums.get("SpaceX"));
+        assertEquals(Long.MAX_VALUE / 200 * 100, sums.get("ESA"));
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import java.time.LocalDate;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -104,6 +105,33 @@ class LaunchTest {
         assertTrue(launch.equals(testLaunch));
     }
 
+    @DisplayName("should keep the hash code of Objects.hash and follow the setters")
+    @Test
+    public void shouldKeepTheHashCodeOfObjectsHashAndFollowTheSetters() {
+        LaunchServiceProvider provider = new LaunchServiceProvider("provider", 2000, "North Korea");
+        Rocket rocket = new Rocket("Haha", "North Korea", provider);
+        assertEquals(Objects.hash("provider", 2000, "North Korea"), provider.hashCode());
+        assertEquals(Objects.hash("Haha", "North Korea", provider), rocket.hashCode());
+
+        launch.setLaunchDate(LocalDate.of(2010,10,25));
+        launch.setLaunchVehicle(rocket);
+        launch.setLaunchServiceProvider(provider);
+        launch.setOrbit("Other");
+        assertEquals(Objects.hash(LocalDate.of(2010,10,25), rocket, provider, "Other"), launch.hashCode());
+
+        Launch copy = new Launch();
+        copy.setLaunchDate(LocalDate.of(2010,10,25));
+        copy.setLaunchVehicle(rocket);
+        copy.setLaunchServiceProvider(provider);
+        copy.setOrbit("LEO");
+        copy.hashCode();
+        assertFalse(launch.equals(copy));
+
+        copy.setOrbit("Other");
+        assertEquals(launch.hashCode(), copy.hashCode());
+        assertTrue(launch.equals(copy));
+    }
+
     private static Stream<Arguments> LaunchObjectProvider() {
         LaunchServiceProvider provider1 = new LaunchServiceProvider("provider2", 2000, "Sorth Korea");
         Rocket rocket1  = new Rocket("Haha2","Sorth Korea", provider1);
@@ -0,0 +1,66 @@
+package rockets.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValueInternerUnitTest {
+
+    @DisplayName("should return one instance for equal values")
+    @Test
+    public void shouldReturnOneInstanceForEqualValues() {
+
+        ValueInterner interner = new ValueInterner("test", 10);
+        String first = new String("Low Earth Orbit");
+        String second = new String("Low Earth Orbit");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.intern(first));
+        assertNull(interner.intern(null));
+        assertEquals(1, interner.size());
+        assertEquals(3, interner.getLookups());
+        assertEquals(1, interner.getHits());
+        assertEquals(ValueInterner.sizeOf(second), interner.getEstimatedBytesSaved());
+    }
+
+    @DisplayName("should return new values as they are when full")
+    @Test
+    public void shouldReturnNewValuesAsTheyAreWhenFull() {
+
+        ValueInterner interner = new ValueInterner("test", 1);
+        interner.intern("LEO");
+        String gto = new String("GTO");
+
+        assertSame(gto, interner.intern(gto));
+        assertNotSame(gto, interner.intern(new String("GTO")));
+        assertEquals(1, interner.size());
+    }
+
+    @DisplayName("should share the values of model objects")
+    @Test
+    public void shouldShareTheValuesOfModelObjects() {
+
+        LaunchServiceProvider spacex = new LaunchServiceProvider(new String("SpaceX"), 2002, new String("USA"));
+        Rocket falcon9 = new Rocket(new String("Falcon 9"), new String("USA"), spacex);
+        Launch first = new Launch();
+        first.setOrbit(new String("LEO"));
+        first.setLaunchSite(new String("VAFB"));
+        Launch second = new Launch();
+        second.setOrbit(new String("LEO"));
+        second.setLaunchSite(new String("VAFB"));
+
+        assertSame(spacex.getCountry(), falcon9.getCountry());
+        assertSame(first.getOrbit(), second.getOrbit());
+        assertSame(first.getLaunchSite(), second.getLaunchSite());
+    }
+
+    @DisplayName("should throw exception when the maximum size is smaller or equal to 0")
+    @Test
+    public void shouldThrowExceptionWhenTheMaximumSizeIsSmallerOrEqualTo0() {
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> new ValueInterner("test", 0));
+        assertEquals("maximumSize must be greater than 0.", exception.getMessage());
+    }
+}
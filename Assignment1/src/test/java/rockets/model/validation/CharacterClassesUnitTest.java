@@ -0,0 +1,50 @@
+package rockets.model.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CharacterClassesUnitTest {
+
+    private static final Pattern SPECIAL_CHARACTER = Pattern.compile("[^a-z0-9 ]", Pattern.CASE_INSENSITIVE);
+
+    @DisplayName("should classify every character like the regular expression and Character methods")
+    @Test
+    public void shouldClassifyEveryCharacterLikeTheRegularExpressionAndCharacterMethods() {
+
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            String input = String.valueOf(c);
+            assertEquals(SPECIAL_CHARACTER.matcher(input).find(), CharacterClasses.containsSpecialCharacter(input), input);
+            assertEquals(Character.isDigit(c), CharacterClasses.containsDigit(input), input);
+            assertEquals(Character.isUpperCase(c), CharacterClasses.containsUppercase(input), input);
+            assertEquals(Character.isLowerCase(c), CharacterClasses.containsLowercase(input), input);
+        }
+    }
+
+    @DisplayName("should find all classes of characters in one pass")
+    @Test
+    public void shouldFindAllClassesOfCharactersInOnePass() {
+
+        assertEquals(0, CharacterClasses.of(""));
+        assertEquals(0, CharacterClasses.of("   "));
+        assertEquals(CharacterClasses.UPPERCASE | CharacterClasses.LOWERCASE, CharacterClasses.of("Falcon Heavy"));
+        assertEquals(CharacterClasses.UPPERCASE | CharacterClasses.DIGIT, CharacterClasses.of("F9"));
+        assertEquals(CharacterClasses.SPECIAL | CharacterClasses.UPPERCASE | CharacterClasses.LOWERCASE | CharacterClasses.DIGIT, CharacterClasses.of("Abc123!x"));
+        assertEquals(CharacterClasses.SPECIAL | CharacterClasses.LOWERCASE, CharacterClasses.of("caf\u00e9"));
+        assertTrue(CharacterClasses.containsAny("USA-1", CharacterClasses.SPECIAL | CharacterClasses.DIGIT));
+        assertFalse(CharacterClasses.containsAny("United States", CharacterClasses.SPECIAL | CharacterClasses.DIGIT));
+    }
+
+    @DisplayName("should match email addresses like the original pattern")
+    @ParameterizedTest
+    @ValueSource(strings = {"janesmith@example.com", "abc@example.com.cn", "abc@example", "abc.def@example.com", "abc@example.c", "@example.com"})
+    public void shouldMatchEmailAddressesLikeTheOriginalPattern(String email) {
+
+        assertEquals(Pattern.matches("\\w+@\\w+(\\.\\w{2,10})*\\.\\w{2,3}", email), Patterns.isEmail(email));
+    }
+}